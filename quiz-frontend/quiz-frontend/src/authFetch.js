@@ -0,0 +1,57 @@
+// When the API runs in stateless token mode, login returns accessToken/refreshToken alongside the
+// username and Login.js keeps the whole response under 'user'. This wraps fetch so API calls carry the
+// access token and a 401 triggers one refresh and retry. In session mode no tokens are stored and
+// requests go through unchanged.
+const API_BASE = 'http://localhost:8081/api/';
+const originalFetch = window.fetch.bind(window);
+let refreshing = null;
+
+const storedUser = () => {
+    try {
+        return JSON.parse(localStorage.getItem('user'));
+    } catch (e) {
+        return null;
+    }
+};
+
+const withToken = (init, token) => {
+    const headers = new Headers((init && init.headers) || {});
+    headers.set('Authorization', `Bearer ${token}`);
+    return { ...init, headers };
+};
+
+const refreshTokens = (user) => {
+    if (!refreshing) {
+        refreshing = originalFetch(`${API_BASE}auth/refresh`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ refreshToken: user.refreshToken }),
+        })
+            .then((res) => (res.ok ? res.json() : null))
+            .then((tokens) => {
+                if (!tokens) return null;
+                const updated = { ...user, ...tokens };
+                localStorage.setItem('user', JSON.stringify(updated));
+                return updated.accessToken;
+            })
+            .catch(() => null)
+            .finally(() => {
+                refreshing = null;
+            });
+    }
+    return refreshing;
+};
+
+window.fetch = async (input, init) => {
+    const url = typeof input === 'string' ? input : input.url;
+    const user = storedUser();
+    if (!user || !user.accessToken || !url.startsWith(API_BASE) || url.startsWith(`${API_BASE}auth/`)) {
+        return originalFetch(input, init);
+    }
+    const response = await originalFetch(input, withToken(init, user.accessToken));
+    if (response.status !== 401 && response.status !== 403) {
+        return response;
+    }
+    const token = await refreshTokens(user);
+    return token ? originalFetch(input, withToken(init, token)) : response;
+};
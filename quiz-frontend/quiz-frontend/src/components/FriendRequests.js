@@ -1,5 +1,6 @@
 import React, {useState, useEffect, useCallback} from 'react';
 import axios from 'axios';
+import { subscribe } from '../notifications';
 
 const FriendRequests = ({ onRequestsCountChange }) => {
     const [requests, setRequests] = useState([]);
@@ -19,6 +20,8 @@ const FriendRequests = ({ onRequestsCountChange }) => {
         fetchRequests();
     }, [fetchRequests]);
 
+    useEffect(() => subscribe(['friend-request'], () => fetchRequests()), [fetchRequests]);
+
     const handleAccept = async (requestId) => {
         try {
             await axios.post(`/api/friends/accept/${requestId}`, {}, { withCredentials: true });
@@ -1,8 +1,9 @@
-import React, { useEffect, useState } from 'react';
+import React, { useCallback, useEffect, useState } from 'react';
 import FriendsModal from './FriendsModal';
 import MessagesModal from './MessagesModal';
 import './Friends.css';
 import { useNavigate } from 'react-router-dom';
+import { subscribe } from '../notifications';
 
 const Home = () => {
     const [message, setMessage] = useState('');
@@ -20,6 +21,41 @@ const Home = () => {
     const [challengeScores, setChallengeScores] = useState({});
     const navigate = useNavigate();
 
+    const fetchChallenges = useCallback((user) => {
+        fetch(`http://localhost:8081/api/challenges/for-user/${user}`)
+            .then(res => {
+                if (!res.ok) throw new Error('Failed to fetch challenges');
+                return res.json();
+            })
+            .then(async (chals) => {
+                if (!Array.isArray(chals)) {
+                    setChallenges([]);
+                    return;
+                }
+                setChallenges(chals);
+                // For each challenge, fetch best score
+                const scores = {};
+                for (const chal of chals) {
+                    try {
+                        const res = await fetch(`http://localhost:8081/api/challenges/challenger-best-score/${chal.quiz.id}/${chal.challenger.username}`);
+                        if (res.ok) {
+                            const score = await res.json();
+                            scores[chal.id] = score;
+                        } else {
+                            scores[chal.id] = 0; // Default score if fetch fails
+                        }
+                    } catch (e) {
+                        scores[chal.id] = 0; // Default score if fetch fails
+                    }
+                }
+                setChallengeScores(scores);
+            })
+            .catch(err => {
+                console.error('Challenges fetch error:', err);
+                setChallenges([]);
+            });
+    }, []);
+
     useEffect(() => {
         document.title = "Home";
 
@@ -42,38 +78,7 @@ const Home = () => {
                         .then(user => {
                             setUserId(user.id);
                             // Fetch challenges for this user
-                            fetch(`http://localhost:8081/api/challenges/for-user/${data.user}`)
-                                .then(res => {
-                                    if (!res.ok) throw new Error('Failed to fetch challenges');
-                                    return res.json();
-                                })
-                                .then(async (chals) => {
-                                    if (!Array.isArray(chals)) {
-                                        setChallenges([]);
-                                        return;
-                                    }
-                                    setChallenges(chals);
-                                    // For each challenge, fetch best score
-                                    const scores = {};
-                                    for (const chal of chals) {
-                                        try {
-                                            const res = await fetch(`http://localhost:8081/api/challenges/challenger-best-score/${chal.quiz.id}/${chal.challenger.username}`);
-                                            if (res.ok) {
-                                                const score = await res.json();
-                                                scores[chal.id] = score;
-                                            } else {
-                                                scores[chal.id] = 0; // Default score if fetch fails
-                                            }
-                                        } catch (e) {
-                                            scores[chal.id] = 0; // Default score if fetch fails
-                                        }
-                                    }
-                                    setChallengeScores(scores);
-                                })
-                                .catch(err => {
-                                    console.error('Challenges fetch error:', err);
-                                    setChallenges([]);
-                                });
+                            fetchChallenges(data.user);
                         })
                         .catch(err => {
                             console.error('User fetch error:', err);
@@ -86,7 +91,13 @@ const Home = () => {
             .then((res) => res.json())
             .then((data) => setAnnouncements(data))
             .catch((err) => console.error("Failed to fetch announcements:", err));
-    }, []);
+    }, [fetchChallenges]);
+
+    // New challenges arrive over the notification stream
+    useEffect(() => {
+        if (!username) return undefined;
+        return subscribe(['challenge'], () => fetchChallenges(username));
+    }, [username, fetchChallenges]);
 
     const handleSignOut = async () => {
         try {
@@ -416,6 +427,21 @@ const Home = () => {
 
 export default Home;
 
+// Every quiz by one creator, following the catalogue's X-Next-Cursor header page by page
+async function fetchAllQuizzesBy(creator) {
+    const base = `http://localhost:8081/api/quizzes?creator=${encodeURIComponent(creator)}`;
+    const quizzes = [];
+    let cursor = null;
+    do {
+        const url = cursor ? `${base}&cursor=${encodeURIComponent(cursor)}` : base;
+        const res = await fetch(url, { credentials: 'include' });
+        if (!res.ok) break;
+        quizzes.push(...await res.json());
+        cursor = res.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return quizzes;
+}
+
 function UserStatsList({ username }) {
     const [stats, setStats] = React.useState(null);
     const [loading, setLoading] = React.useState(true);
@@ -430,9 +456,8 @@ function UserStatsList({ username }) {
             fetch(`http://localhost:8081/api/users/${username}/quiz-history`, { credentials: 'include' })
                 .then(res => res.ok ? res.json() : [])
                 .catch(() => []),
-            // Get all quizzes to find user's created quizzes
-            fetch('http://localhost:8081/api/quizzes', { credentials: 'include' })
-                .then(res => res.ok ? res.json() : [])
+            // Get the user's created quizzes
+            fetchAllQuizzesBy(username)
                 .catch(() => []),
             // Get friends list
             fetch('http://localhost:8081/api/friends/list', { credentials: 'include' })
@@ -569,7 +594,7 @@ function RecentCreationsList({ username }) {
     React.useEffect(() => {
         if (!username) return;
         setLoading(true);
-        fetch('http://localhost:8081/api/quizzes', { credentials: 'include' })
+        fetch(`http://localhost:8081/api/quizzes?creator=${encodeURIComponent(username)}&limit=10`, { credentials: 'include' })
             .then(res => res.json())
             .then(data => {
                 const userQuizzes = Array.isArray(data)
@@ -1,11 +1,17 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
+import { subscribe } from '../notifications';
 import './Friends.css';
 
+// Matches the server's default page size for /api/messages/received
+const PAGE_SIZE = 20;
+
 const MessagesModal = ({ isOpen, onClose }) => {
     const [activeTab, setActiveTab] = useState('received');
     const [receivedMessages, setReceivedMessages] = useState([]);
     const [loading, setLoading] = useState(false);
+    const [hasMore, setHasMore] = useState(false);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
     const [sendStep, setSendStep] = useState('search'); // 'search' or 'compose'
     const [searchQuery, setSearchQuery] = useState('');
@@ -21,18 +27,45 @@ const MessagesModal = ({ isOpen, onClose }) => {
         }
     }, [isOpen, activeTab]);
 
+    useEffect(() => {
+        if (!isOpen || activeTab !== 'received') return undefined;
+        return subscribe(['message'], () => fetchReceivedMessages());
+    }, [isOpen, activeTab]);
+
     const fetchReceivedMessages = async () => {
         setLoading(true);
         setError('');
         try {
-            const res = await axios.get('/api/messages/received', { withCredentials: true });
+            const res = await axios.get('/api/messages/received', {
+                params: { limit: PAGE_SIZE },
+                withCredentials: true
+            });
             setReceivedMessages(res.data);
+            setHasMore(res.data.length === PAGE_SIZE);
         } catch (err) {
             setError('Failed to load messages.');
         }
         setLoading(false);
     };
 
+    // Next page starts after the (timestamp, id) of the last conversation shown
+    const loadMoreMessages = async () => {
+        const last = receivedMessages[receivedMessages.length - 1];
+        if (!last) return;
+        setLoadingMore(true);
+        try {
+            const res = await axios.get('/api/messages/received', {
+                params: { beforeTimestamp: last.timestamp, beforeId: last.id, limit: PAGE_SIZE },
+                withCredentials: true
+            });
+            setReceivedMessages(prev => [...prev, ...res.data]);
+            setHasMore(res.data.length === PAGE_SIZE);
+        } catch (err) {
+            setError('Failed to load messages.');
+        }
+        setLoadingMore(false);
+    };
+
     const handleSearch = async (e) => {
         e.preventDefault();
         setSendError('');
@@ -106,14 +139,21 @@ const MessagesModal = ({ isOpen, onClose }) => {
                         <div>
                             {loading ? <p>Loading...</p> : error ? <p className="error-message">{error}</p> : (
                                 receivedMessages.length === 0 ? <p>No messages yet.</p> :
-                                    <ul className="friends-list">
-                                        {receivedMessages.map((msg) => (
-                                            <li key={msg.id} className="friend-item">
-                                                <span><b>{msg.senderUsername}</b>: {msg.content}</span>
-                                                <span style={{ fontSize: '0.85em', color: '#888' }}>{new Date(msg.timestamp).toLocaleString()}</span>
-                                            </li>
-                                        ))}
-                                    </ul>
+                                    <>
+                                        <ul className="friends-list">
+                                            {receivedMessages.map((msg) => (
+                                                <li key={msg.id} className="friend-item">
+                                                    <span><b>{msg.senderUsername}</b>: {msg.content}</span>
+                                                    <span style={{ fontSize: '0.85em', color: '#888' }}>{new Date(msg.timestamp).toLocaleString()}</span>
+                                                </li>
+                                            ))}
+                                        </ul>
+                                        {hasMore && (
+                                            <button onClick={loadMoreMessages} disabled={loadingMore}>
+                                                {loadingMore ? 'Loading...' : 'Load more'}
+                                            </button>
+                                        )}
+                                    </>
                             )}
                         </div>
                     )}
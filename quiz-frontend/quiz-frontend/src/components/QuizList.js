@@ -7,21 +7,28 @@ const QuizList = () => {
     const [error, setError] = useState('');
     const [searchTerm, setSearchTerm] = useState('');
     const [filterCategory, setFilterCategory] = useState('all');
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    const [searchResults, setSearchResults] = useState(null);
     const navigate = useNavigate();
 
     useEffect(() => {
         fetchQuizzes();
     }, []);
 
-    const fetchQuizzes = async () => {
+    const fetchQuizzes = async (cursor = null) => {
+        const url = cursor
+            ? `http://localhost:8081/api/quizzes?cursor=${encodeURIComponent(cursor)}`
+            : 'http://localhost:8081/api/quizzes';
         try {
-            const response = await fetch('http://localhost:8081/api/quizzes', {
+            const response = await fetch(url, {
                 credentials: 'include'
             });
             
             if (response.ok) {
                 const data = await response.json();
-                setQuizzes(data);
+                setQuizzes(prev => cursor ? [...prev, ...data] : data);
+                setNextCursor(response.headers.get('X-Next-Cursor'));
             } else {
                 setError('Failed to fetch quizzes');
             }
@@ -29,15 +36,47 @@ const QuizList = () => {
             setError('Network error');
         } finally {
             setLoading(false);
+            setLoadingMore(false);
         }
     };
 
-    const filteredQuizzes = quizzes.filter(quiz => {
-        const matchesSearch = quiz.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                            quiz.description.toLowerCase().includes(searchTerm.toLowerCase());
-        const matchesCategory = filterCategory === 'all' || quiz.category === filterCategory;
-        return matchesSearch && matchesCategory;
-    });
+    // Search the whole catalogue on the server instead of only the pages loaded so far
+    useEffect(() => {
+        const term = searchTerm.trim();
+        if (!term) {
+            setSearchResults(null);
+            return;
+        }
+        const timer = setTimeout(async () => {
+            try {
+                const response = await fetch(
+                    `http://localhost:8081/api/search?type=quiz&limit=100&q=${encodeURIComponent(term)}`,
+                    { credentials: 'include' }
+                );
+                if (response.ok) {
+                    const data = await response.json();
+                    setSearchResults(data.hits.map(hit => ({
+                        id: hit.id,
+                        title: hit.title,
+                        description: hit.description,
+                        createdBy: hit.username
+                    })));
+                }
+            } catch (err) {
+                setError('Network error');
+            }
+        }, 200);
+        return () => clearTimeout(timer);
+    }, [searchTerm]);
+
+    const loadMore = () => {
+        setLoadingMore(true);
+        fetchQuizzes(nextCursor);
+    };
+
+    const filteredQuizzes = (searchResults || quizzes).filter(quiz =>
+        filterCategory === 'all' || quiz.category === filterCategory
+    );
 
     const categories = ['all', ...new Set(quizzes.map(quiz => quiz.category).filter(Boolean))];
 
@@ -264,6 +303,14 @@ const QuizList = () => {
                         ))}
                     </div>
                 )}
+
+                {nextCursor && !searchResults && (
+                    <div style={{ textAlign: 'center', marginTop: '24px' }}>
+                        <button onClick={loadMore} className="btn-outline" disabled={loadingMore}>
+                            {loadingMore ? 'Loading...' : 'Load more'}
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -0,0 +1,99 @@
+// One shared EventSource per tab for /api/notifications/stream. Components subscribe to event types and
+// refetch their lists when something arrives; 'resync' means events were dropped, so every listener refetches.
+// In session mode the browser reconnects on its own and sends Last-Event-ID, so missed events are replayed by
+// the server. In token mode each connect first fetches a one-minute ticket (the access token stays out of the
+// URL), so a dropped stream is reopened by hand with a fresh ticket and the last event id as a query parameter.
+const API_BASE = 'http://localhost:8081/api/notifications';
+const RECONNECT_DELAY_MS = 3000;
+const listeners = new Set();
+let source = null;
+let opening = false;
+let reconnectTimer = null;
+let lastEventId = null;
+
+const tokenMode = () => {
+    try {
+        const user = JSON.parse(localStorage.getItem('user'));
+        return Boolean(user && user.accessToken);
+    } catch (e) {
+        return false;
+    }
+};
+
+// Goes through the authFetch wrapper, which adds the bearer header and refreshes an expired access token
+const fetchTicket = () =>
+    fetch(`${API_BASE}/ticket`, { method: 'POST' })
+        .then((res) => (res.ok ? res.json() : null))
+        .then((body) => (body ? body.ticket : null))
+        .catch(() => null);
+
+const streamUrl = async () => {
+    if (!tokenMode()) return `${API_BASE}/stream`;
+    const ticket = await fetchTicket();
+    if (!ticket) return null;
+    const params = new URLSearchParams({ ticket });
+    if (lastEventId) params.set('lastEventId', lastEventId);
+    return `${API_BASE}/stream?${params}`;
+};
+
+const dispatch = (type) => (event) => {
+    if (event.lastEventId) lastEventId = event.lastEventId;
+    let data = {};
+    try {
+        data = JSON.parse(event.data);
+    } catch (e) {}
+    listeners.forEach((listener) => {
+        if (type === 'resync' || listener.types.includes(type)) {
+            listener.callback(type, data);
+        }
+    });
+};
+
+const close = () => {
+    clearTimeout(reconnectTimer);
+    reconnectTimer = null;
+    if (source) {
+        source.close();
+        source = null;
+    }
+};
+
+const reconnectLater = () => {
+    close();
+    if (listeners.size > 0) {
+        reconnectTimer = setTimeout(open, RECONNECT_DELAY_MS);
+    }
+};
+
+const open = async () => {
+    if (source || opening || typeof EventSource === 'undefined') return;
+    opening = true;
+    const url = await streamUrl();
+    opening = false;
+    // Everyone may have unsubscribed while the ticket was being fetched
+    if (source || listeners.size === 0) return;
+    if (!url) {
+        reconnectLater();
+        return;
+    }
+    source = new EventSource(url, { withCredentials: true });
+    ['challenge', 'friend-request', 'friend-accepted', 'message', 'resync'].forEach((type) =>
+        source.addEventListener(type, dispatch(type)));
+    if (tokenMode()) {
+        // The ticket in this URL expires within a minute, so the browser's own retry would be refused
+        source.onerror = reconnectLater;
+    }
+};
+
+// Returns an unsubscribe function; the stream closes when the last listener leaves
+export const subscribe = (types, callback) => {
+    const listener = { types, callback };
+    listeners.add(listener);
+    open();
+    return () => {
+        listeners.delete(listener);
+        if (listeners.size === 0) {
+            close();
+        }
+    };
+};
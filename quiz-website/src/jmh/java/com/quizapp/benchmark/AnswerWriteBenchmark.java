@@ -0,0 +1,130 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.QuizWebsiteApplication;
+import com.quizapp.model.*;
+import com.quizapp.repository.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rewriting one attempt's answer sheet on H2, as submitQuiz does.
+// "perRow" is the old saveAll/deleteAll path; "batched" is the bulk delete plus one JDBC batch.
+// The statements/sheets counters give database round trips per sheet.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AnswerWriteBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int questions;
+
+    private ConfigurableApplicationContext context;
+    private StatementCountingDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private AnswerRepository answerRepository;
+    private AnswerBatchWriter answerBatchWriter;
+    private QuizAttempt attempt;
+    private List<Question> questionList;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long statements;
+        public long sheets;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuizWebsiteApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource target && !(bean instanceof StatementCountingDataSource)
+                                ? new StatementCountingDataSource(target) : bean;
+                    }
+                }))
+                // Command-line style so these win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:answers;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        dataSource = context.getBean(StatementCountingDataSource.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        answerRepository = context.getBean(AnswerRepository.class);
+        answerBatchWriter = context.getBean(AnswerBatchWriter.class);
+
+        User user = new User();
+        user.setUsername("bench");
+        user.setPasswordHash("x");
+        user = context.getBean(UserRepository.class).save(user);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Benchmark quiz");
+        quiz.setCreatedBy(user);
+        quiz.setQuestions(new ArrayList<>());
+        quiz = context.getBean(QuizRepository.class).save(quiz);
+        questionList = new ArrayList<>(questions);
+        QuestionRepository questionRepository = context.getBean(QuestionRepository.class);
+        for (int i = 1; i <= questions; i++) {
+            Question question = new Question("Q" + i, Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("a"));
+            question.setQuiz(quiz);
+            question.setQuestionOrder(i);
+            questionList.add(questionRepository.save(question));
+        }
+        attempt = context.getBean(QuizAttemptRepository.class).save(new QuizAttempt(user, quiz));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<Answer> sheet() {
+        List<Answer> answers = new ArrayList<>(questionList.size());
+        for (Question question : questionList) {
+            answers.add(new Answer(attempt.getUser(), attempt, question, "a", true, question.getQuestionOrder()));
+        }
+        return answers;
+    }
+
+    @Benchmark
+    public void perRow(RoundTrips roundTrips) {
+        long before = dataSource.getExecutions();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Answer> oldAnswers = answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId());
+            if (!oldAnswers.isEmpty()) {
+                answerRepository.deleteAll(oldAnswers);
+            }
+            answerRepository.saveAll(sheet());
+        });
+        roundTrips.statements += dataSource.getExecutions() - before;
+        roundTrips.sheets++;
+    }
+
+    @Benchmark
+    public void batched(RoundTrips roundTrips) {
+        long before = dataSource.getExecutions();
+        transactionTemplate.executeWithoutResult(status -> {
+            answerRepository.deleteByQuizAttemptId(attempt.getId());
+            answerBatchWriter.insertAll(sheet());
+        });
+        roundTrips.statements += dataSource.getExecutions() - before;
+        roundTrips.sheets++;
+    }
+}
@@ -0,0 +1,83 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.model.Answer;
+import com.quizapp.model.AnswerKey;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.service.AnswerKeyCache;
+import com.quizapp.service.QuizGradingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-question answer checks and whole-quiz grading for quizzes of 10 to 1,000 questions
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int questions;
+
+    private Quiz quiz;
+    private List<String> answers;
+    private List<Answer> answerEntities;
+    private QuizGradingService gradingService;
+    private AnswerKeyCache answerKeyCache;
+    private List<AnswerKey> keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quiz = SyntheticData.quiz(1L, questions);
+        answers = SyntheticData.answers(quiz, 42L);
+        answerEntities = SyntheticData.answerEntities(quiz, answers);
+        gradingService = new QuizGradingService();
+        answerKeyCache = new AnswerKeyCache();
+        answerKeyCache.warm(quiz.getQuestions());
+        keys = quiz.getQuestions().stream().map(answerKeyCache::get).toList();
+    }
+
+    @Benchmark
+    public int isAnswerCorrect() {
+        int correct = 0;
+        List<Question> list = quiz.getQuestions();
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).isAnswerCorrect(answers.get(i))) correct++;
+        }
+        return correct;
+    }
+
+    @Benchmark
+    public int isAnswerCorrectViaCache() {
+        int correct = 0;
+        List<Question> list = quiz.getQuestions();
+        for (int i = 0; i < list.size(); i++) {
+            if (answerKeyCache.get(list.get(i)).isAnswerCorrect(answers.get(i))) correct++;
+        }
+        return correct;
+    }
+
+    // Cost of compiling keys from scratch, e.g. right after a question edit
+    @Benchmark
+    public void compileAnswerKeys(Blackhole blackhole) {
+        for (Question question : quiz.getQuestions()) {
+            blackhole.consume(AnswerKey.compile(question));
+        }
+    }
+
+    // One pass over a prepared sheet; run with -prof gc to confirm no per-answer allocation
+    @Benchmark
+    public int gradeSheet() {
+        return gradingService.gradeSheet(keys, answers).getScore();
+    }
+
+    @Benchmark
+    public double gradeQuiz() {
+        return gradingService.gradeQuiz(answerEntities).getPercentage();
+    }
+}
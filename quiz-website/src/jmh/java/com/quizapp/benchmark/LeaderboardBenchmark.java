@@ -0,0 +1,49 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.service.LeaderboardService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// In-memory leaderboard reads and inserts after loading 1k to 1M attempts
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int attempts;
+
+    private LeaderboardService leaderboardService;
+    private List<LeaderboardEntryDTO> extra;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        leaderboardService = new LeaderboardService(null, 100, 7);
+        for (LeaderboardEntryDTO entry : SyntheticData.leaderboardEntries(1L, attempts, 7L)) {
+            leaderboardService.record(entry);
+        }
+        extra = SyntheticData.leaderboardEntries(1L, 10_000, 11L);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryDTO> topScores() {
+        return leaderboardService.getTopScores(1L, 10);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryDTO> topScoresToday() {
+        return leaderboardService.getTopScoresToday(1L, 10);
+    }
+
+    @Benchmark
+    public void record() {
+        leaderboardService.record(extra.get(next++ % extra.size()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.QuizWebsiteApplication;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.User;
+import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.service.QuizStatisticsService;
+import com.quizapp.service.QuizTakingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Quiz statistics against an in-memory H2 database holding 1k to 1M attempts for one quiz.
+// "summaryRow" is what the endpoint does now; the other two are the previous full load and a grouped rebuild.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class QuizStatisticsBenchmark {
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int attempts;
+
+    private ConfigurableApplicationContext context;
+    private QuizTakingService quizTakingService;
+    private QuizAttemptRepository quizAttemptRepository;
+    private Long quizId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuizWebsiteApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line style so these win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        quizTakingService = context.getBean(QuizTakingService.class);
+        quizAttemptRepository = context.getBean(QuizAttemptRepository.class);
+
+        User user = new User();
+        user.setUsername("bench");
+        user.setPasswordHash("x");
+        user = context.getBean(UserRepository.class).save(user);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Benchmark quiz");
+        quiz.setCreatedBy(user);
+        quizId = context.getBean(QuizRepository.class).save(quiz).getId();
+
+        insertAttempts(context.getBean(JdbcTemplate.class), user.getId());
+        context.getBean(QuizStatisticsService.class).backfill();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void insertAttempts(JdbcTemplate jdbcTemplate, Long userId) {
+        Random random = new Random(3L);
+        LocalDateTime now = LocalDateTime.now();
+        String sql = "INSERT INTO quiz_attempts (user_id, quiz_id, start_time, end_time, score, total_questions, percentage, " +
+                "is_completed, is_practice_mode, time_taken_minutes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < attempts; i++) {
+            int score = random.nextInt(21);
+            int minutes = 1 + random.nextInt(30);
+            LocalDateTime end = now.minusMinutes(random.nextInt(60 * 24 * 30));
+            batch.add(new Object[]{userId, quizId, Timestamp.valueOf(end.minusMinutes(minutes)), Timestamp.valueOf(end),
+                    score, 20, score * 5.0, true, random.nextInt(10) == 0, (long) minutes});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> summaryRow() {
+        return quizTakingService.getQuizStatistics(quizId);
+    }
+
+    @Benchmark
+    public List<Object[]> groupedAggregate() {
+        return quizAttemptRepository.aggregateStatisticsForQuiz(quizId);
+    }
+
+    // What getQuizStatistics used to do: load every attempt entity and reduce in Java
+    @Benchmark
+    public double loadAllAttempts() {
+        return quizAttemptRepository.findByQuizIdOrderByScoreDescTimeTakenMinutesAsc(quizId).stream()
+                .filter(QuizAttempt::getIsCompleted)
+                .filter(attempt -> !attempt.getIsPracticeMode())
+                .mapToDouble(QuizAttempt::getPercentage)
+                .average()
+                .orElse(0.0);
+    }
+}
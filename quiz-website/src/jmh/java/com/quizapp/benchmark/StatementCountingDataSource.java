@@ -0,0 +1,68 @@
+package com.quizapp.benchmark;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counts statement executions, one per database round trip; a JDBC batch counts once
+class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final AtomicLong executions = new AtomicLong();
+
+    StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    long getExecutions() {
+        return executions.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) return wrapStatement(CallableStatement.class, statement);
+            if (result instanceof PreparedStatement statement) return wrapStatement(PreparedStatement.class, statement);
+            if (result instanceof Statement statement) return wrapStatement(Statement.class, statement);
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrapStatement(Class<T> type, T statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                executions.incrementAndGet();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.model.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic quizzes and attempts shared by the benchmarks
+final class SyntheticData {
+
+    private SyntheticData() {}
+
+    static Quiz quiz(long quizId, int questionCount) {
+        Quiz quiz = new Quiz();
+        quiz.setId(quizId);
+        quiz.setTitle("Synthetic quiz " + questionCount);
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            Question question = switch (i % 3) {
+                case 0 -> new Question("Capital #" + i + "?", Question.QuestionType.QUESTION_RESPONSE,
+                        List.of(), new ArrayList<>(List.of("City " + i, "The City " + i)));
+                case 1 -> new Question("Fill #" + i, Question.QuestionType.FILL_IN_THE_BLANK,
+                        List.of(), new ArrayList<>(List.of("word" + i)));
+                default -> new Question("Pick #" + i, Question.QuestionType.MULTIPLE_CHOICE,
+                        List.of(new Option("Wrong " + i, false), new Option("Right " + i, true), new Option("Other " + i, false)),
+                        new ArrayList<>());
+            };
+            question.setId(quizId * 100_000 + i);
+            question.setQuiz(quiz);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+
+    // Roughly two thirds right, with case and whitespace noise on the correct ones
+    static List<String> answers(Quiz quiz, long seed) {
+        Random random = new Random(seed);
+        List<String> answers = new ArrayList<>(quiz.getQuestions().size());
+        for (int i = 0; i < quiz.getQuestions().size(); i++) {
+            boolean correct = random.nextInt(3) != 0;
+            String answer = switch (i % 3) {
+                case 0 -> correct ? "  city " + i : "Town " + i;
+                case 1 -> correct ? "WORD" + i : "word";
+                default -> correct ? "right " + i : "Wrong " + i;
+            };
+            answers.add(answer);
+        }
+        return answers;
+    }
+
+    static List<Answer> answerEntities(Quiz quiz, List<String> texts) {
+        List<Answer> answers = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            answers.add(new Answer(null, null, quiz.getQuestions().get(i), texts.get(i), null, i + 1));
+        }
+        return answers;
+    }
+
+    static List<LeaderboardEntryDTO> leaderboardEntries(long quizId, int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int score = random.nextInt(21);
+            LocalDateTime end = now.minusMinutes(random.nextInt(60 * 24 * 10));
+            LocalDateTime start = end.minusSeconds(30 + random.nextInt(1800));
+            entries.add(new LeaderboardEntryDTO((long) i, quizId, (long) (i % 5000), "user" + (i % 5000),
+                    score, 20, score * 5.0, start, end, 0L));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,106 @@
+package com.quizapp.benchmark;
+
+import com.quizapp.QuizWebsiteApplication;
+import com.quizapp.model.Option;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.User;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 1000 concurrent clients against the real embedded Tomcat, once per thread mode.
+// Sample time mode reports throughput alongside p99; each request is a chain of blocking JPA reads.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(1000)
+@State(Scope.Benchmark)
+public class ThreadModeLoadTest {
+    private static final int QUIZZES = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> quizIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuizWebsiteApplication.class)
+                // Command-line style so these win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        seed();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private void seed() {
+        User author = new User();
+        author.setUsername("author");
+        author.setPasswordHash("x");
+        author = context.getBean(UserRepository.class).save(author);
+        QuizRepository quizRepository = context.getBean(QuizRepository.class);
+        quizIds = new ArrayList<>(QUIZZES);
+        for (int i = 0; i < QUIZZES; i++) {
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Load quiz " + i);
+            quiz.setCreatedBy(author);
+            List<Question> questions = new ArrayList<>();
+            for (int q = 1; q <= 10; q++) {
+                Question question = new Question("Q" + q, Question.QuestionType.MULTIPLE_CHOICE,
+                        List.of(new Option("right", true), new Option("wrong", false)), List.of());
+                question.setQuiz(quiz);
+                question.setQuestionOrder(q);
+                questions.add(question);
+            }
+            quiz.setQuestions(questions);
+            quizIds.add(quizRepository.save(quiz).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getQuiz() throws IOException, InterruptedException {
+        Long quizId = quizIds.get(ThreadLocalRandom.current().nextInt(quizIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/quizzes/" + quizId))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,34 @@
+package com.quizapp.achievement;
+
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
+
+import java.util.Collection;
+
+// A badge plus the condition for earning it. Rules are only consulted when a relevant event
+// happens, so each check should be an indexed count or an in-memory lookup, never a scan.
+public interface AchievementRule {
+
+    String getKey();
+
+    String getName();
+
+    String getDescription();
+
+    String getShortDesc();
+
+    String getIcon();
+
+    // Whether the quiz's creator qualifies now that the quiz has been saved
+    default boolean isEarnedOnQuizCreated(Quiz quiz) {
+        return false;
+    }
+
+    // Whether the attempt's user qualifies now that the attempt has been completed
+    default boolean isEarnedOnAttemptCompleted(QuizAttempt attempt) {
+        return false;
+    }
+
+    // Ids of every user who currently qualifies; used once to seed earned achievements
+    Collection<Long> findAllEarners();
+}
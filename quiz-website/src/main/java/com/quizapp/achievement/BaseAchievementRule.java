@@ -0,0 +1,34 @@
+package com.quizapp.achievement;
+
+// Holds the display fields shared by every rule
+public abstract class BaseAchievementRule implements AchievementRule {
+
+    private final String key;
+    private final String name;
+    private final String description;
+    private final String shortDesc;
+    private final String icon;
+
+    protected BaseAchievementRule(String key, String name, String description, String shortDesc, String icon) {
+        this.key = key;
+        this.name = name;
+        this.description = description;
+        this.shortDesc = shortDesc;
+        this.icon = icon;
+    }
+
+    @Override
+    public String getKey() { return key; }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public String getDescription() { return description; }
+
+    @Override
+    public String getShortDesc() { return shortDesc; }
+
+    @Override
+    public String getIcon() { return icon; }
+}
@@ -0,0 +1,30 @@
+package com.quizapp.achievement;
+
+import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuizRepository;
+
+import java.util.Collection;
+
+// Earned once a user has authored at least "minimum" quizzes
+public class QuizzesCreatedRule extends BaseAchievementRule {
+
+    private final QuizRepository quizRepository;
+    private final long minimum;
+
+    public QuizzesCreatedRule(QuizRepository quizRepository, long minimum,
+                              String key, String name, String description, String shortDesc, String icon) {
+        super(key, name, description, shortDesc, icon);
+        this.quizRepository = quizRepository;
+        this.minimum = minimum;
+    }
+
+    @Override
+    public boolean isEarnedOnQuizCreated(Quiz quiz) {
+        return quiz.getCreatedBy() != null && quizRepository.countByCreatedBy(quiz.getCreatedBy()) >= minimum;
+    }
+
+    @Override
+    public Collection<Long> findAllEarners() {
+        return quizRepository.findCreatorIdsWithAtLeast(minimum);
+    }
+}
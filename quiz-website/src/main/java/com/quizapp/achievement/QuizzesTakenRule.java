@@ -0,0 +1,31 @@
+package com.quizapp.achievement;
+
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.repository.QuizAttemptRepository;
+
+import java.util.Collection;
+
+// Earned once a user has completed at least "minimum" attempts (practice included)
+public class QuizzesTakenRule extends BaseAchievementRule {
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final long minimum;
+
+    public QuizzesTakenRule(QuizAttemptRepository quizAttemptRepository, long minimum,
+                            String key, String name, String description, String shortDesc, String icon) {
+        super(key, name, description, shortDesc, icon);
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.minimum = minimum;
+    }
+
+    @Override
+    public boolean isEarnedOnAttemptCompleted(QuizAttempt attempt) {
+        return attempt.getUser() != null
+                && quizAttemptRepository.countByUserIdAndIsCompletedTrue(attempt.getUser().getId()) >= minimum;
+    }
+
+    @Override
+    public Collection<Long> findAllEarners() {
+        return quizAttemptRepository.findUserIdsWithCompletedAttemptsAtLeast(minimum);
+    }
+}
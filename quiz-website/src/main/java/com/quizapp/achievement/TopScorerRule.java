@@ -0,0 +1,31 @@
+package com.quizapp.achievement;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.service.LeaderboardService;
+
+import java.util.Collection;
+
+// Earned by taking first place on any quiz's all-time leaderboard
+public class TopScorerRule extends BaseAchievementRule {
+
+    private final LeaderboardService leaderboardService;
+
+    public TopScorerRule(LeaderboardService leaderboardService,
+                         String key, String name, String description, String shortDesc, String icon) {
+        super(key, name, description, shortDesc, icon);
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Override
+    public boolean isEarnedOnAttemptCompleted(QuizAttempt attempt) {
+        return !Boolean.TRUE.equals(attempt.getIsPracticeMode())
+                && attempt.getUser() != null
+                && leaderboardService.isTopScore(new LeaderboardEntryDTO(attempt));
+    }
+
+    @Override
+    public Collection<Long> findAllEarners() {
+        return leaderboardService.getTopScoreHolders();
+    }
+}
@@ -0,0 +1,53 @@
+package com.quizapp.config;
+
+import com.quizapp.achievement.AchievementRule;
+import com.quizapp.achievement.QuizzesCreatedRule;
+import com.quizapp.achievement.QuizzesTakenRule;
+import com.quizapp.achievement.TopScorerRule;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.service.LeaderboardService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+// Achievement badges, in the order they are shown on the profile page.
+// Adding a badge means adding a rule bean here; AchievementService picks it up automatically.
+@Configuration
+public class AchievementConfig {
+
+    @Bean
+    @Order(1)
+    public AchievementRule amateurAuthor(QuizRepository quizRepository) {
+        return new QuizzesCreatedRule(quizRepository, 1, "amateur_author", "Amateur Author",
+                "Created your first quiz!", "Create 1 quiz", "📝");
+    }
+
+    @Bean
+    @Order(2)
+    public AchievementRule prolificAuthor(QuizRepository quizRepository) {
+        return new QuizzesCreatedRule(quizRepository, 5, "prolific_author", "Prolific Author",
+                "Created 5 quizzes!", "Create 5 quizzes", "📚");
+    }
+
+    @Bean
+    @Order(3)
+    public AchievementRule prodigiousAuthor(QuizRepository quizRepository) {
+        return new QuizzesCreatedRule(quizRepository, 10, "prodigious_author", "Prodigious Author",
+                "Created 10 quizzes!", "Create 10 quizzes", "🏆");
+    }
+
+    @Bean
+    @Order(4)
+    public AchievementRule quizMachine(QuizAttemptRepository quizAttemptRepository) {
+        return new QuizzesTakenRule(quizAttemptRepository, 10, "quiz_machine", "Quiz Machine",
+                "Took 10 quizzes!", "Take 10 quizzes", "🤖");
+    }
+
+    @Bean
+    @Order(5)
+    public AchievementRule iAmTheGreatest(LeaderboardService leaderboardService) {
+        return new TopScorerRule(leaderboardService, "i_am_the_greatest", "I am the Greatest!",
+                "Held the highest score on a quiz!", "Highest score on a quiz", "👑");
+    }
+}
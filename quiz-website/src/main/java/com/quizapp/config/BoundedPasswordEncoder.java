@@ -0,0 +1,136 @@
+package com.quizapp.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs BCrypt on a small fixed pool. Hashing is deliberately slow, so a login burst on request threads would take
+// every core; here at most `threads` hashes run at once, a bounded queue absorbs short bursts, and callers beyond
+// that get HashingBusyException straight away instead of piling up behind the CPU.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final int threads;
+    private final long waitMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long waitMillis) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.threads = threads;
+        this.waitMillis = waitMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Thrown when the hashing pool is saturated; the caller should retry shortly
+    public static class HashingBusyException extends RuntimeException {
+        public HashingBusyException() {
+            super("Too many sign-ins right now, please retry");
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Rehash on login whenever the stored cost differs from the configured one, in either direction
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null) return -1;
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public Map<String, Object> getStats() {
+        long count = hashes.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strength", strength);
+        stats.put("threads", threads);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("hashes", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("avgHashMillis", count == 0 ? 0.0 : hashNanos.sum() / 1e6 / count);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1e6);
+        stats.put("avgQueueMillis", count == 0 ? 0.0 : queueNanos.sum() / 1e6 / count);
+        return stats;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Supplier<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.get();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashes.increment();
+                    queueNanos.add(started - submitted);
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingBusyException();
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new HashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingBusyException();
+        }
+    }
+}
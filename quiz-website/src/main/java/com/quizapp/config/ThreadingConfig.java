@@ -0,0 +1,37 @@
+package com.quizapp.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+// spring.threads.virtual.enabled switches Tomcat request handling to virtual threads.
+// In that mode every request can reach the database at once, so connection checkouts go through a semaphore
+// sized to the pool (see application.properties for sizing). Scheduled refreshers run on the default scheduler.
+@Configuration
+@EnableScheduling
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimiter(Environment environment) {
+        int maxConnections = environment.getProperty("quizapp.datasource.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMillis = environment.getProperty("quizapp.datasource.acquire-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
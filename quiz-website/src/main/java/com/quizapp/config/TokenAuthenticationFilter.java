@@ -0,0 +1,57 @@
+package com.quizapp.config;
+
+import com.quizapp.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Authenticates "Authorization: Bearer <access token>" requests from the token's own claims.
+// No session and no user lookup: the principal is rebuilt from the username and role in the token.
+// Requests without a valid token carry on unauthenticated and are judged by the usual rules.
+// EventSource cannot set headers, so the notification stream takes a short-lived ?ticket= from
+// /api/notifications/ticket instead; access tokens never go into a URL where access logs would keep them.
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
+    private final AuthTokenService tokenService;
+
+    public TokenAuthenticationFilter(AuthTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = null;
+        AuthTokenService.Type type = AuthTokenService.Type.ACCESS;
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER)) {
+            token = header.substring(BEARER.length()).trim();
+        } else if (STREAM_PATH.equals(request.getRequestURI())) {
+            token = request.getParameter("ticket");
+            type = AuthTokenService.Type.STREAM;
+        }
+        if (token != null) {
+            tokenService.verify(token, type).ifPresent(claims -> {
+                List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(claims.role()));
+                UserDetails principal = new User(claims.username(), "", authorities);
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+                SecurityContextHolder.setContext(context);
+            });
+        }
+        chain.doFilter(request, response);
+    }
+}
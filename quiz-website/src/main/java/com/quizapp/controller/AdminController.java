@@ -1,12 +1,22 @@
 package com.quizapp.controller;
 
+import com.quizapp.config.BoundedPasswordEncoder;
+import com.quizapp.dto.UserDeletionReport;
 import com.quizapp.model.User;
 import com.quizapp.repository.UserRepository;
-import com.quizapp.repository.FriendRequestRepository;
-import com.quizapp.repository.MessageRepository;
-import com.quizapp.repository.QuizAttemptRepository;
-import com.quizapp.repository.AnswerRepository;
-import com.quizapp.repository.QuizRepository;
+import com.quizapp.service.CustomUserDetailsService;
+import com.quizapp.service.FriendshipGraph;
+import com.quizapp.service.LeaderboardService;
+import com.quizapp.service.NotificationService;
+import com.quizapp.service.PersonalBestService;
+import com.quizapp.service.QuizStatisticsService;
+import com.quizapp.service.QuizSnapshotCache;
+import com.quizapp.service.RegradeService;
+import com.quizapp.service.SearchIndex;
+import com.quizapp.service.SiteMetricsService;
+import com.quizapp.service.TrendingService;
+import com.quizapp.service.UnseenChallengeCounter;
+import com.quizapp.service.UserDeletionService;
 import com.quizapp.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -22,11 +33,20 @@ import java.util.Optional;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final FriendRequestRepository friendRequestRepository;
-    private final MessageRepository messageRepository;
-    private final QuizAttemptRepository quizAttemptRepository;
-    private final AnswerRepository answerRepository;
-    private final QuizRepository quizRepository;
+    private final LeaderboardService leaderboardService;
+    private final QuizStatisticsService quizStatisticsService;
+    private final FriendshipGraph friendshipGraph;
+    private final UserDeletionService userDeletionService;
+    private final SiteMetricsService siteMetricsService;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final SearchIndex searchIndex;
+    private final TrendingService trendingService;
+    private final RegradeService regradeService;
+    private final CustomUserDetailsService userDetailsService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final NotificationService notificationService;
+    private final UnseenChallengeCounter unseenChallengeCounter;
+    private final PersonalBestService personalBestService;
 
     // ✅ Get all users
     @GetMapping("/users")
@@ -50,6 +70,7 @@ public class AdminController {
             User user = userOpt.get();
             user.setRole("ROLE_ADMIN");
             userRepository.save(user);
+            userDetailsService.evict(user.getUsername());
             return ResponseEntity.ok("User promoted to admin.");
         } else {
             return ResponseEntity.notFound().build();
@@ -58,63 +79,119 @@ public class AdminController {
 
     // ✅ Delete user
     @DeleteMapping("/users/{id}")
-    public ResponseEntity<String> deleteUser(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> deleteUser(@PathVariable Long id, Authentication authentication) {
         if (!SecurityUtils.isAdmin(authentication)) {
             return ResponseEntity.status(403).build();
         }
 
-        Optional<User> userOpt = userRepository.findById(id);
-        if (userOpt.isEmpty()) {
+        Optional<String> username = userRepository.findById(id).map(User::getUsername);
+        Optional<UserDeletionReport> report = userDeletionService.deleteUser(id);
+        if (report.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        User user = userOpt.get();
-        String username = user.getUsername();
 
-        // 1. Delete all friend requests involving this user
-        friendRequestRepository.deleteAll(friendRequestRepository.findByRequester(user));
-        friendRequestRepository.deleteAll(friendRequestRepository.findByAddressee(user));
+        // Refresh in-memory and derived data now that the deletion has committed
+        leaderboardService.removeUser(id);
+        report.get().getAffectedQuizIds().forEach(quizStatisticsService::rebuildQuiz);
+        report.get().getAffectedQuizIds().forEach(trendingService::rebuildQuiz);
+        friendshipGraph.removeUser(id);
+        searchIndex.removeUser(id);
+        // The deleted user's sent challenges disappear from their recipients' counts too
+        unseenChallengeCounter.forget(report.get().getChallengeRecipients());
+        username.ifPresent(name -> unseenChallengeCounter.forget(List.of(name)));
+        username.ifPresent(userDetailsService::evict);
+        // So the dashboard the admin returns to already counts without the deleted user
+        siteMetricsService.invalidate();
+        return ResponseEntity.ok(report.get());
+    }
 
-        // 2. Remove this user from all friends' lists (bidirectional)
-        for (User u : userRepository.findAll()) {
-            if (u.getFriends().remove(user)) {
-                userRepository.save(u);
-            }
+    @GetMapping("/statistics")
+    public ResponseEntity<?> getStatistics(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
         }
-        user.getFriends().clear();
-        userRepository.save(user);
+        return ResponseEntity.ok(siteMetricsService.getDashboard());
+    }
 
-        // 3. Delete all messages sent or received by this user
-        messageRepository.deleteAll(messageRepository.findBySenderUsernameAndReceiverUsernameOrderByTimestampDesc(username, username));
-        // Delete all messages where this user is sender or receiver
-        messageRepository.deleteAll(messageRepository.findAll().stream().filter(m -> m.getSenderUsername().equals(username) || m.getReceiverUsername().equals(username)).toList());
+    // Rebuild quiz_statistics from all recorded attempts
+    @PostMapping("/statistics/backfill")
+    public ResponseEntity<?> backfillQuizStatistics(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        int quizzes = quizStatisticsService.backfill();
+        return ResponseEntity.ok(java.util.Map.of("quizzes", quizzes));
+    }
 
-        // 4. Delete all quiz attempts and answers by this user
-        var attempts = quizAttemptRepository.findByUserIdOrderByStartTimeDesc(user.getId());
-        for (var attempt : attempts) {
-            answerRepository.deleteAll(answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId()));
-            quizAttemptRepository.delete(attempt);
+    // Rebuild personal_bests from all recorded attempts
+    @PostMapping("/personal-bests/backfill")
+    public ResponseEntity<?> backfillPersonalBests(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
         }
+        int pairs = personalBestService.backfill();
+        return ResponseEntity.ok(java.util.Map.of("pairs", pairs));
+    }
 
-        // 5. Finally, delete the user
-        userRepository.deleteById(id);
-        return ResponseEntity.ok("User deleted successfully.");
+    @GetMapping("/quiz-snapshots")
+    public ResponseEntity<?> getQuizSnapshotStats(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(quizSnapshotCache.getStats());
     }
 
-    @GetMapping("/statistics")
-    public ResponseEntity<?> getStatistics(Authentication authentication) {
+    // Password hashing pool and user lookup cache
+    @GetMapping("/auth-metrics")
+    public ResponseEntity<?> getAuthMetrics(Authentication authentication) {
         if (!SecurityUtils.isAdmin(authentication)) {
             return ResponseEntity.status(403).build();
         }
-        long userCount = userRepository.count();
-        long quizCount = quizRepository.count();
-        // Count only completed, non-practice quiz attempts
-        long quizAttempts = quizAttemptRepository.findAll().stream().filter(a -> Boolean.TRUE.equals(a.getIsCompleted()) && Boolean.FALSE.equals(a.getIsPracticeMode())).count();
-        return ResponseEntity.ok(
-                java.util.Map.of(
-                        "users", userCount,
-                        "quizzes", quizCount,
-                        "quizzesTaken", quizAttempts
-                )
-        );
+        return ResponseEntity.ok(Map.of(
+                "passwordHashing", passwordEncoder.getStats(),
+                "userCache", userDetailsService.getStats()));
+    }
+
+    @GetMapping("/notifications")
+    public ResponseEntity<?> getNotificationStats(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(notificationService.getStats());
+    }
+
+    @GetMapping("/regrade-jobs")
+    public ResponseEntity<?> getRegradeJobs(Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(regradeService.getRecentJobs());
+    }
+
+    @GetMapping("/regrade-jobs/{id}")
+    public ResponseEntity<?> getRegradeJob(@PathVariable Long id, Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        return regradeService.getJob(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Regrade stored answers for the given questions, e.g. after a key was fixed outside the app
+    @PostMapping("/regrade-jobs")
+    public ResponseEntity<?> startRegradeJob(@RequestBody Map<String, List<Long>> body, Authentication authentication) {
+        if (!SecurityUtils.isAdmin(authentication)) {
+            return ResponseEntity.status(403).build();
+        }
+        List<Long> questionIds = body.get("questionIds");
+        if (questionIds == null || questionIds.isEmpty()) {
+            return ResponseEntity.badRequest().body("questionIds is required.");
+        }
+        if (questionIds.size() > RegradeService.MAX_QUESTIONS_PER_JOB) {
+            return ResponseEntity.badRequest().body("At most " + RegradeService.MAX_QUESTIONS_PER_JOB
+                    + " questionIds per job; split larger regrades into several jobs.");
+        }
+        return ResponseEntity.accepted().body(regradeService.enqueue(questionIds));
     }
-}
\ No newline at end of file
+}
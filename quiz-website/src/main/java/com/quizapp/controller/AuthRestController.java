@@ -1,5 +1,8 @@
 package com.quizapp.controller;
 
+import com.quizapp.config.BoundedPasswordEncoder;
+import com.quizapp.service.AuthTokenService;
+import com.quizapp.service.CustomUserDetailsService;
 import com.quizapp.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,6 +14,8 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +27,8 @@ public class AuthRestController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
+    private final AuthTokenService tokenService;
+    private final CustomUserDetailsService userDetailsService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials, HttpServletRequest request) {
@@ -33,6 +40,14 @@ public class AuthRestController {
                     new UsernamePasswordAuthenticationToken(username, password)
             );
 
+            if (tokenService.isEnabled()) {
+                // Stateless mode: nothing is stored server-side, the client sends the access token back
+                Map<String, Object> response = tokenResponse(tokenService.issue(userDetailsService.loadUserByUsername(username)));
+                response.put("message", "Login successful");
+                response.put("username", username);
+                return ResponseEntity.ok(response);
+            }
+
             // Set auth in SecurityContext
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -46,6 +61,10 @@ public class AuthRestController {
             response.put("message", "Login successful");
             response.put("username", username);
             return ResponseEntity.ok(response);
+        } catch (BoundedPasswordEncoder.HashingBusyException e) {
+            return ResponseEntity.status(HttpServletResponse.SC_SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpServletResponse.SC_UNAUTHORIZED)
                     .body("Invalid username or password");
@@ -54,6 +73,37 @@ public class AuthRestController {
 
 
 
+    // Swaps a refresh token for a new token pair. The user is looked up again, so deleted accounts,
+    // role changes and password changes take effect here.
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        if (!tokenService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        var claims = tokenService.verify(body.get("refreshToken"), AuthTokenService.Type.REFRESH);
+        if (claims.isEmpty()) {
+            return ResponseEntity.status(HttpServletResponse.SC_UNAUTHORIZED).body("Invalid or expired refresh token");
+        }
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(claims.get().username());
+            if (!tokenService.stampMatches(claims.get(), user)) {
+                return ResponseEntity.status(HttpServletResponse.SC_UNAUTHORIZED).body("Invalid or expired refresh token");
+            }
+            return ResponseEntity.ok(tokenResponse(tokenService.issue(user)));
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(HttpServletResponse.SC_UNAUTHORIZED).body("Invalid or expired refresh token");
+        }
+    }
+
+    private static Map<String, Object> tokenResponse(AuthTokenService.TokenPair tokens) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("tokenType", "Bearer");
+        response.put("accessToken", tokens.accessToken());
+        response.put("refreshToken", tokens.refreshToken());
+        response.put("expiresIn", tokens.expiresIn());
+        return response;
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> credentials) {
         String username = credentials.get("username");
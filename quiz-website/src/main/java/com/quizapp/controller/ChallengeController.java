@@ -51,6 +51,21 @@ public class ChallengeController {
         }
     }
 
+    @GetMapping("/unseen/{username}/count")
+    public ResponseEntity<?> getUnseenSummary(@PathVariable String username) {
+        return ResponseEntity.ok(challengeService.getUnseenSummary(username));
+    }
+
+    @PutMapping("/unseen/{username}/mark-all-seen")
+    public ResponseEntity<?> markAllChallengesAsSeen(@PathVariable String username) {
+        try {
+            int updated = challengeService.markAllChallengesAsSeen(username);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error marking challenges as seen: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{challengeId}/mark-seen")
     public ResponseEntity<?> markChallengeAsSeen(@PathVariable Long challengeId) {
         try {
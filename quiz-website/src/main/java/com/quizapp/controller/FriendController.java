@@ -1,6 +1,7 @@
 package com.quizapp.controller;
 
 import com.quizapp.dto.FriendRequestDTO;
+import com.quizapp.dto.FriendStatsDTO;
 import com.quizapp.service.FriendService;
 import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.model.User;
@@ -91,9 +92,9 @@ public class FriendController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<List<Map<String, Object>>> getFriendStats(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<FriendStatsDTO>> getFriendStats(@AuthenticationPrincipal UserDetails userDetails) {
         String username = userDetails.getUsername();
-        List<Map<String, Object>> stats = friendService.getFriendStatsWithQuizInfo(username);
+        List<FriendStatsDTO> stats = friendService.getFriendStatsWithQuizInfo(username);
         return ResponseEntity.ok(stats);
     }
 }
@@ -5,10 +5,12 @@ import com.quizapp.service.MessageService;
 import com.quizapp.service.UserService;
 import com.quizapp.service.FriendService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,11 +25,24 @@ public class MessageController {
     @Autowired
     private FriendService friendService;
 
-    // Get latest messages received by the logged-in user
+    // Get latest messages received by the logged-in user, one per sender.
+    // For the next page pass the timestamp and id of the last message returned.
     @GetMapping("/received")
-    public List<Message> getLatestMessagesForReceiver(Principal principal) {
+    public List<Message> getLatestMessagesForReceiver(Principal principal,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+                                                      @RequestParam(required = false) Long beforeId,
+                                                      @RequestParam(required = false) Integer limit) {
         String username = principal.getName();
-        return messageService.getLatestMessagesForReceiver(username);
+        return messageService.getInbox(username, beforeTimestamp, beforeId, limit);
+    }
+
+    // Conversation with another user, newest first, paged the same way as the inbox
+    @GetMapping("/thread/{otherUsername}")
+    public List<Message> getThread(@PathVariable String otherUsername, Principal principal,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+                                   @RequestParam(required = false) Long beforeId,
+                                   @RequestParam(required = false) Integer limit) {
+        return messageService.getThread(principal.getName(), otherUsername, beforeTimestamp, beforeId, limit);
     }
 
     // Send a message to a friend
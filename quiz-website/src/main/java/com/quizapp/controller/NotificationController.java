@@ -0,0 +1,49 @@
+package com.quizapp.controller;
+
+import com.quizapp.service.AuthTokenService;
+import com.quizapp.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+// One event stream per signed-in tab, replacing polling of challenges, friend requests and messages.
+// Browsers resend Last-Event-ID when they reconnect; clients that manage their own cursor can pass lastEventId.
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final AuthTokenService tokenService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal UserDetails userDetails,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                             @RequestParam(required = false) String lastEventId) {
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+        String cursor = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(notificationService.subscribe(userDetails.getUsername(), cursor));
+    }
+
+    // Token mode only: a one-minute ticket for opening the stream, fetched with the bearer header before each connect
+    @PostMapping("/ticket")
+    public ResponseEntity<Map<String, String>> ticket(@AuthenticationPrincipal UserDetails userDetails) {
+        if (!tokenService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (userDetails == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(Map.of("ticket", tokenService.issueStreamTicket(userDetails)));
+    }
+}
@@ -1,23 +1,33 @@
 package com.quizapp.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.dto.QuizCataloguePage;
+import com.quizapp.dto.TrendingQuizDTO;
 import com.quizapp.model.Quiz;
 import com.quizapp.model.User;
+import com.quizapp.service.LeaderboardService;
+import com.quizapp.service.PersonalBestService;
+import com.quizapp.service.QuizStatisticsService;
 import com.quizapp.service.QuizService;
+import com.quizapp.service.TrendingService;
 import com.quizapp.service.UserService;
 import com.quizapp.util.SecurityUtils;
 import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.repository.AnswerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,6 +39,15 @@ public class QuizController {
     private final UserService userService;
     private final QuizAttemptRepository quizAttemptRepository;
     private final AnswerRepository answerRepository;
+    private final LeaderboardService leaderboardService;
+    private final QuizStatisticsService quizStatisticsService;
+    private final PersonalBestService personalBestService;
+    private final ObjectMapper objectMapper;
+    private final TrendingService trendingService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     public Quiz createQuiz(@RequestBody Quiz quiz, @AuthenticationPrincipal UserDetails userDetails) {
@@ -44,28 +63,52 @@ public class QuizController {
         return quizService.createQuiz(quiz);
     }
 
+    // Fetch plan: FULL_QUESTIONS (3 queries)
     @GetMapping("/{id}")
     public QuizDto getQuiz(@PathVariable Long id) {
-        Quiz quiz = quizService.findById(id);
+        Quiz quiz = quizService.findWithQuestions(id);
         return new QuizDto(quiz);
     }
 
+    // Keyset-paged catalogue projected in one query; the next page's cursor comes back in X-Next-Cursor.
+    // The body stays a plain array so older clients keep working, and unchanged pages answer 304.
     @GetMapping
-    public List<QuizSummaryDto> getAllQuizzes() {
-        return quizService.getAllQuizzes().stream()
-                .map(quiz -> new QuizSummaryDto(
-                        quiz.getId(),
-                        quiz.getTitle(),
-                        quiz.getDescription(),
-                        quiz.getCreatedBy() != null ? quiz.getCreatedBy().getUsername() : null
-                ))
-                .toList();
+    public ResponseEntity<byte[]> getAllQuizzes(@RequestParam(defaultValue = "newest") String sort,
+                                                @RequestParam(required = false) String creator,
+                                                @RequestParam(required = false) Boolean practiceMode,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit)
+            throws JsonProcessingException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        QuizCataloguePage page;
+        try {
+            page = quizService.getCatalogue(sort, creator, practiceMode, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        byte[] body = objectMapper.writeValueAsBytes(page.getQuizzes());
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        // Spring answers 304 when If-None-Match matches this ETag
+        return response.eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    // Endpoint to get top 5 most taken quizzes
+    // Most taken quizzes from the trending snapshot; window is all_time, last_24h or hot (time-decayed)
     @GetMapping("/popular")
-    public List<Map<String, Object>> getPopularQuizzes() {
-        return quizService.getTopMostTakenQuizzes(5, quizAttemptRepository);
+    public List<TrendingQuizDTO> getPopularQuizzes(@RequestParam(defaultValue = "all_time") String window,
+                                                   @RequestParam(defaultValue = "5") int limit) {
+        TrendingService.Window parsed;
+        try {
+            parsed = TrendingService.Window.valueOf(window.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown window: " + window);
+        }
+        return trendingService.getTop(parsed, Math.max(limit, 0));
     }
 
     @DeleteMapping("/{id}")
@@ -81,6 +124,10 @@ public class QuizController {
         }
         // Delete the quiz itself (questions/options cascade)
         quizService.deleteQuiz(id);
+        leaderboardService.removeQuiz(id);
+        quizStatisticsService.removeQuiz(id);
+        personalBestService.removeQuiz(id);
+        trendingService.removeQuiz(id);
     }
 
     @DeleteMapping("/{id}/clear-history")
@@ -94,22 +141,13 @@ public class QuizController {
             answerRepository.deleteAll(answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId()));
             quizAttemptRepository.delete(attempt);
         }
+        leaderboardService.removeQuiz(id);
+        quizStatisticsService.removeQuiz(id);
+        personalBestService.removeQuiz(id);
+        trendingService.removeQuiz(id);
         return ResponseEntity.ok("Quiz history cleared.");
     }
 
-    public static class QuizSummaryDto {
-        public Long id;
-        public String title;
-        public String description;
-        public String createdBy;
-        public QuizSummaryDto(Long id, String title, String description, String createdBy) {
-            this.id = id;
-            this.title = title;
-            this.description = description;
-            this.createdBy = createdBy;
-        }
-    }
-
     public static class QuizDto {
         public Long id;
         public String title;
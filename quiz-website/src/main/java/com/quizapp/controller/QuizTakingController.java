@@ -1,19 +1,22 @@
 package com.quizapp.controller;
 
+import com.quizapp.dto.GradedSubmission;
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.dto.QuestionDTO;
+import com.quizapp.dto.QuizSnapshot;
 import com.quizapp.model.*;
 import com.quizapp.service.QuizTakingService;
+import com.quizapp.service.SubmissionPipeline;
 import com.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/quiz-taking")
@@ -21,14 +24,17 @@ public class QuizTakingController {
 
     private final QuizTakingService quizTakingService;
     private final UserService userService;
+    private final SubmissionPipeline submissionPipeline;
 
     @Autowired
-    public QuizTakingController(QuizTakingService quizTakingService, UserService userService) {
+    public QuizTakingController(QuizTakingService quizTakingService, UserService userService,
+                                SubmissionPipeline submissionPipeline) {
         this.quizTakingService = quizTakingService;
         this.userService = userService;
+        this.submissionPipeline = submissionPipeline;
     }
 
-    // Start attempt
+    // Start attempt. Fetch plan: quiz snapshot, built with FULL_QUESTIONS on a miss
     @PostMapping("/start/{quizId}")
     public ResponseEntity<Map<String, Object>> startQuiz(
             @PathVariable Long quizId,
@@ -37,11 +43,10 @@ public class QuizTakingController {
         try {
             User user = userService.findByUsername(userDetails.getUsername());
             QuizAttempt attempt = quizTakingService.startQuiz(quizId, user, practiceMode);
-            List<Question> questions = quizTakingService.getQuizQuestions(quizId, false);
-            List<QuestionDto> questionDtos = questions.stream().map(QuestionDto::new).collect(Collectors.toList());
+            QuizSnapshot snapshot = quizTakingService.getQuizSnapshot(quizId);
             Map<String, Object> response = new HashMap<>();
             response.put("attemptId", attempt.getId());
-            response.put("questions", questionDtos);
+            response.put("questions", snapshot.getQuestionsRawJson());
             response.put("startTime", attempt.getStartTime());
             response.put("totalQuestions", attempt.getTotalQuestions());
             return ResponseEntity.ok(response);
@@ -52,13 +57,15 @@ public class QuizTakingController {
         }
     }
 
-    // Submit Answers
+    // Submit Answers. Fetch plan: ANSWER_DATA for questions without a compiled answer key
     @PostMapping("/submit/{attemptId}")
     public ResponseEntity<Map<String, Object>> submitQuiz(
             @PathVariable Long attemptId,
             @RequestBody Map<Long, String> questionAnswers) {
         try {
-            QuizAttempt completedAttempt = quizTakingService.submitQuiz(attemptId, questionAnswers);
+            QuizAttempt completedAttempt = submissionPipeline.isEnabled()
+                    ? submissionPipeline.submit(attemptId, questionAnswers)
+                    : quizTakingService.submitQuiz(attemptId, questionAnswers);
             Map<String, Object> response = new HashMap<>();
             response.put("attemptId", completedAttempt.getId());
             response.put("score", completedAttempt.getScore());
@@ -67,6 +74,10 @@ public class QuizTakingController {
             response.put("timeTaken", completedAttempt.getTimeTakenMinutes());
             response.put("completed", completedAttempt.getIsCompleted());
             return ResponseEntity.ok(response);
+        } catch (SubmissionPipeline.QueueFullException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -78,7 +89,10 @@ public class QuizTakingController {
     @GetMapping("/results/{attemptId}")
     public ResponseEntity<Map<String, Object>> getQuizResults(@PathVariable Long attemptId) {
         try {
-            Map<String, Object> results = quizTakingService.getQuizResults(attemptId);
+            GradedSubmission pending = submissionPipeline.getPending(attemptId);
+            Map<String, Object> results = pending != null
+                    ? quizTakingService.getQuizResults(pending)
+                    : quizTakingService.getQuizResults(attemptId);
             return ResponseEntity.ok(results);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
@@ -89,11 +103,11 @@ public class QuizTakingController {
 
     // Top scores
     @GetMapping("/top-scores/{quizId}")
-    public ResponseEntity<List<QuizAttempt>> getTopScores(
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopScores(
             @PathVariable Long quizId,
             @RequestParam(defaultValue = "10") int limit) {
         try {
-            List<QuizAttempt> topScores = quizTakingService.getTopScores(quizId, limit);
+            List<LeaderboardEntryDTO> topScores = quizTakingService.getTopScores(quizId, limit);
             return ResponseEntity.ok(topScores);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -148,16 +162,15 @@ public class QuizTakingController {
         }
     }
 
-    // Resume
+    // Resume. Fetch plan: quiz snapshot, built with FULL_QUESTIONS on a miss
     @GetMapping("/resume/{attemptId}")
     public ResponseEntity<Map<String, Object>> resumeQuiz(@PathVariable Long attemptId) {
         try {
             QuizAttempt attempt = quizTakingService.resumeQuiz(attemptId);
-            List<Question> questions = quizTakingService.getQuizQuestions(attempt.getQuiz().getId(), false);
-            List<QuestionDto> questionDtos = questions.stream().map(QuestionDto::new).collect(Collectors.toList());
+            QuizSnapshot snapshot = quizTakingService.getQuizSnapshot(attempt.getQuiz().getId());
             Map<String, Object> response = new HashMap<>();
             response.put("attemptId", attempt.getId());
-            response.put("questions", questionDtos);
+            response.put("questions", snapshot.getQuestionsRawJson());
             response.put("startTime", attempt.getStartTime());
             response.put("totalQuestions", attempt.getTotalQuestions());
             return ResponseEntity.ok(response);
@@ -168,14 +181,20 @@ public class QuizTakingController {
         }
     }
 
+    // Fetch plan: quiz snapshot, built with FULL_QUESTIONS on a miss
     @GetMapping("/questions/{quizId}")
-    public ResponseEntity<List<QuestionDto>> getQuizQuestions(
+    public ResponseEntity<?> getQuizQuestions(
             @PathVariable Long quizId,
             @RequestParam(defaultValue = "false") boolean randomize) {
         try {
-            List<Question> questions = quizTakingService.getQuizQuestions(quizId, randomize);
-            List<QuestionDto> questionDtos = questions.stream().map(QuestionDto::new).collect(Collectors.toList());
-            return ResponseEntity.ok(questionDtos);
+            QuizSnapshot snapshot = quizTakingService.getQuizSnapshot(quizId);
+            if (randomize) {
+                List<QuestionDTO> shuffled = new ArrayList<>(snapshot.getQuestions());
+                Collections.shuffle(shuffled);
+                return ResponseEntity.ok(shuffled);
+            }
+            // The cached bytes go out as-is
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(snapshot.getQuestionsJson());
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -200,50 +219,28 @@ public class QuizTakingController {
     }
     // Top scores in the last day
     @GetMapping("/top-scores-today/{quizId}")
-    public ResponseEntity<List<QuizAttempt>> getTopScoresToday(
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopScoresToday(
             @PathVariable Long quizId,
             @RequestParam(defaultValue = "10") int limit) {
         try {
-            List<QuizAttempt> topScoresToday = quizTakingService.getTopScoresToday(quizId, limit);
+            List<LeaderboardEntryDTO> topScoresToday = quizTakingService.getTopScoresToday(quizId, limit);
             return ResponseEntity.ok(topScoresToday);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    public static class QuestionDto {
-        public Long id;
-        public String questionText;
-        public String type;
-        public String imageUrl;
-        public Integer questionOrder;
-        public List<OptionDto> options;
-        public List<String> correctAnswers;
-        public Boolean orderMatters;
-
-        public QuestionDto(Question question) {
-            this.id = question.getId();
-            this.questionText = question.getQuestionText();
-            this.type = question.getType() != null ? question.getType().name() : null;
-            this.imageUrl = question.getImageUrl();
-            this.questionOrder = question.getQuestionOrder();
-            this.options = question.getOptions() != null ?
-                    question.getOptions().stream().map(OptionDto::new).collect(Collectors.toList()) :
-                    List.of();
-            this.correctAnswers = question.getCorrectAnswers();
-            this.orderMatters = question.getOrderMatters();
-        }
-    }
-
-    public static class OptionDto {
-        public Long id;
-        public String text;
-        public boolean isCorrect;
-
-        public OptionDto(Option option) {
-            this.id = option.getId();
-            this.text = option.getText();
-            this.isCorrect = option.getIsCorrect();
+    // Top scores in the current hour and the N - 1 whole hours before it; N is 1 to retention-days * 24
+    @GetMapping("/top-scores-window/{quizId}")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopScoresForWindow(
+            @PathVariable Long quizId,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<LeaderboardEntryDTO> topScores = quizTakingService.getTopScoresForLastHours(quizId, hours, limit);
+            return ResponseEntity.ok(topScores);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+}
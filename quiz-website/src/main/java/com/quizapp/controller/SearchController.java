@@ -0,0 +1,40 @@
+package com.quizapp.controller;
+
+import com.quizapp.dto.SearchResults;
+import com.quizapp.service.SearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchIndex searchIndex;
+
+    // Ranked prefix search over quizzes and users, served entirely from the in-memory index.
+    // type is "quiz", "user" or omitted for both.
+    @GetMapping
+    public SearchResults search(@RequestParam String q,
+                                @RequestParam(required = false) String type,
+                                @RequestParam(defaultValue = "0") int offset,
+                                @RequestParam(defaultValue = "20") int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE);
+        }
+        SearchIndex.Kind kind = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                kind = SearchIndex.Kind.valueOf(type.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown type: " + type);
+            }
+        }
+        return searchIndex.search(q, kind, offset, limit);
+    }
+}
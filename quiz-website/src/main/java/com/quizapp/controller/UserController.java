@@ -2,8 +2,10 @@ package com.quizapp.controller;
 
 import com.quizapp.dto.QuizHistoryItemDTO;
 import com.quizapp.dto.UserProfileDTO;
+import com.quizapp.model.PersonalBest;
 import com.quizapp.model.User;
 import com.quizapp.service.FriendService;
+import com.quizapp.service.PersonalBestService;
 import com.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +23,8 @@ public class UserController {
     private UserService userService;
     @Autowired
     private FriendService friendService;
+    @Autowired
+    private PersonalBestService personalBestService;
 
     @GetMapping("/{username}")
     public ResponseEntity<?> getUserProfile(@PathVariable String username) {
@@ -47,6 +51,16 @@ public class UserController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping("/{username}/personal-bests")
+    public ResponseEntity<List<PersonalBest>> getPersonalBests(@PathVariable String username) {
+        return ResponseEntity.ok(personalBestService.getPersonalBests(username));
+    }
+
+    @GetMapping("/{username}/personal-bests/{quizId}/friends")
+    public ResponseEntity<List<Map<String, Object>>> getFriendComparison(@PathVariable String username, @PathVariable Long quizId) {
+        return ResponseEntity.ok(personalBestService.getFriendComparison(username, quizId));
+    }
+
     @GetMapping("/{username}/achievements")
     public ResponseEntity<List<Map<String, Object>>> getUserAchievements(@PathVariable String username) {
         List<Map<String, Object>> achievements = userService.getUserAchievements(username);
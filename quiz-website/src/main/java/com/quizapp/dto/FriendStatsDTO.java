@@ -0,0 +1,15 @@
+package com.quizapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FriendStatsDTO {
+    private String username;
+    private long numQuizzes;
+    private double avgPercent;
+    private long numCreated;
+    private String mostPopularQuizTitle;
+    private long mostPopularQuizAttempts;
+}
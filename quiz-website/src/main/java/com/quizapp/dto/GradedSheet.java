@@ -0,0 +1,30 @@
+package com.quizapp.dto;
+
+import java.util.BitSet;
+
+// Result of grading one answer sheet: bit i is set when question i was answered correctly
+public class GradedSheet {
+    private final BitSet correct;
+    private final int totalQuestions;
+
+    public GradedSheet(BitSet correct, int totalQuestions) {
+        this.correct = correct;
+        this.totalQuestions = totalQuestions;
+    }
+
+    public boolean isCorrect(int questionIndex) {
+        return correct.get(questionIndex);
+    }
+
+    public int getScore() {
+        return correct.cardinality();
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public double getPercentage() {
+        return totalQuestions == 0 ? 0.0 : (getScore() * 100.0) / totalQuestions;
+    }
+}
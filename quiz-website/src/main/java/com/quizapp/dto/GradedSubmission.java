@@ -0,0 +1,16 @@
+package com.quizapp.dto;
+
+import com.quizapp.model.Answer;
+import com.quizapp.model.QuizAttempt;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// A graded answer sheet that has not been written yet; the attempt is a detached copy already marked complete
+@Getter
+@AllArgsConstructor
+public class GradedSubmission {
+    private final QuizAttempt attempt;
+    private final List<Answer> answers;
+}
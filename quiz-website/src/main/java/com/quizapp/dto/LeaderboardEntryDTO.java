@@ -0,0 +1,64 @@
+package com.quizapp.dto;
+
+import com.quizapp.model.QuizAttempt;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// One ranked attempt; "id" is the attempt id so it matches the old QuizAttempt JSON
+public class LeaderboardEntryDTO {
+    private final Long id;
+    private final Long quizId;
+    private final Long userId;
+    private final String username;
+    private final Integer score;
+    private final Integer totalQuestions;
+    private final Double percentage;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Long timeTakenMinutes;
+
+    public LeaderboardEntryDTO(Long id, Long quizId, Long userId, String username, Integer score, Integer totalQuestions,
+                               Double percentage, LocalDateTime startTime, LocalDateTime endTime, Long timeTakenMinutes) {
+        this.id = id;
+        this.quizId = quizId;
+        this.userId = userId;
+        this.username = username;
+        this.score = score;
+        this.totalQuestions = totalQuestions;
+        this.percentage = percentage;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.timeTakenMinutes = timeTakenMinutes;
+    }
+
+    public LeaderboardEntryDTO(QuizAttempt attempt) {
+        this(attempt.getId(),
+                attempt.getQuiz().getId(),
+                attempt.getUser() != null ? attempt.getUser().getId() : null,
+                attempt.getUsername(),
+                attempt.getScore(),
+                attempt.getTotalQuestions(),
+                attempt.getPercentage(),
+                attempt.getStartTime(),
+                attempt.getEndTime(),
+                attempt.getTimeTakenMinutes());
+    }
+
+    public Long getId() { return id; }
+    public Long getQuizId() { return quizId; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public Integer getScore() { return score; }
+    public Integer getTotalQuestions() { return totalQuestions; }
+    public Double getPercentage() { return percentage; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public Long getTimeTakenMinutes() { return timeTakenMinutes; }
+
+    // Elapsed time used as the tie-breaker after score; unknown durations rank last
+    public long getElapsedMillis() {
+        if (startTime == null || endTime == null) return Long.MAX_VALUE;
+        return Duration.between(startTime, endTime).toMillis();
+    }
+}
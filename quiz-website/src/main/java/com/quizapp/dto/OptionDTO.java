@@ -0,0 +1,15 @@
+package com.quizapp.dto;
+
+import com.quizapp.model.Option;
+
+public class OptionDTO {
+    public final Long id;
+    public final String text;
+    public final boolean isCorrect;
+
+    public OptionDTO(Option option) {
+        this.id = option.getId();
+        this.text = option.getText();
+        this.isCorrect = option.getIsCorrect();
+    }
+}
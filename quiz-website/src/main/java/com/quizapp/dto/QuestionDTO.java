@@ -0,0 +1,34 @@
+package com.quizapp.dto;
+
+import com.quizapp.model.Question;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable question as sent to quiz takers; field names match the JSON the frontend reads
+public class QuestionDTO {
+    public final Long id;
+    public final String questionText;
+    public final String type;
+    public final String imageUrl;
+    public final Integer questionOrder;
+    public final List<OptionDTO> options;
+    public final List<String> correctAnswers;
+    public final Boolean orderMatters;
+
+    public QuestionDTO(Question question) {
+        this.id = question.getId();
+        this.questionText = question.getQuestionText();
+        this.type = question.getType() != null ? question.getType().name() : null;
+        this.imageUrl = question.getImageUrl();
+        this.questionOrder = question.getQuestionOrder();
+        this.options = question.getOptions() != null ?
+                question.getOptions().stream().map(OptionDTO::new).toList() :
+                List.of();
+        this.correctAnswers = question.getCorrectAnswers() != null ?
+                Collections.unmodifiableList(new ArrayList<>(question.getCorrectAnswers())) :
+                null;
+        this.orderMatters = question.getOrderMatters();
+    }
+}
@@ -0,0 +1,14 @@
+package com.quizapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// One page of the quiz catalogue; nextCursor is null on the last page
+@Getter
+@AllArgsConstructor
+public class QuizCataloguePage {
+    private final List<QuizSummaryDTO> quizzes;
+    private final String nextCursor;
+}
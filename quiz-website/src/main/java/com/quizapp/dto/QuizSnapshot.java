@@ -0,0 +1,34 @@
+package com.quizapp.dto;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// A quiz's questions frozen at one version, with the question list already serialized to JSON
+public class QuizSnapshot {
+    private final Long quizId;
+    private final long version;
+    private final List<QuestionDTO> questions;
+    private final byte[] questionsJson;
+    private final RawValue questionsRawJson;
+
+    public QuizSnapshot(Long quizId, long version, List<QuestionDTO> questions, byte[] questionsJson) {
+        this.quizId = quizId;
+        this.version = version;
+        this.questions = List.copyOf(questions);
+        this.questionsJson = questionsJson;
+        this.questionsRawJson = new RawValue(new String(questionsJson, StandardCharsets.UTF_8));
+    }
+
+    public Long getQuizId() { return quizId; }
+    public long getVersion() { return version; }
+    public List<QuestionDTO> getQuestions() { return questions; }
+    public int getQuestionCount() { return questions.size(); }
+
+    // Shared array; callers write it out and must not modify it
+    public byte[] getQuestionsJson() { return questionsJson; }
+
+    // For embedding the question list in a larger response without serializing it again
+    public RawValue getQuestionsRawJson() { return questionsRawJson; }
+}
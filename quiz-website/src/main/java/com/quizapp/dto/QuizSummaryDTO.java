@@ -0,0 +1,27 @@
+package com.quizapp.dto;
+
+import java.time.LocalDateTime;
+
+// One catalogue row, projected straight from the query without loading Quiz or User entities
+public class QuizSummaryDTO {
+    public final Long id;
+    public final String title;
+    public final String description;
+    public final String createdBy;
+    public final LocalDateTime createdAt;
+    public final boolean practiceMode;
+    public final long attemptCount;
+    public final double averagePercentage;
+
+    public QuizSummaryDTO(Long id, String title, String description, String createdBy, LocalDateTime createdAt,
+                          Boolean practiceMode, Long attemptCount, Double averagePercentage) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+        this.practiceMode = Boolean.TRUE.equals(practiceMode);
+        this.attemptCount = attemptCount != null ? attemptCount : 0L;
+        this.averagePercentage = averagePercentage != null ? averagePercentage : 0.0;
+    }
+}
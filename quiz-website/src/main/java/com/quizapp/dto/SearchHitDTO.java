@@ -0,0 +1,16 @@
+package com.quizapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One search result; quiz hits carry title, description and creator, user hits only the username
+@Getter
+@AllArgsConstructor
+public class SearchHitDTO {
+    private final String type;
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String username;
+    private final int score;
+}
@@ -0,0 +1,14 @@
+package com.quizapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// One page of ranked hits plus the total number of matches
+@Getter
+@AllArgsConstructor
+public class SearchResults {
+    private final int total;
+    private final List<SearchHitDTO> hits;
+}
@@ -0,0 +1,28 @@
+package com.quizapp.dto;
+
+// One ranked quiz; "quiz" keeps the shape the popular list already reads (item.quiz.id, item.quiz.title)
+public class TrendingQuizDTO {
+    public final QuizRef quiz;
+    public final long attemptCount;
+    public final double score;
+
+    public TrendingQuizDTO(QuizRef quiz, long attemptCount, double score) {
+        this.quiz = quiz;
+        this.attemptCount = attemptCount;
+        this.score = score;
+    }
+
+    public static class QuizRef {
+        public final Long id;
+        public final String title;
+        public final String description;
+        public final String createdBy;
+
+        public QuizRef(Long id, String title, String description, String createdBy) {
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.createdBy = createdBy;
+        }
+    }
+}
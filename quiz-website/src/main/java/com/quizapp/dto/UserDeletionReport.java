@@ -0,0 +1,39 @@
+package com.quizapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// Rows removed (or detached) when an admin deletes a user
+@Getter
+@Setter
+public class UserDeletionReport {
+    private Long userId;
+    private String username;
+    private int answers;
+    private int quizAttempts;
+    private int personalBests;
+    private int challenges;
+    private int friendRequests;
+    private int friendships;
+    private int messages;
+    private int conversations;
+    private int achievements;
+    private int quizzesDetached;
+    private int users;
+
+    // Quizzes whose derived statistics need a rebuild once the deletion has committed
+    @JsonIgnore
+    private List<Long> affectedQuizIds = List.of();
+
+    // Users whose unseen-challenge counts included a challenge from the deleted user
+    @JsonIgnore
+    private List<String> challengeRecipients = List.of();
+
+    public int getTotal() {
+        return answers + quizAttempts + personalBests + challenges + friendRequests + friendships + messages
+                + conversations + achievements + quizzesDetached + users;
+    }
+}
@@ -0,0 +1,34 @@
+package com.quizapp.event;
+
+import java.util.Map;
+
+// Published by the challenge, friend and message services for the recipient's notification stream
+public class NotificationEvent {
+
+    public static final String CHALLENGE_RECEIVED = "challenge";
+    public static final String FRIEND_REQUEST_RECEIVED = "friend-request";
+    public static final String FRIEND_REQUEST_ACCEPTED = "friend-accepted";
+    public static final String MESSAGE_RECEIVED = "message";
+
+    private final String recipient;
+    private final String type;
+    private final Map<String, Object> data;
+
+    public NotificationEvent(String recipient, String type, Map<String, Object> data) {
+        this.recipient = recipient;
+        this.type = type;
+        this.data = data;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+}
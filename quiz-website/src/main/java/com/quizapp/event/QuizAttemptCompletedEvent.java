@@ -0,0 +1,21 @@
+package com.quizapp.event;
+
+import com.quizapp.model.QuizAttempt;
+
+// Published by QuizTakingService once a submitted attempt has been graded and saved
+public class QuizAttemptCompletedEvent {
+
+    private final QuizAttempt attempt;
+
+    public QuizAttemptCompletedEvent(QuizAttempt attempt) {
+        this.attempt = attempt;
+    }
+
+    public QuizAttempt getAttempt() {
+        return attempt;
+    }
+
+    public boolean isPracticeMode() {
+        return Boolean.TRUE.equals(attempt.getIsPracticeMode());
+    }
+}
@@ -0,0 +1,21 @@
+package com.quizapp.event;
+
+import com.quizapp.model.Quiz;
+
+// Published by QuizService after a new quiz has been saved
+public class QuizCreatedEvent {
+
+    private final Quiz quiz;
+
+    public QuizCreatedEvent(Quiz quiz) {
+        this.quiz = quiz;
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public Long getCreatorId() {
+        return quiz.getCreatedBy() != null ? quiz.getCreatedBy().getId() : null;
+    }
+}
@@ -0,0 +1,199 @@
+package com.quizapp.model;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Immutable, pre-normalized answer key for one question.
+// Built once from the entity. Grading compares the trimmed region of the user's answer against the normalized
+// keys in place (case-folded hash first, then regionMatches), so checking an answer allocates nothing.
+public final class AnswerKey {
+
+    private final Long questionId;
+    private final Long quizId;
+    private final boolean multipleChoice;
+    private final boolean orderMatters;
+    private final String correctOptionText;
+    private final Set<String> acceptedAnswers;
+    private final String[] orderedAnswers;
+    private final Set<String> unorderedAnswers;
+    // Array copies of the sets above with case-folded hashes, for allocation-free matching
+    private final String[] accepted;
+    private final int[] acceptedHashes;
+    private final int[] orderedHashes;
+    private final String[] distinctUnordered;
+    private final int[] distinctUnorderedHashes;
+
+    private AnswerKey(Long questionId, Long quizId, boolean multipleChoice, boolean orderMatters,
+                      String correctOptionText, Set<String> acceptedAnswers,
+                      String[] orderedAnswers, Set<String> unorderedAnswers) {
+        this.questionId = questionId;
+        this.quizId = quizId;
+        this.multipleChoice = multipleChoice;
+        this.orderMatters = orderMatters;
+        this.correctOptionText = correctOptionText;
+        this.acceptedAnswers = acceptedAnswers;
+        this.orderedAnswers = orderedAnswers;
+        this.unorderedAnswers = unorderedAnswers;
+        this.accepted = acceptedAnswers.toArray(new String[0]);
+        this.acceptedHashes = foldHashes(accepted);
+        this.orderedHashes = orderedAnswers == null ? null : foldHashes(orderedAnswers);
+        this.distinctUnordered = unorderedAnswers == null ? null : unorderedAnswers.toArray(new String[0]);
+        this.distinctUnorderedHashes = distinctUnordered == null ? null : foldHashes(distinctUnordered);
+    }
+
+    public static AnswerKey compile(Question question) {
+        boolean multipleChoice = question.getType() == Question.QuestionType.MULTIPLE_CHOICE;
+
+        String correctOptionText = null;
+        Set<String> correctOptions = new HashSet<>();
+        if (question.getOptions() != null) {
+            for (Option option : question.getOptions()) {
+                if (option.getIsCorrect() && option.getText() != null) {
+                    if (correctOptionText == null) correctOptionText = option.getText();
+                    correctOptions.add(normalize(option.getText()));
+                }
+            }
+        }
+
+        // Single answers skip null entries; multi-answer comparison treats them as blanks
+        List<String> correctAnswers = question.getCorrectAnswers();
+        Set<String> accepted = new HashSet<>();
+        String[] ordered = null;
+        Set<String> unordered = null;
+        if (correctAnswers != null) {
+            ordered = new String[correctAnswers.size()];
+            unordered = new HashSet<>();
+            for (int i = 0; i < correctAnswers.size(); i++) {
+                String answer = correctAnswers.get(i);
+                ordered[i] = answer == null ? "" : normalize(answer);
+                unordered.add(ordered[i]);
+                if (answer != null) accepted.add(ordered[i]);
+            }
+            unordered = Collections.unmodifiableSet(unordered);
+        }
+
+        return new AnswerKey(
+                question.getId(),
+                question.getQuiz() != null ? question.getQuiz().getId() : null,
+                multipleChoice,
+                Boolean.TRUE.equals(question.getOrderMatters()),
+                correctOptionText,
+                Collections.unmodifiableSet(multipleChoice ? correctOptions : accepted),
+                ordered,
+                unordered
+        );
+    }
+
+    public static String normalize(String answer) {
+        return answer.trim().toLowerCase();
+    }
+
+    public boolean isAnswerCorrect(String userAnswer) {
+        if (userAnswer == null) return false;
+        return indexOf(accepted, acceptedHashes, userAnswer) >= 0;
+    }
+
+    public boolean areAnswersCorrect(List<String> userAnswers) {
+        if (orderedAnswers == null || userAnswers == null) {
+            return false;
+        }
+        if (userAnswers.size() != orderedAnswers.length) {
+            return false;
+        }
+        if (orderMatters) {
+            for (int i = 0; i < orderedAnswers.length; i++) {
+                if (!matches(orderedAnswers[i], orderedHashes[i], blankIfNull(userAnswers.get(i)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // Every user answer must hit a key and every distinct key must be hit; a bit per key replaces the set
+        int keys = distinctUnordered.length;
+        BitSet seen = keys > Long.SIZE ? new BitSet(keys) : null;
+        long seenMask = 0L;
+        for (String answer : userAnswers) {
+            int index = indexOf(distinctUnordered, distinctUnorderedHashes, blankIfNull(answer));
+            if (index < 0) {
+                return false;
+            }
+            if (seen != null) seen.set(index); else seenMask |= 1L << index;
+        }
+        return (seen != null ? seen.cardinality() : Long.bitCount(seenMask)) == keys;
+    }
+
+    // Blank in the String.trim() sense, without the copy
+    public static boolean isBlank(String answer) {
+        return answer == null || trimStart(answer) == answer.length();
+    }
+
+    private static String blankIfNull(String answer) {
+        return answer == null ? "" : answer;
+    }
+
+    // Position of the key equal to the trimmed, case-insensitive user answer, or -1
+    private static int indexOf(String[] keys, int[] hashes, String userAnswer) {
+        int start = trimStart(userAnswer);
+        int end = trimEnd(userAnswer, start);
+        int hash = foldHash(userAnswer, start, end);
+        for (int i = 0; i < keys.length; i++) {
+            if (hashes[i] == hash && regionEquals(keys[i], userAnswer, start, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(String key, int keyHash, String userAnswer) {
+        int start = trimStart(userAnswer);
+        int end = trimEnd(userAnswer, start);
+        return keyHash == foldHash(userAnswer, start, end) && regionEquals(key, userAnswer, start, end);
+    }
+
+    private static boolean regionEquals(String key, String userAnswer, int start, int end) {
+        return key.length() == end - start && key.regionMatches(true, 0, userAnswer, start, end - start);
+    }
+
+    // Same bounds as String.trim()
+    private static int trimStart(String s) {
+        int start = 0;
+        while (start < s.length() && s.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private static int trimEnd(String s, int start) {
+        int end = s.length();
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    // Consistent with regionMatches(ignoreCase): characters it treats as equal fold to the same value
+    private static int foldHash(String s, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+        }
+        return hash;
+    }
+
+    private static int[] foldHashes(String[] keys) {
+        int[] hashes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = foldHash(keys[i], 0, keys[i].length());
+        }
+        return hashes;
+    }
+
+    public Long getQuestionId() { return questionId; }
+    public Long getQuizId() { return quizId; }
+    public boolean isMultipleChoice() { return multipleChoice; }
+    public String getCorrectOptionText() { return correctOptionText; }
+    public Set<String> getAcceptedAnswers() { return acceptedAnswers; }
+
+    public List<String> getOrderedAnswers() {
+        return orderedAnswers == null ? List.of() : List.of(orderedAnswers);
+    }
+}
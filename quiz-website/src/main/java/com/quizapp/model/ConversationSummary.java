@@ -0,0 +1,51 @@
+package com.quizapp.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Latest message per (receiver, sender) pair; the inbox pages over these rows instead of the message table
+@Entity
+@Table(name = "conversation_summaries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"receiver_username", "sender_username"}),
+        indexes = @Index(name = "idx_conversation_receiver_last", columnList = "receiver_username, last_timestamp, last_message_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ConversationSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "receiver_username", nullable = false)
+    private String receiverUsername;
+
+    @Column(name = "sender_username", nullable = false)
+    private String senderUsername;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private LocalDateTime lastTimestamp;
+
+    public ConversationSummary(Message message) {
+        this.receiverUsername = message.getReceiverUsername();
+        this.senderUsername = message.getSenderUsername();
+        this.lastMessageId = message.getId();
+        this.lastTimestamp = message.getTimestamp();
+    }
+
+    // Keeps whichever message is newer, ordered by (timestamp, id)
+    public void advanceTo(Message message) {
+        int cmp = message.getTimestamp().compareTo(lastTimestamp);
+        if (cmp > 0 || (cmp == 0 && message.getId() > lastMessageId)) {
+            lastMessageId = message.getId();
+            lastTimestamp = message.getTimestamp();
+        }
+    }
+}
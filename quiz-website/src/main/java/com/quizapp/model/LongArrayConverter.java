@@ -0,0 +1,24 @@
+package com.quizapp.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Stores small fixed-size counters (e.g. histograms) as a comma separated column
+@Converter
+public class LongArrayConverter implements AttributeConverter<long[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(long[] values) {
+        if (values == null) return null;
+        return Arrays.stream(values).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public long[] convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) return null;
+        return Arrays.stream(column.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+}
@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "message", indexes = {
+        @Index(name = "idx_message_receiver_time", columnList = "receiver_username, timestamp, id"),
+        @Index(name = "idx_message_pair_time", columnList = "sender_username, receiver_username, timestamp, id")
+})
 public class Message {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "sender_username", nullable = false)
     private String senderUsername;
 
-    @Column(nullable = false)
+    @Column(name = "receiver_username", nullable = false)
     private String receiverUsername;
 
     @Column(nullable = false, length = 1000)
@@ -0,0 +1,94 @@
+package com.quizapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// A user's best completed, non-practice attempt on a quiz, plus how many such attempts they made.
+// "Best" is the leaderboard order: higher score first, then shorter time.
+@Entity
+@Table(name = "personal_bests", indexes = @Index(name = "idx_personal_bests_quiz", columnList = "quiz_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PersonalBest implements Persistable<PersonalBest.Key> {
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Column(name = "user_id")
+        private Long userId;
+
+        @Column(name = "quiz_id")
+        private Long quizId;
+    }
+
+    @EmbeddedId
+    private Key id;
+
+    private Integer bestScore;
+    private Double bestPercentage;
+    private Long bestTimeMinutes;
+    private Long bestAttemptId;
+    private LocalDateTime achievedAt;
+    private long attemptCount;
+    private LocalDateTime updatedAt;
+
+    // Rows built in memory by the backfill are new, so saveAll() persists them without the
+    // SELECT that merge() would otherwise issue for every assigned key
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public PersonalBest(Long userId, Long quizId) {
+        this.id = new Key(userId, quizId);
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    // Counts the attempt and keeps it if it beats the current best; true when it did
+    public boolean record(Long attemptId, Integer score, Double percentage, Long timeMinutes, LocalDateTime endTime) {
+        attemptCount++;
+        updatedAt = LocalDateTime.now();
+        if (!beats(score, timeMinutes)) return false;
+        bestScore = score;
+        bestPercentage = percentage;
+        bestTimeMinutes = timeMinutes;
+        bestAttemptId = attemptId;
+        achievedAt = endTime;
+        return true;
+    }
+
+    private boolean beats(Integer score, Long timeMinutes) {
+        if (bestAttemptId == null) return true;
+        int candidate = score != null ? score : 0;
+        int current = bestScore != null ? bestScore : 0;
+        if (candidate != current) return candidate > current;
+        // Missing times rank last
+        if (timeMinutes == null) return false;
+        return bestTimeMinutes == null || timeMinutes < bestTimeMinutes;
+    }
+}
@@ -2,12 +2,12 @@ package com.quizapp.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "questions")
@@ -46,6 +46,12 @@ public class Question {
     @JsonIgnore
     private Quiz quiz;
 
+    // Compiled on first grading, dropped whenever the answer data changes
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AnswerKey answerKey;
+
     public enum QuestionType {
         QUESTION_RESPONSE, FILL_IN_THE_BLANK, MULTIPLE_CHOICE, PICTURE_RESPONSE
     }
@@ -81,40 +87,41 @@ public class Question {
         }
     }
 
-    public boolean isAnswerCorrect(String userAnswer) {
-        if (type == QuestionType.MULTIPLE_CHOICE) {
-            return options.stream()
-                    .filter(Option::getIsCorrect)
-                    .map(Option::getText)
-                    .anyMatch(ans -> ans.trim().toLowerCase().equals(userAnswer.trim().toLowerCase()));
+    public void setType(QuestionType type) {
+        this.type = type;
+        this.answerKey = null;
+    }
+
+    public void setOptions(List<Option> options) {
+        this.options = options;
+        this.answerKey = null;
+    }
+
+    public void setCorrectAnswers(List<String> correctAnswers) {
+        this.correctAnswers = correctAnswers;
+        this.answerKey = null;
+    }
+
+    public void setOrderMatters(Boolean orderMatters) {
+        this.orderMatters = orderMatters;
+        this.answerKey = null;
+    }
+
+    @JsonIgnore
+    public AnswerKey getAnswerKey() {
+        AnswerKey key = answerKey;
+        if (key == null) {
+            key = AnswerKey.compile(this);
+            answerKey = key;
         }
-        if (correctAnswers == null || correctAnswers.isEmpty()) return false;
-        String normalized = userAnswer.trim().toLowerCase();
-        return correctAnswers.stream()
-                .map(ans -> ans.trim().toLowerCase())
-                .anyMatch(ans -> ans.equals(normalized));
+        return key;
+    }
+
+    public boolean isAnswerCorrect(String userAnswer) {
+        return getAnswerKey().isAnswerCorrect(userAnswer);
     }
 
     public boolean areAnswersCorrect(List<String> userAnswers) {
-        if (correctAnswers == null || userAnswers == null) {
-            return false;
-        }
-        if (userAnswers.size() != correctAnswers.size()) {
-            return false;
-        }
-        if (Boolean.TRUE.equals(orderMatters)) {
-            for (int i = 0; i < userAnswers.size(); i++) {
-                String userAns = userAnswers.get(i) == null ? "" : userAnswers.get(i).trim().toLowerCase();
-                String correctAns = correctAnswers.get(i) == null ? "" : correctAnswers.get(i).trim().toLowerCase();
-                if (!userAns.equals(correctAns)) {
-                    return false;
-                }
-            }
-            return true;
-        } else {
-            List<String> normalizedUser = userAnswers.stream().map(a -> a == null ? "" : a.trim().toLowerCase()).collect(Collectors.toList());
-            List<String> normalizedCorrect = correctAnswers.stream().map(a -> a == null ? "" : a.trim().toLowerCase()).collect(Collectors.toList());
-            return normalizedUser.containsAll(normalizedCorrect) && normalizedCorrect.containsAll(normalizedUser);
-        }
+        return getAnswerKey().areAnswersCorrect(userAnswers);
     }
 }
\ No newline at end of file
@@ -139,8 +139,12 @@ public class QuizAttempt {
     }
 
     public void completeAttempt(Integer score) {
+        completeAttempt(score, LocalDateTime.now());
+    }
+
+    public void completeAttempt(Integer score, LocalDateTime endTime) {
         this.score = score;
-        this.endTime = LocalDateTime.now();
+        this.endTime = endTime;
         this.isCompleted = true;
         this.percentage = (double) score / totalQuestions * 100;
 
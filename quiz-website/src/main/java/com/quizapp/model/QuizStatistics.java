@@ -0,0 +1,79 @@
+package com.quizapp.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Running aggregate over a quiz's completed, non-practice attempts
+@Entity
+@Table(name = "quiz_statistics")
+@Getter
+@Setter
+@NoArgsConstructor
+public class QuizStatistics {
+
+    // 0-9%, 10-19%, ..., 90-99%, 100%
+    public static final int HISTOGRAM_BUCKETS = 11;
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    private long attemptCount;
+    private double percentageSum;
+    private double percentageSumOfSquares;
+    private long timeTakenSum;
+    private Integer maxScore;
+
+    // Stored rather than derived in queries, so the catalogue can page on it with an exact keyset
+    private double averagePercentage;
+
+    @Convert(converter = LongArrayConverter.class)
+    @Column(length = 512)
+    private long[] scoreHistogram = new long[HISTOGRAM_BUCKETS];
+
+    private LocalDateTime updatedAt;
+
+    public QuizStatistics(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public static int histogramBucket(double percentage) {
+        if (!(percentage > 0)) return 0;
+        return (int) Math.min(HISTOGRAM_BUCKETS - 1, Math.floor(percentage / 10));
+    }
+
+    public void record(QuizAttempt attempt) {
+        double percentage = attempt.getPercentage() != null ? attempt.getPercentage() : 0.0;
+        attemptCount++;
+        percentageSum += percentage;
+        percentageSumOfSquares += percentage * percentage;
+        timeTakenSum += attempt.getTimeTakenMinutes() != null ? attempt.getTimeTakenMinutes() : 0;
+        if (attempt.getScore() != null && (maxScore == null || attempt.getScore() > maxScore)) {
+            maxScore = attempt.getScore();
+        }
+        // Replace rather than mutate so the converted column is seen as dirty
+        long[] histogram = scoreHistogram != null ? scoreHistogram.clone() : new long[HISTOGRAM_BUCKETS];
+        histogram[histogramBucket(percentage)]++;
+        scoreHistogram = histogram;
+        updateAverage();
+        updatedAt = LocalDateTime.now();
+    }
+
+    public void updateAverage() {
+        averagePercentage = attemptCount == 0 ? 0.0 : percentageSum / attemptCount;
+    }
+
+    public double getAverageTime() {
+        return attemptCount == 0 ? 0.0 : (double) timeTakenSum / attemptCount;
+    }
+
+    public double getPercentageStdDev() {
+        if (attemptCount == 0) return 0.0;
+        double mean = getAveragePercentage();
+        return Math.sqrt(Math.max(0.0, percentageSumOfSquares / attemptCount - mean * mean));
+    }
+}
@@ -0,0 +1,49 @@
+package com.quizapp.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Re-checks stored answers for questions whose answer key changed. lastAnswerId is the resume point:
+// every answer at or below it has already been regraded and its attempt rescored.
+@Entity
+@Table(name = "regrade_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RegradeJob {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = LongArrayConverter.class)
+    @Column(length = 2048)
+    private long[] questionIds;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    private long lastAnswerId;
+    private long answersTotal;
+    private long answersScanned;
+    private long answersChanged;
+    private long attemptsRescored;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    public RegradeJob(long[] questionIds) {
+        this.questionIds = questionIds;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -28,6 +29,9 @@ public class User {
     @Column(nullable = false)
     private String role = "ROLE_USER";
 
+    // Null for accounts created before signup dates were recorded
+    private LocalDateTime createdAt;
+
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "friendships",
@@ -37,4 +41,10 @@ public class User {
     @JsonIgnore
     private Set<User> friends = new HashSet<>();
 
-}
\ No newline at end of file
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.quizapp.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// An achievement a user has earned; rows are only ever added, never re-evaluated
+@Entity
+@Table(name = "user_achievements",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "achievement_key"}),
+        indexes = @Index(name = "idx_user_achievements_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserAchievement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "achievement_key", nullable = false, length = 64)
+    private String achievementKey;
+
+    private LocalDateTime earnedAt;
+
+    public UserAchievement(Long userId, String achievementKey) {
+        this.userId = userId;
+        this.achievementKey = achievementKey;
+        this.earnedAt = LocalDateTime.now();
+    }
+}
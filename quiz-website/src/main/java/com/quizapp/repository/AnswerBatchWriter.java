@@ -0,0 +1,52 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.Answer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Answers use IDENTITY ids, which turns off Hibernate batching, so a whole answer sheet goes out as one JDBC batch
+@Repository
+@RequiredArgsConstructor
+public class AnswerBatchWriter {
+    private static final String INSERT_SQL = "INSERT INTO answers (user_id, quiz_attempt_id, question_id, user_answer, " +
+            "is_correct, question_number) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_CORRECT_SQL = "UPDATE answers SET is_correct = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Rows are written outside the persistence context, so the passed entities keep a null id
+    public int insertAll(List<Answer> answers) {
+        if (answers.isEmpty()) return 0;
+        List<Object[]> rows = new ArrayList<>(answers.size());
+        for (Answer answer : answers) {
+            rows.add(new Object[]{
+                    answer.getUser().getId(),
+                    answer.getQuizAttempt().getId(),
+                    answer.getQuestion().getId(),
+                    answer.getUserAnswer(),
+                    answer.getIsCorrect(),
+                    answer.getQuestionNumber()
+            });
+        }
+        int written = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_SQL, rows)) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+            written += count < 0 ? 1 : count;
+        }
+        return written;
+    }
+
+    // Rewrites is_correct for regraded answers, answer id -> new flag
+    public void updateCorrectness(Map<Long, Boolean> correctById) {
+        if (correctById.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(correctById.size());
+        correctById.forEach((id, correct) -> rows.add(new Object[]{correct, id}));
+        jdbcTemplate.batchUpdate(UPDATE_CORRECT_SQL, rows);
+    }
+}
@@ -2,10 +2,12 @@ package com.quizapp.repository;
 
 import com.quizapp.model.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,4 +26,25 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     List<Answer> findByQuizAttemptIdAndIsCorrectTrue(Long quizAttemptId);
 
     // Find answers by user and quiz
+
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.quizAttempt.id = :attemptId")
+    int deleteByQuizAttemptId(@Param("attemptId") Long attemptId);
+
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.quizAttempt.id IN :attemptIds")
+    int deleteByQuizAttemptIdIn(@Param("attemptIds") Collection<Long> attemptIds);
+
+    // Answers given by the user or recorded on the user's attempts
+    @Modifying
+    @Query("DELETE FROM Answer a WHERE a.user.id = :userId OR a.quizAttempt.id IN (SELECT qa.id FROM QuizAttempt qa WHERE qa.user.id = :userId)")
+    int deleteAllForUser(@Param("userId") Long userId);
+
+    // Regrade rows for the given questions, keyset-paged by answer id: id, questionId, attemptId, userAnswer, isCorrect
+    @Query("SELECT a.id, a.question.id, a.quizAttempt.id, a.userAnswer, a.isCorrect FROM Answer a " +
+            "WHERE a.question.id IN :questionIds AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findRegradeRows(@Param("questionIds") Collection<Long> questionIds, @Param("afterId") long afterId,
+                                   org.springframework.data.domain.Pageable page);
+
+    long countByQuestionIdIn(Collection<Long> questionIds);
 }
\ No newline at end of file
@@ -3,12 +3,16 @@ package com.quizapp.repository;
 import com.quizapp.model.Challenge;
 import com.quizapp.model.User;
 import com.quizapp.model.Quiz;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
@@ -20,5 +24,37 @@ public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
     @Query("SELECT c FROM Challenge c WHERE c.challenged = :user AND c.seen = false")
     List<Challenge> findUnseenChallengesForUser(@Param("user") User user);
 
+    @Query("SELECT COUNT(c) FROM Challenge c WHERE c.challenged.username = :username AND c.seen = false")
+    long countUnseenByUsername(@Param("username") String username);
+
+    // [challengeId, challengerUsername, quizId, quizTitle, createdAt], newest first
+    @Query("SELECT c.id, c.challenger.username, c.quiz.id, c.quiz.title, c.createdAt FROM Challenge c " +
+           "WHERE c.challenged.username = :username AND c.seen = false ORDER BY c.createdAt DESC, c.id DESC")
+    List<Object[]> findRecentUnseenRows(@Param("username") String username, Pageable pageable);
+
+    // [username, unseenCount] for the given users that have anything unseen
+    @Query("SELECT c.challenged.username, COUNT(c) FROM Challenge c " +
+           "WHERE c.seen = false AND c.challenged.username IN :usernames GROUP BY c.challenged.username")
+    List<Object[]> countUnseenByUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT DISTINCT c.challenged.username FROM Challenge c WHERE c.challenger.id = :userId")
+    List<String> findChallengedUsernamesByChallengerId(@Param("userId") Long userId);
+
+    @Query("SELECT c.challenged.username FROM Challenge c WHERE c.id = :id")
+    Optional<String> findChallengedUsernameById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Challenge c SET c.seen = true WHERE c.id = :id AND c.seen = false")
+    int markSeen(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Challenge c SET c.seen = true WHERE c.seen = false AND c.challenged.id = " +
+           "(SELECT u.id FROM User u WHERE u.username = :username)")
+    int markAllSeen(@Param("username") String username);
+
     boolean existsByChallengerAndChallengedAndQuiz(User challenger, User challenged, Quiz quiz);
+
+    @Modifying
+    @Query("DELETE FROM Challenge c WHERE c.challenger.id = :userId OR c.challenged.id = :userId")
+    int deleteAllInvolving(@Param("userId") Long userId);
 }
\ No newline at end of file
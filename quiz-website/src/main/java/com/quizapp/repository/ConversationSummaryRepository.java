@@ -0,0 +1,55 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.ConversationSummary;
+import com.quizapp.model.Message;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+    // Row lock so two messages on the same conversation advance it one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConversationSummary c WHERE c.receiverUsername = :receiverUsername AND c.senderUsername = :senderUsername")
+    Optional<ConversationSummary> findForUpdate(@Param("receiverUsername") String receiverUsername,
+                                                @Param("senderUsername") String senderUsername);
+
+    // Creates the conversation row from its first message unless it exists, so the locking read always has a row
+    @Modifying
+    @Query(value = "INSERT INTO conversation_summaries (receiver_username, sender_username, last_message_id, last_timestamp) " +
+            "VALUES (:receiverUsername, :senderUsername, :messageId, :timestamp) " +
+            "ON DUPLICATE KEY UPDATE receiver_username = receiver_username",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("receiverUsername") String receiverUsername,
+                       @Param("senderUsername") String senderUsername,
+                       @Param("messageId") Long messageId,
+                       @Param("timestamp") LocalDateTime timestamp);
+
+    // Latest message of each conversation, newest first
+    @Query("SELECT m FROM ConversationSummary c, Message m WHERE c.receiverUsername = :receiverUsername AND m.id = c.lastMessageId " +
+            "ORDER BY c.lastTimestamp DESC, c.lastMessageId DESC")
+    List<Message> findInbox(@Param("receiverUsername") String receiverUsername, Pageable pageable);
+
+    // Next inbox page after the (timestamp, id) of the last conversation already shown
+    @Query("SELECT m FROM ConversationSummary c, Message m WHERE c.receiverUsername = :receiverUsername AND m.id = c.lastMessageId " +
+            "AND (c.lastTimestamp < :beforeTimestamp OR (c.lastTimestamp = :beforeTimestamp AND c.lastMessageId < :beforeId)) " +
+            "ORDER BY c.lastTimestamp DESC, c.lastMessageId DESC")
+    List<Message> findInboxBefore(@Param("receiverUsername") String receiverUsername,
+                                  @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                  @Param("beforeId") Long beforeId,
+                                  Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ConversationSummary c WHERE c.receiverUsername = :username OR c.senderUsername = :username")
+    int deleteByParticipant(@Param("username") String username);
+}
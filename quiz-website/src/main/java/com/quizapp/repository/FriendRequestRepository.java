@@ -3,6 +3,7 @@ package com.quizapp.repository;
 import com.quizapp.model.FriendRequest;
 import com.quizapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,19 @@ public interface FriendRequestRepository extends JpaRepository<FriendRequest, Lo
     @Query("SELECT fr FROM FriendRequest fr WHERE (fr.requester = :user OR fr.addressee = :user) AND fr.status = :status")
     List<FriendRequest> findAcceptedFriendships(@Param("user") User user, @Param("status") FriendRequest.Status status);
 
+    // Friends of a user as (id, username) rows, whichever side sent the request
+    @Query("SELECT u.id, u.username FROM FriendRequest fr, User u WHERE fr.status = :status AND " +
+            "((fr.requester.id = :userId AND u.id = fr.addressee.id) OR (fr.addressee.id = :userId AND u.id = fr.requester.id))")
+    List<Object[]> findFriendIdsAndUsernames(@Param("userId") Long userId, @Param("status") FriendRequest.Status status);
+
+    // Every request as (requesterId, addresseeId, status), for loading the friendship graph
+    @Query("SELECT fr.requester.id, fr.addressee.id, fr.status FROM FriendRequest fr")
+    List<Object[]> findAllEdges();
+
+    @Modifying
+    @Query("DELETE FROM FriendRequest fr WHERE fr.requester.id = :userId OR fr.addressee.id = :userId")
+    int deleteAllInvolving(@Param("userId") Long userId);
+
     Optional<FriendRequest> findByRequesterAndAddressee(User requester, User addressee);
     List<FriendRequest> findByAddressee(User addressee);
     List<FriendRequest> findByRequester(User requester);
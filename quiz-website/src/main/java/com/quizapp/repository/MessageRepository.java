@@ -1,16 +1,41 @@
 package com.quizapp.repository;
 
 import com.quizapp.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    // Find the latest message from each sender to the given receiver
-    @Query("SELECT m FROM Message m WHERE m.receiverUsername = :receiverUsername AND m.timestamp = (SELECT MAX(m2.timestamp) FROM Message m2 WHERE m2.senderUsername = m.senderUsername AND m2.receiverUsername = :receiverUsername)")
-    List<Message> findLatestMessagesForReceiver(@Param("receiverUsername") String receiverUsername);
-
     // Find all messages between two users (for future use)
     List<Message> findBySenderUsernameAndReceiverUsernameOrderByTimestampDesc(String senderUsername, String receiverUsername);
-}
\ No newline at end of file
+
+    // Messages in both directions between two users, newest first
+    @Query("SELECT m FROM Message m WHERE ((m.senderUsername = :user1 AND m.receiverUsername = :user2) OR (m.senderUsername = :user2 AND m.receiverUsername = :user1)) " +
+            "ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findThread(@Param("user1") String user1, @Param("user2") String user2, Pageable pageable);
+
+    // Next thread page after the (timestamp, id) of the oldest message already shown
+    @Query("SELECT m FROM Message m WHERE ((m.senderUsername = :user1 AND m.receiverUsername = :user2) OR (m.senderUsername = :user2 AND m.receiverUsername = :user1)) " +
+            "AND (m.timestamp < :beforeTimestamp OR (m.timestamp = :beforeTimestamp AND m.id < :beforeId)) " +
+            "ORDER BY m.timestamp DESC, m.id DESC")
+    List<Message> findThreadBefore(@Param("user1") String user1, @Param("user2") String user2,
+                                   @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                   @Param("beforeId") Long beforeId,
+                                   Pageable pageable);
+
+    // Newest message of every (receiver, sender) pair, used to seed conversation summaries
+    @Query("SELECT m FROM Message m WHERE m.id IN (SELECT MAX(m2.id) FROM Message m2 GROUP BY m2.receiverUsername, m2.senderUsername)")
+    List<Message> findLatestMessagePerConversation();
+
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.senderUsername = :username OR m.receiverUsername = :username")
+    int deleteAllInvolving(@Param("username") String username);
+
+    // Messages sent per day since the given time: date, count
+    @Query("SELECT CAST(m.timestamp AS LocalDate), COUNT(m.id) FROM Message m WHERE m.timestamp >= :since GROUP BY CAST(m.timestamp AS LocalDate)")
+    List<Object[]> countPerDaySince(@Param("since") LocalDateTime since);
+}
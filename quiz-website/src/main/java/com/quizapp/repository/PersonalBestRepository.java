@@ -0,0 +1,52 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.PersonalBest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PersonalBestRepository extends JpaRepository<PersonalBest, PersonalBest.Key> {
+
+    // Row lock so two submissions by the same user to the same quiz apply one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pb FROM PersonalBest pb WHERE pb.id = :id")
+    Optional<PersonalBest> findByIdForUpdate(@Param("id") PersonalBest.Key id);
+
+    // Creates the empty row unless it exists, so the locking read above always has a row to lock
+    @Modifying
+    @Query(value = "INSERT INTO personal_bests (user_id, quiz_id, attempt_count) VALUES (:userId, :quizId, 0) " +
+                   "ON DUPLICATE KEY UPDATE user_id = user_id",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("quizId") Long quizId);
+
+    // Primary-key read addressed by username; the users table is hit on its unique username index
+    @Query("SELECT pb.bestScore FROM PersonalBest pb, User u " +
+           "WHERE u.username = :username AND pb.id.userId = u.id AND pb.id.quizId = :quizId")
+    Optional<Integer> findBestScore(@Param("username") String username, @Param("quizId") Long quizId);
+
+    @Query("SELECT pb FROM PersonalBest pb, User u WHERE u.username = :username AND pb.id.userId = u.id " +
+           "ORDER BY pb.updatedAt DESC")
+    List<PersonalBest> findAllByUsername(@Param("username") String username);
+
+    // [username, personalBest] for several users on one quiz, e.g. a user and their friends
+    @Query("SELECT u.username, pb FROM PersonalBest pb, User u " +
+           "WHERE pb.id.quizId = :quizId AND pb.id.userId = u.id AND u.username IN :usernames")
+    List<Object[]> findByQuizIdAndUsernames(@Param("quizId") Long quizId, @Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @Query("DELETE FROM PersonalBest pb WHERE pb.id.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+
+    @Modifying
+    @Query("DELETE FROM PersonalBest pb WHERE pb.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
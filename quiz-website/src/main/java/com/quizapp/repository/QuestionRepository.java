@@ -2,12 +2,29 @@ package com.quizapp.repository;
 
 import com.quizapp.model.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizId(Long quizId);
 
-}
\ No newline at end of file
+    @Query("SELECT DISTINCT q.quiz.id FROM Question q WHERE q.id IN :ids AND q.quiz IS NOT NULL")
+    List<Long> findQuizIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Search index rows: quizId, questionId, questionText
+    @Query("SELECT q.quiz.id, q.id, q.questionText FROM Question q WHERE q.quiz IS NOT NULL")
+    List<Object[]> findSearchRows();
+
+    // Fetch plan steps: each initializes one collection for a whole set of questions.
+    // Two separate queries, since joining both bags at once would multiply the rows.
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.options WHERE q.id IN :ids")
+    List<Question> fetchOptions(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.correctAnswers WHERE q.id IN :ids")
+    List<Question> fetchCorrectAnswers(@Param("ids") Collection<Long> ids);
+}
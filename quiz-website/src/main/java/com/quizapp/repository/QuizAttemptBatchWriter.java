@@ -0,0 +1,74 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.QuizAttempt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+// Marks graded attempts complete in one JDBC batch
+@Repository
+@RequiredArgsConstructor
+public class QuizAttemptBatchWriter {
+    private static final String COMPLETE_SQL = "UPDATE quiz_attempts SET end_time = ?, score = ?, percentage = ?, " +
+            "time_taken_minutes = ?, is_completed = TRUE WHERE id = ? AND is_completed = FALSE";
+
+    // Score and percentage recomputed from the attempt's stored answers
+    private static final String RESCORE_SQL = "UPDATE quiz_attempts SET " +
+            "score = (SELECT COUNT(*) FROM answers a WHERE a.quiz_attempt_id = quiz_attempts.id AND a.is_correct = TRUE), " +
+            "percentage = (SELECT COUNT(*) FROM answers a WHERE a.quiz_attempt_id = quiz_attempts.id AND a.is_correct = TRUE) * 100.0 / total_questions " +
+            "WHERE id = ? AND is_completed = TRUE AND total_questions > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the ids that were still open; attempts already completed are left untouched.
+    // The open rows are locked first and only those are updated, so the result does not depend on batch
+    // update counts: with rewriteBatchedStatements MySQL reports SUCCESS_NO_INFO for every row, matched or not.
+    public List<Long> completeAll(List<QuizAttempt> attempts) {
+        if (attempts.isEmpty()) return List.of();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("completeAll must run inside a transaction");
+        }
+        Set<Long> open = lockOpen(attempts);
+        List<Object[]> rows = new ArrayList<>(open.size());
+        List<Long> completed = new ArrayList<>(open.size());
+        for (QuizAttempt attempt : attempts) {
+            if (!open.remove(attempt.getId())) continue;
+            completed.add(attempt.getId());
+            rows.add(new Object[]{
+                    Timestamp.valueOf(attempt.getEndTime()),
+                    attempt.getScore(),
+                    attempt.getPercentage(),
+                    attempt.getTimeTakenMinutes(),
+                    attempt.getId()
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(COMPLETE_SQL, rows);
+        }
+        return completed;
+    }
+
+    // Row locks are held until the caller commits, so a concurrent or replayed completion of the same
+    // attempt waits here and then finds it already completed
+    private Set<Long> lockOpen(List<QuizAttempt> attempts) {
+        Object[] ids = attempts.stream().map(QuizAttempt::getId).toArray();
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM quiz_attempts WHERE id IN (" + placeholders + ") AND is_completed = FALSE ORDER BY id FOR UPDATE",
+                Long.class, ids));
+    }
+
+    // Rescoring is derived from the answers alone, so running it twice for an attempt is harmless
+    public void rescoreAll(Collection<Long> attemptIds) {
+        if (attemptIds.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(attemptIds.size());
+        for (Long id : attemptIds) {
+            rows.add(new Object[]{id});
+        }
+        jdbcTemplate.batchUpdate(RESCORE_SQL, rows);
+    }
+}
@@ -1,7 +1,10 @@
 package com.quizapp.repository;
 
+import com.quizapp.dto.LeaderboardEntryDTO;
 import com.quizapp.model.QuizAttempt;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -47,6 +50,78 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     @Query("SELECT qa.quiz.id, COUNT(qa.id) as attemptCount FROM QuizAttempt qa WHERE qa.isCompleted = true AND qa.isPracticeMode = false GROUP BY qa.quiz.id ORDER BY attemptCount DESC")
     List<Object[]> findTopMostTakenQuizzes(org.springframework.data.domain.Pageable pageable);
 
+    // Trending counters: completion times of counted attempts since a cutoff, as quizId, endTime
+    @Query("SELECT qa.quiz.id, qa.endTime FROM QuizAttempt qa WHERE qa.isCompleted = true AND qa.isPracticeMode = false AND qa.endTime >= :since")
+    List<Object[]> findCompletionTimesSince(@Param("since") java.time.LocalDateTime since);
+
+    // Which of the given attempts this transaction can see
+    @Query("SELECT qa.id FROM QuizAttempt qa WHERE qa.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    @Query("SELECT qa.endTime FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.isCompleted = true AND qa.isPracticeMode = false AND qa.endTime >= :since")
+    List<java.time.LocalDateTime> findCompletionTimesByQuizIdSince(@Param("quizId") Long quizId, @Param("since") java.time.LocalDateTime since);
+
+    @Query("SELECT COUNT(qa.id) FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.isCompleted = true AND qa.isPracticeMode = false")
+    long countCompletedByQuizId(@Param("quizId") Long quizId);
+
+    // Leaderboard rows without loading entities, paged by attempt id
+    @Query("SELECT new com.quizapp.dto.LeaderboardEntryDTO(qa.id, qa.quiz.id, u.id, u.username, qa.score, qa.totalQuestions, qa.percentage, qa.startTime, qa.endTime, qa.timeTakenMinutes) " +
+            "FROM QuizAttempt qa JOIN qa.user u WHERE qa.isCompleted = true AND qa.isPracticeMode = false AND qa.id > :afterId ORDER BY qa.id")
+    List<LeaderboardEntryDTO> findLeaderboardEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.quizapp.dto.LeaderboardEntryDTO(qa.id, qa.quiz.id, u.id, u.username, qa.score, qa.totalQuestions, qa.percentage, qa.startTime, qa.endTime, qa.timeTakenMinutes) " +
+            "FROM QuizAttempt qa JOIN qa.user u WHERE qa.quiz.id = :quizId AND qa.isCompleted = true AND qa.isPracticeMode = false AND qa.id > :afterId ORDER BY qa.id")
+    List<LeaderboardEntryDTO> findLeaderboardEntriesByQuizIdAfter(@Param("quizId") Long quizId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Per-quiz aggregates for building quiz_statistics rows: quizId, count, sum(%), sum(%^2), sum(time), max(score)
+    @Query("SELECT qa.quiz.id, COUNT(qa.id), SUM(qa.percentage), SUM(qa.percentage * qa.percentage), SUM(COALESCE(qa.timeTakenMinutes, 0)), MAX(qa.score) " +
+            "FROM QuizAttempt qa WHERE qa.isCompleted = true AND qa.isPracticeMode = false GROUP BY qa.quiz.id")
+    List<Object[]> aggregateStatisticsByQuiz();
+
+    @Query("SELECT qa.quiz.id, COUNT(qa.id), SUM(qa.percentage), SUM(qa.percentage * qa.percentage), SUM(COALESCE(qa.timeTakenMinutes, 0)), MAX(qa.score) " +
+            "FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.isCompleted = true AND qa.isPracticeMode = false GROUP BY qa.quiz.id")
+    List<Object[]> aggregateStatisticsForQuiz(@Param("quizId") Long quizId);
+
+    // Score histogram rows: quizId, floor(percentage / 10), count
+    @Query("SELECT qa.quiz.id, FLOOR(qa.percentage / 10), COUNT(qa.id) " +
+            "FROM QuizAttempt qa WHERE qa.isCompleted = true AND qa.isPracticeMode = false GROUP BY qa.quiz.id, FLOOR(qa.percentage / 10)")
+    List<Object[]> scoreHistogramByQuiz();
+
+    @Query("SELECT qa.quiz.id, FLOOR(qa.percentage / 10), COUNT(qa.id) " +
+            "FROM QuizAttempt qa WHERE qa.quiz.id = :quizId AND qa.isCompleted = true AND qa.isPracticeMode = false GROUP BY qa.quiz.id, FLOOR(qa.percentage / 10)")
+    List<Object[]> scoreHistogramForQuiz(@Param("quizId") Long quizId);
+
+    long countByUserIdAndIsCompletedTrue(Long userId);
+
+    // Users with at least the given number of completed attempts
+    @Query("SELECT qa.user.id FROM QuizAttempt qa WHERE qa.isCompleted = true GROUP BY qa.user.id HAVING COUNT(qa.id) >= :minimum")
+    List<Long> findUserIdsWithCompletedAttemptsAtLeast(@Param("minimum") long minimum);
+
+    // Completed attempts per user: userId, count, average percentage
+    @Query("SELECT qa.user.id, COUNT(qa.id), AVG(COALESCE(qa.percentage, 0)) FROM QuizAttempt qa " +
+            "WHERE qa.user.id IN :userIds AND qa.isCompleted = true GROUP BY qa.user.id")
+    List<Object[]> summarizeCompletedAttemptsByUserIds(@Param("userIds") java.util.Collection<Long> userIds);
+
+    // Ranked attempts on each quiz authored by the given creators: creatorId, quizId, title, count
+    @Query("SELECT q.createdBy.id, q.id, q.title, COUNT(qa.id) FROM QuizAttempt qa JOIN qa.quiz q " +
+            "WHERE q.createdBy.id IN :creatorIds AND qa.isCompleted = true AND qa.isPracticeMode = false " +
+            "GROUP BY q.createdBy.id, q.id, q.title ORDER BY q.id")
+    List<Object[]> countRankedAttemptsByCreatorIds(@Param("creatorIds") java.util.Collection<Long> creatorIds);
+
+    @Query("SELECT DISTINCT qa.quiz.id FROM QuizAttempt qa WHERE qa.user.id = :userId")
+    List<Long> findQuizIdsAttemptedByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM QuizAttempt qa WHERE qa.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    long countByIsCompletedTrueAndIsPracticeModeFalse();
+
+    // Completed non-practice attempts per day since the given time: date, count
+    @Query("SELECT CAST(qa.endTime AS LocalDate), COUNT(qa.id) FROM QuizAttempt qa " +
+            "WHERE qa.isCompleted = true AND qa.isPracticeMode = false AND qa.endTime >= :since GROUP BY CAST(qa.endTime AS LocalDate)")
+    List<Object[]> countCompletedPerDaySince(@Param("since") java.time.LocalDateTime since);
+
     long countByQuizId(Long quizId);
     long countByQuizIdAndIsCompletedTrueAndIsPracticeModeFalse(Long quizId);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Named load plans for quiz graphs. Each issues a fixed number of queries however many questions a quiz has,
+// instead of the 1 + 2N that lazily walking options and correct answers costs.
+@Component
+@RequiredArgsConstructor
+public class QuizFetchPlans {
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+
+    // FULL_QUESTIONS: quiz, creator, questions, options and correct answers in 3 queries
+    @Transactional(readOnly = true)
+    public Optional<Quiz> withFullQuestions(Long quizId) {
+        Optional<Quiz> quiz = quizRepository.findWithQuestionsById(quizId);
+        quiz.ifPresent(q -> fetchAnswerData(q.getQuestions()));
+        return quiz;
+    }
+
+    // ANSWER_DATA: options and correct answers for questions already in the persistence context, 2 queries.
+    // Must run in the session that loaded the questions so their collections get initialized in place.
+    @Transactional(readOnly = true)
+    public void fetchAnswerData(Collection<Question> questions) {
+        if (questions == null || questions.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            ids.add(question.getId());
+        }
+        questionRepository.fetchOptions(ids);
+        questionRepository.fetchCorrectAnswers(ids);
+    }
+}
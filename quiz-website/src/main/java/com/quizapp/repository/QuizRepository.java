@@ -1,14 +1,79 @@
 package com.quizapp.repository;
 
+import com.quizapp.dto.QuizSummaryDTO;
 import com.quizapp.model.Quiz;
 import com.quizapp.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    // Catalogue projection; attempt counts and averages come from the quiz_statistics summary rows.
+    // Filters are optional (null = any); each sort pages by keyset on (sort key, id), both descending.
+    // Both sort keys are stored columns, so the cursor's key compares exactly against the same value.
+    String CATALOGUE_SELECT = "SELECT new com.quizapp.dto.QuizSummaryDTO(q.id, q.title, q.description, u.username, " +
+            "q.createdAt, q.practiceMode, COALESCE(s.attemptCount, 0L), COALESCE(s.averagePercentage, 0.0)) " +
+            "FROM Quiz q LEFT JOIN q.createdBy u LEFT JOIN QuizStatistics s ON s.quizId = q.id " +
+            "WHERE (:creator IS NULL OR u.username = :creator) AND (:practiceMode IS NULL OR q.practiceMode = :practiceMode) ";
+    String CATALOGUE_ATTEMPTS = "COALESCE(s.attemptCount, 0L)";
+    String CATALOGUE_AVERAGE = "COALESCE(s.averagePercentage, 0.0)";
+
+    // Ids grow with creation time, so newest is simply id descending
+    @Query(CATALOGUE_SELECT + "AND (:afterId IS NULL OR q.id < :afterId) ORDER BY q.id DESC")
+    List<QuizSummaryDTO> findCatalogueNewest(@Param("creator") String creator,
+            @Param("practiceMode") Boolean practiceMode,
+            @Param("afterId") Long afterId,
+            Pageable page);
+
+    @Query(CATALOGUE_SELECT + "AND (:afterId IS NULL OR " + CATALOGUE_ATTEMPTS + " < :afterKey OR (" +
+            CATALOGUE_ATTEMPTS + " = :afterKey AND q.id < :afterId)) ORDER BY " + CATALOGUE_ATTEMPTS + " DESC, q.id DESC")
+    List<QuizSummaryDTO> findCatalogueMostTaken(@Param("creator") String creator,
+            @Param("practiceMode") Boolean practiceMode,
+            @Param("afterKey") Long afterKey,
+            @Param("afterId") Long afterId,
+            Pageable page);
+
+    @Query(CATALOGUE_SELECT + "AND (:afterId IS NULL OR " + CATALOGUE_AVERAGE + " < :afterKey OR (" +
+            CATALOGUE_AVERAGE + " = :afterKey AND q.id < :afterId)) ORDER BY " + CATALOGUE_AVERAGE + " DESC, q.id DESC")
+    List<QuizSummaryDTO> findCatalogueHighestRated(@Param("creator") String creator,
+            @Param("practiceMode") Boolean practiceMode,
+            @Param("afterKey") Double afterKey,
+            @Param("afterId") Long afterId,
+            Pageable page);
+
     long countByCreatedBy(User user);
     // Fetch quizzes by a list of IDs
     java.util.List<Quiz> findByIdIn(java.util.List<Long> ids);
     java.util.List<Quiz> findByCreatedBy(User user);
-}
\ No newline at end of file
+
+    // Creators who have authored at least the given number of quizzes
+    @Query("SELECT q.createdBy.id FROM Quiz q WHERE q.createdBy IS NOT NULL GROUP BY q.createdBy.id HAVING COUNT(q.id) >= :minimum")
+    java.util.List<Long> findCreatorIdsWithAtLeast(@Param("minimum") long minimum);
+
+    // Keeps a deleted user's quizzes but drops the authorship link
+    @Modifying
+    @Query("UPDATE Quiz q SET q.createdBy = null WHERE q.createdBy.id = :userId")
+    int detachCreator(@Param("userId") Long userId);
+
+    // Quizzes authored per creator: creatorId, count
+    @Query("SELECT q.createdBy.id, COUNT(q.id) FROM Quiz q WHERE q.createdBy.id IN :creatorIds GROUP BY q.createdBy.id")
+    java.util.List<Object[]> countByCreatorIds(@Param("creatorIds") java.util.Collection<Long> creatorIds);
+
+    // Display rows for ranked quiz lists: id, title, description, creatorUsername
+    @Query("SELECT q.id, q.title, q.description, u.username FROM Quiz q LEFT JOIN q.createdBy u WHERE q.id IN :ids")
+    java.util.List<Object[]> findDisplayRowsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    // Search index rows: id, title, description, creatorId, creatorUsername
+    @Query("SELECT q.id, q.title, q.description, u.id, u.username FROM Quiz q LEFT JOIN q.createdBy u")
+    java.util.List<Object[]> findSearchRows();
+
+    // Fetch plan step: the quiz with its creator and questions in one query (see QuizFetchPlans)
+    @Query("SELECT DISTINCT q FROM Quiz q LEFT JOIN FETCH q.createdBy LEFT JOIN FETCH q.questions WHERE q.id = :id")
+    java.util.Optional<Quiz> findWithQuestionsById(@Param("id") Long id);
+}
@@ -0,0 +1,29 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.QuizStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface QuizStatisticsRepository extends JpaRepository<QuizStatistics, Long> {
+
+    // Row lock so concurrent submissions to the same quiz apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM QuizStatistics s WHERE s.quizId = :quizId")
+    Optional<QuizStatistics> findByQuizIdForUpdate(@Param("quizId") Long quizId);
+
+    // Creates the empty row unless it exists, so the locking read above always has a row to lock.
+    // A plain find-then-insert lets two first submissions both insert and one fail on the key.
+    @Modifying
+    @Query(value = "INSERT INTO quiz_statistics (quiz_id, attempt_count, percentage_sum, percentage_sum_of_squares, " +
+                   "time_taken_sum, average_percentage) VALUES (:quizId, 0, 0, 0, 0, 0) ON DUPLICATE KEY UPDATE quiz_id = quiz_id",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("quizId") Long quizId);
+}
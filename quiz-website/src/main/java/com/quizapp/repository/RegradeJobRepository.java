@@ -0,0 +1,15 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.RegradeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, Long> {
+    List<RegradeJob> findByStatusInOrderByIdAsc(Collection<RegradeJob.Status> statuses);
+
+    List<RegradeJob> findTop20ByOrderByIdDesc();
+}
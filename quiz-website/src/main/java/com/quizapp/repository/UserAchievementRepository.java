@@ -0,0 +1,20 @@
+package com.quizapp.repository;
+
+import com.quizapp.model.UserAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
+
+    List<UserAchievement> findByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserAchievement ua WHERE ua.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -2,6 +2,9 @@ package com.quizapp.repository;
 
 import com.quizapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,22 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-    Optional<User> findByUsernameContainingIgnoreCaseAndUsernameNot(String username, String currentUser);
+    List<User> findByUsernameContainingIgnoreCaseAndUsernameNot(String username, String currentUser);
+
+    @Query("SELECT u.id, u.username FROM User u")
+    List<Object[]> findAllIdsAndUsernames();
+
+    // Signups per day since the given time: date, count
+    @Query("SELECT CAST(u.createdAt AS LocalDate), COUNT(u.id) FROM User u WHERE u.createdAt >= :since GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<Object[]> countSignupsPerDaySince(@Param("since") java.time.LocalDateTime since);
+
+    // Legacy friendships join table, in both directions
+    @Modifying
+    @Query(value = "DELETE FROM friendships WHERE user_id = :userId OR friend_id = :userId", nativeQuery = true)
+    int deleteFriendshipsOf(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :userId")
+    int deleteByIdInBulk(@Param("userId") Long userId);
 }
 
@@ -0,0 +1,112 @@
+package com.quizapp.service;
+
+import com.quizapp.achievement.AchievementRule;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.event.QuizCreatedEvent;
+import com.quizapp.model.UserAchievement;
+import com.quizapp.repository.UserAchievementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Evaluates achievement rules when quizzes are created or attempts completed and stores what was earned,
+// so a profile view is a single lookup by user id
+@Service
+public class AchievementService {
+    private static final Logger log = LoggerFactory.getLogger(AchievementService.class);
+
+    private final UserAchievementRepository userAchievementRepository;
+    private final List<AchievementRule> rules;
+
+    public AchievementService(UserAchievementRepository userAchievementRepository, List<AchievementRule> rules) {
+        this.userAchievementRepository = userAchievementRepository;
+        this.rules = rules;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onQuizCreated(QuizCreatedEvent event) {
+        Long creatorId = event.getCreatorId();
+        if (creatorId == null) return;
+        evaluate(creatorId, rule -> rule.isEarnedOnQuizCreated(event.getQuiz()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAttemptCompleted(QuizAttemptCompletedEvent event) {
+        if (event.getAttempt().getUser() == null) return;
+        evaluate(event.getAttempt().getUser().getId(), rule -> rule.isEarnedOnAttemptCompleted(event.getAttempt()));
+    }
+
+    public List<Map<String, Object>> getAchievements(Long userId) {
+        Set<String> earned = earnedKeys(userId);
+        List<Map<String, Object>> achievements = new ArrayList<>(rules.size());
+        for (AchievementRule rule : rules) {
+            achievements.add(Map.of(
+                    "key", rule.getKey(),
+                    "name", rule.getName(),
+                    "description", rule.getDescription(),
+                    "shortDesc", rule.getShortDesc(),
+                    "icon", rule.getIcon(),
+                    "earned", earned.contains(rule.getKey())
+            ));
+        }
+        return achievements;
+    }
+
+    // Seed earned achievements from existing data the first time the table is used
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional
+    public void seedIfEmpty() {
+        if (userAchievementRepository.count() == 0) {
+            int seeded = seed();
+            log.info("Seeded {} achievements", seeded);
+        }
+    }
+
+    @Transactional
+    public int seed() {
+        List<UserAchievement> rows = new ArrayList<>();
+        Map<Long, Set<String>> existing = new HashMap<>();
+        for (UserAchievement achievement : userAchievementRepository.findAll()) {
+            existing.computeIfAbsent(achievement.getUserId(), id -> new HashSet<>()).add(achievement.getAchievementKey());
+        }
+        for (AchievementRule rule : rules) {
+            for (Long userId : rule.findAllEarners()) {
+                if (existing.computeIfAbsent(userId, id -> new HashSet<>()).add(rule.getKey())) {
+                    rows.add(new UserAchievement(userId, rule.getKey()));
+                }
+            }
+        }
+        userAchievementRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private void evaluate(Long userId, Predicate<AchievementRule> earnedNow) {
+        Set<String> earned = earnedKeys(userId);
+        for (AchievementRule rule : rules) {
+            if (!earned.contains(rule.getKey()) && earnedNow.test(rule)) {
+                userAchievementRepository.save(new UserAchievement(userId, rule.getKey()));
+            }
+        }
+    }
+
+    private Set<String> earnedKeys(Long userId) {
+        return userAchievementRepository.findByUserId(userId).stream()
+                .map(UserAchievement::getAchievementKey)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,80 @@
+package com.quizapp.service;
+
+import com.quizapp.model.AnswerKey;
+import com.quizapp.model.Question;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Compiled answer keys shared across requests, keyed by question id
+@Component
+public class AnswerKeyCache {
+
+    private final ConcurrentMap<Long, AnswerKey> keys = new ConcurrentHashMap<>();
+
+    public AnswerKey get(Question question) {
+        if (question.getId() == null) {
+            return question.getAnswerKey();
+        }
+        // Plain lookup first: computeIfAbsent's capturing lambda would allocate on every hit
+        AnswerKey key = keys.get(question.getId());
+        return key != null ? key : keys.computeIfAbsent(question.getId(), id -> question.getAnswerKey());
+    }
+
+    // Compile keys while the quiz's questions are already loaded
+    public void warm(List<Question> questions) {
+        if (questions == null) return;
+        for (Question question : questions) {
+            get(question);
+        }
+    }
+
+    // Questions that would need their options and correct answers loaded to compile a key
+    public List<Question> uncached(List<Question> questions) {
+        List<Question> missing = new ArrayList<>();
+        for (Question question : questions) {
+            if (question.getId() == null || !keys.containsKey(question.getId())) {
+                missing.add(question);
+            }
+        }
+        return missing;
+    }
+
+    // Drops the key now and again after the surrounding transaction ends, so a grader that
+    // compiles the old rows between the two cannot keep them cached
+    public void invalidate(Long questionId) {
+        if (questionId == null) return;
+        keys.remove(questionId);
+        afterCompletion(() -> keys.remove(questionId));
+    }
+
+    public void invalidateQuiz(Long quizId) {
+        if (quizId == null) return;
+        removeQuiz(quizId);
+        afterCompletion(() -> removeQuiz(quizId));
+    }
+
+    private void removeQuiz(Long quizId) {
+        keys.values().removeIf(key -> quizId.equals(key.getQuizId()));
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,145 @@
+package com.quizapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+// Signed bearer tokens for the optional stateless mode (quizapp.auth.tokens.enabled).
+// A token is base64url(payload) + "." + base64url(HMAC-SHA256(payload)), where the payload is
+// "type|expiresAt|role|stamp|username". Checking one is a MAC over a few dozen bytes, no lookup.
+// Access tokens are short-lived and carry the role; refresh tokens carry a stamp derived from the password
+// hash, so changing the password invalidates every outstanding refresh token. Stream tickets live for a
+// minute and only open the notification stream, since EventSource has to carry them in the URL.
+@Service
+public class AuthTokenService {
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenService.class);
+    private static final String HMAC = "HmacSHA256";
+    private static final long STREAM_TICKET_TTL_SECONDS = 60;
+
+    public enum Type { ACCESS, REFRESH, STREAM }
+
+    public record Claims(Type type, String username, String role, String stamp, long expiresAt) {}
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresIn) {}
+
+    private final boolean enabled;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public AuthTokenService(@Value("${quizapp.auth.tokens.enabled:false}") boolean enabled,
+                            @Value("${quizapp.auth.tokens.secret:}") String secret,
+                            @Value("${quizapp.auth.tokens.access-ttl-seconds:900}") long accessTtlSeconds,
+                            @Value("${quizapp.auth.tokens.refresh-ttl-seconds:604800}") long refreshTtlSeconds) {
+        this.enabled = enabled;
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            if (enabled) {
+                log.warn("quizapp.auth.tokens.secret is not set; using a random key, so tokens will not survive "
+                        + "a restart or validate on other instances");
+            }
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("quizapp.auth.tokens.secret must be at least 32 bytes (base64)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TokenPair issue(UserDetails user) {
+        long now = Instant.now().getEpochSecond();
+        String role = roleOf(user);
+        String access = sign(Type.ACCESS, user.getUsername(), role, "", now + accessTtlSeconds);
+        String refresh = sign(Type.REFRESH, user.getUsername(), "", stampOf(user.getPassword()), now + refreshTtlSeconds);
+        return new TokenPair(access, refresh, accessTtlSeconds);
+    }
+
+    public String issueStreamTicket(UserDetails user) {
+        long expiresAt = Instant.now().getEpochSecond() + STREAM_TICKET_TTL_SECONDS;
+        return sign(Type.STREAM, user.getUsername(), roleOf(user), "", expiresAt);
+    }
+
+    // Empty for a malformed, forged, expired or wrong-type token
+    public Optional<Claims> verify(String token, Type expected) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return Optional.empty();
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(mac(payload), signature)) return Optional.empty();
+
+        String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\|", 5);
+        if (fields.length != 5) return Optional.empty();
+        Type type;
+        long expiresAt;
+        try {
+            type = Type.valueOf(fields[0]);
+            expiresAt = Long.parseLong(fields[1]);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (type != expected || expiresAt <= Instant.now().getEpochSecond()) return Optional.empty();
+        return Optional.of(new Claims(type, fields[4], fields[2], fields[3], expiresAt));
+    }
+
+    // True while the password the refresh token was issued against is still current
+    public boolean stampMatches(Claims claims, UserDetails user) {
+        return claims.stamp().equals(stampOf(user.getPassword()));
+    }
+
+    private String sign(Type type, String username, String role, String stamp, long expiresAt) {
+        byte[] payload = (type + "|" + expiresAt + "|" + role + "|" + stamp + "|" + username).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+
+    private byte[] mac(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private String stampOf(String passwordHash) {
+        byte[] digest = mac(("stamp|" + passwordHash).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 12);
+    }
+
+    private static String roleOf(UserDetails user) {
+        return user.getAuthorities().isEmpty() ? "ROLE_USER" : user.getAuthorities().iterator().next().getAuthority();
+    }
+}
@@ -1,17 +1,19 @@
 package com.quizapp.service;
 
+import com.quizapp.event.NotificationEvent;
 import com.quizapp.model.Challenge;
 import com.quizapp.model.Quiz;
 import com.quizapp.model.User;
 import com.quizapp.repository.ChallengeRepository;
-import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Service
 public class ChallengeService {
@@ -23,10 +25,16 @@ public class ChallengeService {
     private UserRepository userRepository;
 
     @Autowired
-    private QuizAttemptRepository quizAttemptRepository;
+    private QuizRepository quizRepository;
 
     @Autowired
-    private QuizRepository quizRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UnseenChallengeCounter unseenChallengeCounter;
+
+    @Autowired
+    private PersonalBestService personalBestService;
 
     public Challenge sendChallenge(String challengerUsername, String challengedUsername, Long quizId) {
         User challenger = userRepository.findByUsername(challengerUsername)
@@ -46,7 +54,15 @@ public class ChallengeService {
         }
 
         Challenge challenge = new Challenge(challenger, challenged, quiz);
-        return challengeRepository.save(challenge);
+        Challenge saved = challengeRepository.save(challenge);
+        eventPublisher.publishEvent(new NotificationEvent(challengedUsername, NotificationEvent.CHALLENGE_RECEIVED, Map.of(
+                "challengeId", saved.getId(),
+                "from", challengerUsername,
+                "quizId", quizId,
+                "quizTitle", quiz.getTitle() != null ? quiz.getTitle() : "")));
+        unseenChallengeCounter.challengeSent(challengedUsername, new UnseenChallengeCounter.RecentChallenge(
+                saved.getId(), challengerUsername, quizId, quiz.getTitle(), saved.getCreatedAt()));
+        return saved;
     }
 
     public List<Challenge> getChallengesForUser(String username) {
@@ -61,26 +77,31 @@ public class ChallengeService {
         return challengeRepository.findUnseenChallengesForUser(user);
     }
 
+    public UnseenChallengeCounter.Summary getUnseenSummary(String username) {
+        return unseenChallengeCounter.get(username);
+    }
+
+    // A single conditional UPDATE, so only the request that actually flips the flag adjusts the counter
+    @Transactional
     public void markChallengeAsSeen(Long challengeId) {
-        Optional<Challenge> challengeOpt = challengeRepository.findById(challengeId);
-        if (challengeOpt.isPresent()) {
-            Challenge challenge = challengeOpt.get();
-            challenge.setSeen(true);
-            challengeRepository.save(challenge);
+        challengeRepository.findChallengedUsernameById(challengeId).ifPresent(username -> {
+            if (challengeRepository.markSeen(challengeId) > 0) {
+                unseenChallengeCounter.challengeSeen(username, challengeId);
+            }
+        });
+    }
+
+    @Transactional
+    public int markAllChallengesAsSeen(String username) {
+        int updated = challengeRepository.markAllSeen(username);
+        if (updated > 0) {
+            unseenChallengeCounter.allSeen(username);
         }
+        return updated;
     }
 
+    // Primary-key read on personal_bests; 0 when the challenger has no ranked attempt on the quiz
     public Integer getChallengerBestScore(Long quizId, String challengerUsername) {
-        User challenger = userRepository.findByUsername(challengerUsername)
-                .orElseThrow(() -> new RuntimeException("Challenger not found"));
-
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new RuntimeException("Quiz not found"));
-
-        return quizAttemptRepository.findBestScoreByUserAndQuiz(challenger.getId(), quizId)
-                .stream()
-                .findFirst()
-                .map(attempt -> attempt.getScore())
-                .orElse(0);
+        return personalBestService.getBestScore(challengerUsername, quizId).orElse(0);
     }
-}
\ No newline at end of file
+}
@@ -2,32 +2,116 @@ package com.quizapp.service;
 
 import com.quizapp.model.User;
 import com.quizapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
+// Login and session lookups by username, cached in a bounded LRU map for ttl-seconds.
+// Entries hold the stored hash and role rather than UserDetails: Spring erases credentials on the
+// UserDetails it returns after authentication, so each caller gets a fresh instance.
+// Role changes, password changes and deletions must call evict.
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CachedUser> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    // Bumped by every eviction so a lookup that raced with one does not cache what it read
+    private long generation;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${quizapp.auth.user-cache.max-entries:10000}") int maxEntries,
+                                    @Value("${quizapp.auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
         this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > CustomUserDetailsService.this.maxEntries;
+            }
+        };
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        long seen;
+        synchronized (cache) {
+            CachedUser cached = cache.get(username);
+            if (cached != null && cached.expiresAt() > now) {
+                hits.increment();
+                return cached.toUserDetails();
+            }
+            seen = generation;
+        }
+        misses.increment();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPasswordHash(),
-                Collections.singletonList(new SimpleGrantedAuthority(user.getRole()))
-        );
+        CachedUser loaded = new CachedUser(user.getUsername(), user.getPasswordHash(), user.getRole(), now + ttlMillis);
+        synchronized (cache) {
+            if (generation == seen) {
+                cache.put(username, loaded);
+            }
+        }
+        return loaded.toUserDetails();
     }
-} 
\ No newline at end of file
+
+    // Called after a successful login whose hash was made with a different BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+        userRepository.findByUsername(details.getUsername()).ifPresent(user -> {
+            user.setPasswordHash(newPassword);
+            userRepository.save(user);
+        });
+        evict(details.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(details)
+                .password(newPassword)
+                .build();
+    }
+
+    public void evict(String username) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(username);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("size", cache.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return stats;
+    }
+
+    private record CachedUser(String username, String passwordHash, String role, long expiresAt) {
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                    username,
+                    passwordHash,
+                    Collections.singletonList(new SimpleGrantedAuthority(role))
+            );
+        }
+    }
+}
@@ -1,29 +1,34 @@
 package com.quizapp.service;
 
+import com.quizapp.event.NotificationEvent;
 import com.quizapp.model.FriendRequest;
 import com.quizapp.model.User;
 import com.quizapp.repository.FriendRequestRepository;
 import com.quizapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 import com.quizapp.dto.FriendRequestDTO;
+import com.quizapp.dto.FriendStatsDTO;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.QuizAttemptRepository;
 
 @Service
 @RequiredArgsConstructor
 public class FriendService {
+    private static final int USER_SEARCH_LIMIT = 20;
 
     private final UserRepository userRepository;
     private final UserService userService;
     private final FriendRequestRepository friendRequestRepository;
+    private final FriendshipGraph friendshipGraph;
+    private final SearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     @org.springframework.beans.factory.annotation.Autowired
     private com.quizapp.repository.QuizRepository quizRepository;
     @org.springframework.beans.factory.annotation.Autowired
@@ -95,6 +100,10 @@ public class FriendService {
         newRequest.setAddressee(addressee);
         newRequest.setStatus(FriendRequest.Status.PENDING);
         friendRequestRepository.save(newRequest);
+        friendshipGraph.requestSent(requester, addressee);
+        eventPublisher.publishEvent(new NotificationEvent(addresseeUsername, NotificationEvent.FRIEND_REQUEST_RECEIVED, Map.of(
+                "requestId", newRequest.getId() != null ? newRequest.getId() : 0L,
+                "from", requesterUsername)));
         return "Friend request sent.";
     }
 
@@ -110,11 +119,19 @@ public class FriendService {
         }
         request.setStatus(FriendRequest.Status.ACCEPTED);
         friendRequestRepository.save(request);
+        friendshipGraph.requestAccepted(request.getRequester(), request.getAddressee());
+        eventPublisher.publishEvent(new NotificationEvent(request.getRequester().getUsername(), NotificationEvent.FRIEND_REQUEST_ACCEPTED, Map.of(
+                "requestId", requestId,
+                "by", addresseeUsername)));
         return "Friend request accepted.";
     }
 
     @Transactional(readOnly = true)
     public List<String> getFriendList(String username) {
+        if (friendshipGraph.isWarm()) {
+            List<String> friends = friendshipGraph.getFriendUsernames(username);
+            if (friends != null) return friends;
+        }
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
         List<FriendRequest> accepted = friendRequestRepository.findAcceptedFriendships(user, FriendRequest.Status.ACCEPTED);
@@ -133,10 +150,18 @@ public class FriendService {
                 .collect(Collectors.toList());
     }
 
+    // Substring typeahead from the search index; the LIKE scan is only a fallback until the index has loaded
     @Transactional(readOnly = true)
     public List<java.util.Map<String, String>> searchUsers(String query, String currentUsername) {
+        if (searchIndex.isWarm()) {
+            return searchIndex.searchUsernames(query, currentUsername, USER_SEARCH_LIMIT)
+                    .stream()
+                    .map(username -> java.util.Map.of("username", username))
+                    .collect(Collectors.toList());
+        }
         return userRepository.findByUsernameContainingIgnoreCaseAndUsernameNot(query, currentUsername)
                 .stream()
+                .limit(USER_SEARCH_LIMIT)
                 .map(user -> java.util.Map.of("username", user.getUsername()))
                 .collect(Collectors.toList());
     }
@@ -152,6 +177,7 @@ public class FriendService {
             return "Cannot reject a request that is not pending.";
         }
         friendRequestRepository.delete(request);
+        friendshipGraph.requestRemoved(request.getRequester().getId(), request.getAddressee().getId());
         return "Friend request rejected.";
     }
 
@@ -176,11 +202,16 @@ public class FriendService {
             return "User is not in your friend list.";
         }
         friendRequestRepository.delete(friendship.get());
+        friendshipGraph.friendshipRemoved(user.getId(), friend.getId());
         return "Friend removed successfully.";
     }
 
     public String getFriendStatus(String username1, String username2) {
         if (username1.equals(username2)) return "SELF";
+        if (friendshipGraph.isWarm()) {
+            String status = friendshipGraph.getStatus(username1, username2);
+            if (status != null) return status;
+        }
         User user1 = userRepository.findByUsername(username1).orElse(null);
         User user2 = userRepository.findByUsername(username2).orElse(null);
         if (user1 == null || user2 == null) return "NONE";
@@ -205,43 +236,52 @@ public class FriendService {
                 .collect(Collectors.toList());
     }
 
+    // A fixed number of grouped queries regardless of how many friends the user has
     @Transactional(readOnly = true)
-    public List<java.util.Map<String, Object>> getFriendStatsWithQuizInfo(String username) {
+    public List<FriendStatsDTO> getFriendStatsWithQuizInfo(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        List<FriendRequest> accepted = friendRequestRepository.findAcceptedFriendships(user, FriendRequest.Status.ACCEPTED);
-        List<User> friends = accepted.stream()
-                .map(fr -> fr.getRequester().getUsername().equals(username) ? fr.getAddressee() : fr.getRequester())
-                .collect(Collectors.toList());
-        List<java.util.Map<String, Object>> stats = new java.util.ArrayList<>();
-        for (User friend : friends) {
-            // Quizzes taken
-            var attempts = quizAttemptRepository.findByUserIdAndIsCompletedTrueOrderByStartTimeDesc(friend.getId());
-            long numQuizzesTaken = attempts.size();
-            double avgPercent = attempts.stream().mapToDouble(a -> a.getPercentage() != null ? a.getPercentage() : 0.0).average().orElse(0.0);
-            // Quizzes created
-            var createdQuizzes = quizRepository.findByCreatedBy(friend);
-            int numCreated = createdQuizzes.size();
-            // Most popular quiz
-            String mostPopularQuizTitle = null;
-            long mostPopularQuizAttempts = 0;
-            for (var quiz : createdQuizzes) {
-                long count = quizAttemptRepository.countByQuizIdAndIsCompletedTrueAndIsPracticeModeFalse(quiz.getId());
-                if (count > mostPopularQuizAttempts) {
-                    mostPopularQuizAttempts = count;
-                    mostPopularQuizTitle = quiz.getTitle();
-                }
+        Map<Long, String> friends = new LinkedHashMap<>();
+        for (Object[] row : friendRequestRepository.findFriendIdsAndUsernames(user.getId(), FriendRequest.Status.ACCEPTED)) {
+            friends.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        if (friends.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Object[]> attempts = new HashMap<>();
+        for (Object[] row : quizAttemptRepository.summarizeCompletedAttemptsByUserIds(friends.keySet())) {
+            attempts.put(((Number) row[0]).longValue(), row);
+        }
+        Map<Long, Long> created = new HashMap<>();
+        for (Object[] row : quizRepository.countByCreatorIds(friends.keySet())) {
+            created.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        // Rows come ordered by quiz id, so ties keep the earliest quiz
+        Map<Long, Object[]> mostPopular = new HashMap<>();
+        for (Object[] row : quizAttemptRepository.countRankedAttemptsByCreatorIds(friends.keySet())) {
+            Long creatorId = ((Number) row[0]).longValue();
+            Object[] best = mostPopular.get(creatorId);
+            if (best == null || ((Number) row[3]).longValue() > ((Number) best[3]).longValue()) {
+                mostPopular.put(creatorId, row);
             }
-            java.util.Map<String, Object> stat = new java.util.HashMap<>();
-            stat.put("username", friend.getUsername());
-            stat.put("numQuizzes", numQuizzesTaken);
-            stat.put("avgPercent", Math.round(avgPercent * 10.0) / 10.0);
-            stat.put("numCreated", numCreated);
-            stat.put("mostPopularQuizTitle", mostPopularQuizTitle);
-            stat.put("mostPopularQuizAttempts", mostPopularQuizAttempts);
-            stats.add(stat);
+        }
+
+        List<FriendStatsDTO> stats = new ArrayList<>(friends.size());
+        for (Map.Entry<Long, String> friend : friends.entrySet()) {
+            Object[] attemptRow = attempts.get(friend.getKey());
+            long numQuizzesTaken = attemptRow != null ? ((Number) attemptRow[1]).longValue() : 0L;
+            double avgPercent = attemptRow != null && attemptRow[2] != null ? ((Number) attemptRow[2]).doubleValue() : 0.0;
+            Object[] popular = mostPopular.get(friend.getKey());
+            stats.add(new FriendStatsDTO(
+                    friend.getValue(),
+                    numQuizzesTaken,
+                    Math.round(avgPercent * 10.0) / 10.0,
+                    created.getOrDefault(friend.getKey(), 0L),
+                    popular != null ? (String) popular[2] : null,
+                    popular != null ? ((Number) popular[3]).longValue() : 0L));
         }
         return stats;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package com.quizapp.service;
+
+import com.quizapp.model.FriendRequest;
+import com.quizapp.model.User;
+import com.quizapp.repository.FriendRequestRepository;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.util.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory copy of accepted and pending friend requests keyed by user id.
+// Loaded at startup and updated by FriendService after each committed change; callers fall back
+// to the database for users the graph has not seen yet.
+@Component
+public class FriendshipGraph {
+    private static final Logger log = LoggerFactory.getLogger(FriendshipGraph.class);
+
+    private final UserRepository userRepository;
+    private final FriendRequestRepository friendRequestRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongHashSet> friends = new HashMap<>();
+    // requester id -> addressee ids of requests still pending
+    private final Map<Long, LongHashSet> pendingSent = new HashMap<>();
+    private final Map<String, Long> idsByUsername = new HashMap<>();
+    private final Map<Long, String> usernamesById = new HashMap<>();
+    // Changes applied while a warm is reading rows; replayed on top of the rebuilt graph, since the
+    // rows may have been read before those changes committed. Guarded by the write lock.
+    private List<Runnable> changesDuringWarm;
+    private volatile boolean warm;
+
+    public FriendshipGraph(UserRepository userRepository, FriendRequestRepository friendRequestRepository) {
+        this.userRepository = userRepository;
+        this.friendRequestRepository = friendRequestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warm() {
+        recordChangesDuringWarm(true);
+        List<Object[]> users;
+        List<Object[]> edges;
+        try {
+            users = userRepository.findAllIdsAndUsernames();
+            edges = friendRequestRepository.findAllEdges();
+        } catch (RuntimeException e) {
+            recordChangesDuringWarm(false);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            friends.clear();
+            pendingSent.clear();
+            idsByUsername.clear();
+            usernamesById.clear();
+            for (Object[] row : users) {
+                register(((Number) row[0]).longValue(), (String) row[1]);
+            }
+            for (Object[] row : edges) {
+                long requesterId = ((Number) row[0]).longValue();
+                long addresseeId = ((Number) row[1]).longValue();
+                if (row[2] == FriendRequest.Status.ACCEPTED) {
+                    link(requesterId, addresseeId);
+                } else {
+                    set(pendingSent, requesterId).add(addresseeId);
+                }
+            }
+            List<Runnable> replay = changesDuringWarm;
+            changesDuringWarm = null;
+            replay.forEach(Runnable::run);
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Friendship graph warmed with {} users and {} requests", users.size(), edges.size());
+    }
+
+    private void recordChangesDuringWarm(boolean record) {
+        lock.writeLock().lock();
+        try {
+            changesDuringWarm = record ? new ArrayList<>() : null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    // FRIENDS, PENDING or NONE; null when either user is unknown to the graph
+    public String getStatus(String username1, String username2) {
+        lock.readLock().lock();
+        try {
+            Long id1 = idsByUsername.get(username1);
+            Long id2 = idsByUsername.get(username2);
+            if (id1 == null || id2 == null) return null;
+            if (contains(friends, id1, id2)) return "FRIENDS";
+            if (contains(pendingSent, id1, id2) || contains(pendingSent, id2, id1)) return "PENDING";
+            return "NONE";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Friend usernames sorted alphabetically; null when the user is unknown to the graph
+    public List<String> getFriendUsernames(String username) {
+        lock.readLock().lock();
+        try {
+            Long id = idsByUsername.get(username);
+            if (id == null) return null;
+            LongHashSet adjacent = friends.get(id);
+            if (adjacent == null) return new ArrayList<>();
+            List<String> names = new ArrayList<>(adjacent.size());
+            adjacent.forEach(friendId -> names.add(usernamesById.get(friendId)));
+            names.sort(Comparator.naturalOrder());
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void requestSent(User requester, User addressee) {
+        afterCommit(() -> write(() -> {
+            register(requester.getId(), requester.getUsername());
+            register(addressee.getId(), addressee.getUsername());
+            set(pendingSent, requester.getId()).add(addressee.getId());
+        }));
+    }
+
+    public void requestAccepted(User requester, User addressee) {
+        afterCommit(() -> write(() -> {
+            register(requester.getId(), requester.getUsername());
+            register(addressee.getId(), addressee.getUsername());
+            unsetPending(requester.getId(), addressee.getId());
+            link(requester.getId(), addressee.getId());
+        }));
+    }
+
+    public void requestRemoved(Long requesterId, Long addresseeId) {
+        afterCommit(() -> write(() -> unsetPending(requesterId, addresseeId)));
+    }
+
+    public void friendshipRemoved(Long userId, Long friendId) {
+        afterCommit(() -> write(() -> {
+            unlink(userId, friendId);
+            unlink(friendId, userId);
+        }));
+    }
+
+    public void removeUser(Long userId) {
+        afterCommit(() -> write(() -> {
+            LongHashSet adjacent = friends.remove(userId);
+            if (adjacent != null) {
+                adjacent.forEach(friendId -> unlink(friendId, userId));
+            }
+            pendingSent.remove(userId);
+            pendingSent.values().forEach(addressees -> addressees.remove(userId));
+            String username = usernamesById.remove(userId);
+            if (username != null) {
+                idsByUsername.remove(username);
+            }
+        }));
+    }
+
+    private void register(long id, String username) {
+        usernamesById.put(id, username);
+        idsByUsername.put(username, id);
+    }
+
+    private void link(long a, long b) {
+        set(friends, a).add(b);
+        set(friends, b).add(a);
+    }
+
+    private void unlink(long from, long to) {
+        LongHashSet adjacent = friends.get(from);
+        if (adjacent != null) adjacent.remove(to);
+    }
+
+    private void unsetPending(long requesterId, long addresseeId) {
+        LongHashSet sent = pendingSent.get(requesterId);
+        if (sent != null) sent.remove(addresseeId);
+    }
+
+    private static LongHashSet set(Map<Long, LongHashSet> index, long id) {
+        return index.computeIfAbsent(id, k -> new LongHashSet());
+    }
+
+    private static boolean contains(Map<Long, LongHashSet> index, long from, long to) {
+        LongHashSet set = index.get(from);
+        return set != null && set.contains(to);
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringWarm != null) changesDuringWarm.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only publish changes the database actually kept
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.quizapp.service;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.repository.QuizAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory top-N boards per quiz, fed by completed attempts and rebuilt from the database at startup.
+// Besides the all-time board each quiz keeps one board per hour for retention-days, so rolling windows
+// that start on the hour are exact for any limit up to the capacity.
+@Service
+public class LeaderboardService {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    // Best score first, then fastest, then earliest attempt
+    static final Comparator<LeaderboardEntryDTO> RANKING = Comparator
+            .comparing(LeaderboardEntryDTO::getScore, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingLong(LeaderboardEntryDTO::getElapsedMillis)
+            .thenComparing(LeaderboardEntryDTO::getId);
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final int capacity;
+    private final int retentionDays;
+    private volatile ConcurrentMap<Long, QuizBoard> boards = new ConcurrentHashMap<>();
+    // Changes take the read lock; rebuild() takes the write lock to swap in the new boards
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    // Changes made while rebuild() is reading attempts; replayed on the rebuilt boards, since the pages
+    // may have been read before those changes committed
+    private volatile Queue<Runnable> changesDuringRebuild;
+
+    public LeaderboardService(QuizAttemptRepository quizAttemptRepository,
+                              @Value("${quizapp.leaderboard.capacity:100}") int capacity,
+                              @Value("${quizapp.leaderboard.retention-days:7}") int retentionDays) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.capacity = capacity;
+        this.retentionDays = retentionDays;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttemptCompleted(QuizAttemptCompletedEvent event) {
+        if (event.isPracticeMode()) return;
+        record(new LeaderboardEntryDTO(event.getAttempt()));
+    }
+
+    public void record(LeaderboardEntryDTO entry) {
+        apply(() -> boards.computeIfAbsent(entry.getQuizId(), id -> new QuizBoard()).add(entry));
+    }
+
+    public List<LeaderboardEntryDTO> getTopScores(Long quizId, int limit) {
+        QuizBoard board = boards.get(quizId);
+        return board == null ? List.of() : board.allTime(limit);
+    }
+
+    public List<LeaderboardEntryDTO> getTopScoresToday(Long quizId, int limit) {
+        return getTopScoresSince(quizId, LocalDate.now().atStartOfDay(), limit);
+    }
+
+    // The current hour plus the hours - 1 whole hours before it
+    public List<LeaderboardEntryDTO> getTopScoresForLastHours(Long quizId, int hours, int limit) {
+        if (hours < 1 || hours > retentionDays * 24) {
+            throw new IllegalArgumentException("hours must be between 1 and " + retentionDays * 24);
+        }
+        return getTopScoresSince(quizId, LocalDateTime.now().minusHours(hours - 1L), limit);
+    }
+
+    // Windows are served from the hourly boards: since is rounded down to the hour, so the first hour counts
+    // in full, and nothing older than retention-days is kept. At most capacity entries are returned.
+    public List<LeaderboardEntryDTO> getTopScoresSince(Long quizId, LocalDateTime since, int limit) {
+        QuizBoard board = boards.get(quizId);
+        return board == null ? List.of() : board.since(since.truncatedTo(ChronoUnit.HOURS), Math.min(limit, capacity));
+    }
+
+    // Runs ahead of other startup listeners that read the boards. Submissions are already being recorded by
+    // then, so the new boards are built off to the side and the changes made meanwhile replayed onto them.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void rebuild() {
+        changesDuringRebuild = new ConcurrentLinkedQueue<>();
+        ConcurrentMap<Long, QuizBoard> rebuilt = new ConcurrentHashMap<>();
+        long afterId = 0L;
+        int loaded = 0;
+        try {
+            List<LeaderboardEntryDTO> page;
+            do {
+                page = quizAttemptRepository.findLeaderboardEntriesAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (LeaderboardEntryDTO entry : page) {
+                    rebuilt.computeIfAbsent(entry.getQuizId(), id -> new QuizBoard()).add(entry);
+                    afterId = entry.getId();
+                }
+                loaded += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            changesDuringRebuild = null;
+            throw e;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            boards = rebuilt;
+            Queue<Runnable> replay = changesDuringRebuild;
+            changesDuringRebuild = null;
+            replay.forEach(Runnable::run);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Leaderboards rebuilt from {} attempts across {} quizzes", loaded, rebuilt.size());
+    }
+
+    // True when the entry ranks first on its quiz, whether or not it has been recorded yet
+    public boolean isTopScore(LeaderboardEntryDTO entry) {
+        QuizBoard board = boards.get(entry.getQuizId());
+        LeaderboardEntryDTO top = board == null ? null : board.first();
+        return top == null || RANKING.compare(entry, top) <= 0;
+    }
+
+    // Users currently holding first place on at least one quiz
+    public Set<Long> getTopScoreHolders() {
+        Set<Long> holders = new HashSet<>();
+        for (QuizBoard board : boards.values()) {
+            LeaderboardEntryDTO top = board.first();
+            if (top != null && top.getUserId() != null) {
+                holders.add(top.getUserId());
+            }
+        }
+        return holders;
+    }
+
+    public void rebuildQuiz(Long quizId) {
+        apply(() -> reloadQuiz(quizId));
+    }
+
+    private void reloadQuiz(Long quizId) {
+        QuizBoard board = new QuizBoard();
+        long afterId = 0L;
+        List<LeaderboardEntryDTO> page;
+        do {
+            page = quizAttemptRepository.findLeaderboardEntriesByQuizIdAfter(quizId, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (LeaderboardEntryDTO entry : page) {
+                board.add(entry);
+                afterId = entry.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        boards.put(quizId, board);
+    }
+
+    public void removeQuiz(Long quizId) {
+        apply(() -> boards.remove(quizId));
+    }
+
+    // Boards are bounded, so dropping a user's entries may expose ranks we no longer hold
+    public void removeUser(Long userId) {
+        apply(() -> {
+            for (Map.Entry<Long, QuizBoard> board : boards.entrySet()) {
+                if (board.getValue().containsUser(userId)) {
+                    reloadQuiz(board.getKey());
+                }
+            }
+        });
+    }
+
+    private void apply(Runnable change) {
+        rebuildLock.readLock().lock();
+        try {
+            change.run();
+            Queue<Runnable> pending = changesDuringRebuild;
+            if (pending != null) pending.add(change);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private class QuizBoard {
+        private final TreeSet<LeaderboardEntryDTO> allTime = new TreeSet<>(RANKING);
+        private final TreeMap<LocalDateTime, TreeSet<LeaderboardEntryDTO>> hours = new TreeMap<>();
+
+        synchronized void add(LeaderboardEntryDTO entry) {
+            addBounded(allTime, entry);
+            if (entry.getEndTime() != null) {
+                LocalDateTime hour = entry.getEndTime().truncatedTo(ChronoUnit.HOURS);
+                if (!hour.isBefore(oldestRetainedHour())) {
+                    addBounded(hours.computeIfAbsent(hour, h -> new TreeSet<>(RANKING)), entry);
+                }
+            }
+            hours.headMap(oldestRetainedHour()).clear();
+        }
+
+        synchronized LeaderboardEntryDTO first() {
+            return allTime.isEmpty() ? null : allTime.first();
+        }
+
+        synchronized List<LeaderboardEntryDTO> allTime(int limit) {
+            return first(allTime, limit);
+        }
+
+        // Every hourly board holds its own top capacity, so the top limit <= capacity of their union is exact
+        synchronized List<LeaderboardEntryDTO> since(LocalDateTime fromHour, int limit) {
+            hours.headMap(oldestRetainedHour()).clear();
+            List<LeaderboardEntryDTO> merged = new ArrayList<>();
+            for (TreeSet<LeaderboardEntryDTO> hour : hours.tailMap(fromHour).values()) {
+                merged.addAll(first(hour, limit));
+            }
+            merged.sort(RANKING);
+            return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : List.copyOf(merged);
+        }
+
+        synchronized boolean containsUser(Long userId) {
+            if (allTime.stream().anyMatch(e -> Objects.equals(e.getUserId(), userId))) return true;
+            return hours.values().stream().flatMap(Set::stream).anyMatch(e -> Objects.equals(e.getUserId(), userId));
+        }
+
+        private void addBounded(TreeSet<LeaderboardEntryDTO> set, LeaderboardEntryDTO entry) {
+            set.add(entry);
+            if (set.size() > capacity) {
+                set.pollLast();
+            }
+        }
+
+        private List<LeaderboardEntryDTO> first(TreeSet<LeaderboardEntryDTO> set, int limit) {
+            List<LeaderboardEntryDTO> top = new ArrayList<>(Math.min(limit, set.size()));
+            for (LeaderboardEntryDTO entry : set) {
+                if (top.size() >= limit) break;
+                top.add(entry);
+            }
+            return top;
+        }
+    }
+
+    private LocalDateTime oldestRetainedHour() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+}
@@ -1,24 +1,85 @@
 package com.quizapp.service;
 
+import com.quizapp.event.NotificationEvent;
+import com.quizapp.model.ConversationSummary;
 import com.quizapp.model.Message;
+import com.quizapp.repository.ConversationSummaryRepository;
 import com.quizapp.repository.MessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MessageService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int PREVIEW_LENGTH = 100;
+
     @Autowired
     private MessageRepository messageRepository;
+    @Autowired
+    private ConversationSummaryRepository conversationSummaryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public Message sendMessage(String senderUsername, String receiverUsername, String content) {
         Message message = new Message(senderUsername, receiverUsername, content, LocalDateTime.now());
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        // Upsert the conversation row so the inbox never has to scan messages
+        conversationSummaryRepository.insertIfAbsent(receiverUsername, senderUsername, saved.getId(), saved.getTimestamp());
+        conversationSummaryRepository.findForUpdate(receiverUsername, senderUsername)
+                .orElseThrow(() -> new IllegalStateException("conversation summary missing for " + senderUsername + " -> " + receiverUsername))
+                .advanceTo(saved);
+        eventPublisher.publishEvent(new NotificationEvent(receiverUsername, NotificationEvent.MESSAGE_RECEIVED, Map.of(
+                "messageId", saved.getId() != null ? saved.getId() : 0L,
+                "from", senderUsername,
+                "preview", content == null ? "" : content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content)));
+        return saved;
     }
 
     public List<Message> getLatestMessagesForReceiver(String receiverUsername) {
-        return messageRepository.findLatestMessagesForReceiver(receiverUsername);
+        return getInbox(receiverUsername, null, null, DEFAULT_PAGE_SIZE);
+    }
+
+    // Latest message per sender, newest first; pass the last row's timestamp and id to get the next page
+    public List<Message> getInbox(String receiverUsername, LocalDateTime beforeTimestamp, Long beforeId, Integer limit) {
+        PageRequest page = PageRequest.of(0, pageSize(limit));
+        if (beforeTimestamp == null || beforeId == null) {
+            return conversationSummaryRepository.findInbox(receiverUsername, page);
+        }
+        return conversationSummaryRepository.findInboxBefore(receiverUsername, beforeTimestamp, beforeId, page);
+    }
+
+    // Messages between two users, newest first, paged by (timestamp, id) like the inbox
+    public List<Message> getThread(String username, String otherUsername, LocalDateTime beforeTimestamp, Long beforeId, Integer limit) {
+        PageRequest page = PageRequest.of(0, pageSize(limit));
+        if (beforeTimestamp == null || beforeId == null) {
+            return messageRepository.findThread(username, otherUsername, page);
+        }
+        return messageRepository.findThreadBefore(username, otherUsername, beforeTimestamp, beforeId, page);
+    }
+
+    // Builds summaries for messages sent before the table existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillConversationSummaries() {
+        if (conversationSummaryRepository.count() > 0) return;
+        conversationSummaryRepository.saveAll(messageRepository.findLatestMessagePerConversation().stream()
+                .map(ConversationSummary::new)
+                .toList());
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
-}
\ No newline at end of file
+}
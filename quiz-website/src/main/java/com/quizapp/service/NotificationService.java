@@ -0,0 +1,325 @@
+package com.quizapp.service;
+
+import com.quizapp.event.NotificationEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-user push channel behind GET /api/notifications/stream.
+// Each user keeps a short replay history; each open stream has its own bounded queue drained by a small
+// sender pool, so a slow client never blocks the publisher. A queue that overflows is replaced by a single
+// "resync" event telling the client to refetch its lists. Event ids are "<boot>-<sequence>": a reconnect with
+// Last-Event-ID gets what it missed from the history, or "resync" when the history no longer covers it.
+@Service
+public class NotificationService {
+
+    public static final String RESYNC = "resync";
+
+    // Where queued notifications are written; SseEmitter in production
+    public interface Sink {
+        void send(Notification notification) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    public record Notification(String id, long sequence, String type, Map<String, Object> data) {}
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long replayTtlMillis;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerUser;
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, UserChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public NotificationService(@Value("${quizapp.notifications.buffer-size:64}") int bufferSize,
+                               @Value("${quizapp.notifications.replay-size:100}") int replaySize,
+                               @Value("${quizapp.notifications.replay-ttl-ms:600000}") long replayTtlMillis,
+                               @Value("${quizapp.notifications.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${quizapp.notifications.max-connections-per-user:5}") int maxConnectionsPerUser,
+                               @Value("${quizapp.notifications.sender-threads:2}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.replayTtlMillis = replayTtlMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        AtomicInteger counter = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread thread = new Thread(r, "notification-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotification(NotificationEvent event) {
+        publish(event.getRecipient(), event.getType(), event.getData());
+    }
+
+    public void publish(String username, String type, Map<String, Object> data) {
+        UserChannel channel = channels.computeIfAbsent(username, u -> new UserChannel());
+        long seq = sequence.incrementAndGet();
+        channel.publish(new Notification(bootId + "-" + seq, seq, type, data));
+        published.increment();
+    }
+
+    public SseEmitter subscribe(String username, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = attach(username, lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+        return emitter;
+    }
+
+    public Connection attach(String username, String lastEventId, Sink sink) {
+        Connection connection = new Connection(username, sink);
+        channels.computeIfAbsent(username, u -> new UserChannel()).attach(connection, lastEventId);
+        return connection;
+    }
+
+    // Keeps idle streams open through proxies and drops histories nobody has come back for
+    @Scheduled(fixedDelayString = "${quizapp.notifications.heartbeat-ms:25000}",
+            initialDelayString = "${quizapp.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, UserChannel> entry : channels.entrySet()) {
+            UserChannel channel = entry.getValue();
+            if (channel.isAbandoned(now)) {
+                channels.remove(entry.getKey(), channel);
+            } else {
+                channel.heartbeat();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int connections = 0;
+        for (UserChannel channel : channels.values()) {
+            connections += channel.connectionCount();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("channels", channels.size());
+        stats.put("connections", connections);
+        stats.put("published", published.sum());
+        stats.put("overflows", overflows.sum());
+        stats.put("resyncs", resyncs.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        channels.values().forEach(UserChannel::closeAll);
+        sender.shutdownNow();
+    }
+
+    private Notification resync(long seq) {
+        resyncs.increment();
+        return new Notification(bootId + "-" + seq, seq, RESYNC, Map.of());
+    }
+
+    private final class UserChannel {
+        private final ArrayDeque<Notification> history = new ArrayDeque<>();
+        private final List<Connection> connections = new ArrayList<>();
+        // Highest sequence this channel cannot replay; a cursor below it has missed something. Starts at the
+        // current sequence because a history dropped for inactivity may have held events for the cursor.
+        private long evictedThrough = sequence.get();
+        private long lastActivity = System.currentTimeMillis();
+
+        synchronized void publish(Notification notification) {
+            history.addLast(notification);
+            if (history.size() > replaySize) {
+                evictedThrough = Math.max(evictedThrough, history.removeFirst().sequence());
+            }
+            lastActivity = System.currentTimeMillis();
+            for (Connection connection : connections) {
+                connection.offer(notification);
+            }
+        }
+
+        synchronized void attach(Connection connection, String lastEventId) {
+            connections.add(connection);
+            connection.channel = this;
+            if (connections.size() > maxConnectionsPerUser) {
+                connections.remove(0).close();
+            }
+            lastActivity = System.currentTimeMillis();
+            if (lastEventId == null || lastEventId.isBlank()) return;
+
+            long cursor = cursorOf(lastEventId);
+            if (cursor < 0 || cursor < evictedThrough) {
+                connection.offer(resync(sequence.get()));
+                return;
+            }
+            for (Notification notification : history) {
+                if (notification.sequence() > cursor) {
+                    connection.offer(notification);
+                }
+            }
+        }
+
+        synchronized void detach(Connection connection) {
+            connections.remove(connection);
+            lastActivity = System.currentTimeMillis();
+        }
+
+        synchronized void heartbeat() {
+            for (Connection connection : connections) {
+                connection.offerHeartbeat();
+            }
+        }
+
+        synchronized boolean isAbandoned(long now) {
+            return connections.isEmpty() && now - lastActivity > replayTtlMillis;
+        }
+
+        synchronized int connectionCount() {
+            return connections.size();
+        }
+
+        synchronized void closeAll() {
+            new ArrayList<>(connections).forEach(Connection::close);
+        }
+
+        // -1 when the id is malformed or from before a restart
+        private long cursorOf(String lastEventId) {
+            int dash = lastEventId.lastIndexOf('-');
+            if (dash <= 0 || !lastEventId.substring(0, dash).equals(bootId)) return -1;
+            try {
+                return Long.parseLong(lastEventId.substring(dash + 1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    public final class Connection {
+        private static final Notification HEARTBEAT = new Notification(null, 0, null, null);
+
+        private final String username;
+        private final Sink sink;
+        private final ArrayDeque<Notification> queue = new ArrayDeque<>();
+        private volatile UserChannel channel;
+        private boolean draining;
+        private boolean closed;
+
+        private Connection(String username, Sink sink) {
+            this.username = username;
+            this.sink = sink;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        void offer(Notification notification) {
+            synchronized (this) {
+                if (closed) return;
+                if (queue.size() >= bufferSize) {
+                    // Too far behind to catch up event by event
+                    overflows.increment();
+                    queue.clear();
+                    queue.add(resync(notification.sequence()));
+                } else {
+                    queue.add(notification);
+                }
+                if (draining) return;
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                if (closed || !queue.isEmpty()) return;
+                queue.add(HEARTBEAT);
+                if (draining) return;
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Notification next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if (next == HEARTBEAT) {
+                        sink.heartbeat();
+                    } else {
+                        sink.send(next);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        public void close() {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+                queue.clear();
+            }
+            if (channel != null) {
+                channel.detach(this);
+            }
+            sink.close();
+        }
+    }
+
+    private static final class EmitterSink implements Sink {
+        private final SseEmitter emitter;
+
+        EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(Notification notification) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(notification.id())
+                    .name(notification.type())
+                    .data(notification.data()));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+                // Already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.quizapp.service;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.model.PersonalBest;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.repository.PersonalBestRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// Keeps one personal_bests row per (user, quiz) so best-score lookups are a primary-key read
+@Service
+public class PersonalBestService {
+    private static final Logger log = LoggerFactory.getLogger(PersonalBestService.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final PersonalBestRepository personalBestRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final FriendshipGraph friendshipGraph;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+
+    public PersonalBestService(PersonalBestRepository personalBestRepository,
+                               QuizAttemptRepository quizAttemptRepository,
+                               FriendshipGraph friendshipGraph,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${quizapp.personal-bests.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.personalBestRepository = personalBestRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.friendshipGraph = friendshipGraph;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // Runs inside the submitting transaction, so the attempt and its personal best commit together
+    @EventListener
+    @Transactional
+    public void onAttemptCompleted(QuizAttemptCompletedEvent event) {
+        if (event.isPracticeMode()) return;
+        QuizAttempt attempt = event.getAttempt();
+        PersonalBest.Key key = new PersonalBest.Key(attempt.getUser().getId(), attempt.getQuiz().getId());
+        personalBestRepository.insertIfAbsent(key.getUserId(), key.getQuizId());
+        PersonalBest best = personalBestRepository.findByIdForUpdate(key)
+                .orElseThrow(() -> new IllegalStateException("personal_bests row missing for " + key));
+        best.record(attempt.getId(), attempt.getScore(), attempt.getPercentage(), attempt.getTimeTakenMinutes(),
+                attempt.getEndTime());
+        personalBestRepository.save(best);
+    }
+
+    public Optional<Integer> getBestScore(String username, Long quizId) {
+        return personalBestRepository.findBestScore(username, quizId);
+    }
+
+    public List<PersonalBest> getPersonalBests(String username) {
+        return personalBestRepository.findAllByUsername(username);
+    }
+
+    // The user's best on a quiz next to each friend's who has played it, best first
+    public List<Map<String, Object>> getFriendComparison(String username, Long quizId) {
+        List<String> usernames = new ArrayList<>(friendshipGraph.getFriendUsernames(username));
+        usernames.add(username);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] row : personalBestRepository.findByQuizIdAndUsernames(quizId, usernames)) {
+            PersonalBest best = (PersonalBest) row[1];
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("username", row[0]);
+            entry.put("bestScore", best.getBestScore());
+            entry.put("bestPercentage", best.getBestPercentage());
+            entry.put("bestTimeMinutes", best.getBestTimeMinutes());
+            entry.put("attemptCount", best.getAttemptCount());
+            entry.put("self", username.equals(row[0]));
+            rows.add(entry);
+        }
+        rows.sort(Comparator.comparing((Map<String, Object> e) -> (Integer) e.get("bestScore"),
+                        Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(e -> (Long) e.get("bestTimeMinutes"), Comparator.nullsLast(Comparator.naturalOrder())));
+        return rows;
+    }
+
+    // One-shot build from quiz_attempts; only runs on startup while the table is still empty.
+    // A self-call skips the @Transactional proxy, so the template supplies the transaction.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillOnStartup && personalBestRepository.count() == 0) {
+            transactionTemplate.execute(status -> backfill());
+        }
+    }
+
+    @Transactional
+    public int backfill() {
+        Map<PersonalBest.Key, PersonalBest> bests = new HashMap<>();
+        long afterId = 0L;
+        List<LeaderboardEntryDTO> page;
+        do {
+            page = quizAttemptRepository.findLeaderboardEntriesAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (LeaderboardEntryDTO entry : page) {
+                record(bests, entry);
+                afterId = entry.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        personalBestRepository.deleteAllInBatch();
+        personalBestRepository.saveAll(bests.values());
+        log.info("Personal bests backfilled for {} user/quiz pairs", bests.size());
+        return bests.size();
+    }
+
+    // Recompute a single quiz after attempts were removed or regraded
+    @Transactional
+    public void rebuildQuiz(Long quizId) {
+        Map<PersonalBest.Key, PersonalBest> bests = new HashMap<>();
+        long afterId = 0L;
+        List<LeaderboardEntryDTO> page;
+        do {
+            page = quizAttemptRepository.findLeaderboardEntriesByQuizIdAfter(quizId, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (LeaderboardEntryDTO entry : page) {
+                record(bests, entry);
+                afterId = entry.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        personalBestRepository.deleteByQuizId(quizId);
+        personalBestRepository.saveAll(bests.values());
+    }
+
+    @Transactional
+    public void removeQuiz(Long quizId) {
+        personalBestRepository.deleteByQuizId(quizId);
+    }
+
+    private static void record(Map<PersonalBest.Key, PersonalBest> bests, LeaderboardEntryDTO entry) {
+        PersonalBest.Key key = new PersonalBest.Key(entry.getUserId(), entry.getQuizId());
+        bests.computeIfAbsent(key, k -> new PersonalBest(k.getUserId(), k.getQuizId()))
+                .record(entry.getId(), entry.getScore(), entry.getPercentage(), entry.getTimeTakenMinutes(), entry.getEndTime());
+    }
+}
@@ -1,22 +1,35 @@
 package com.quizapp.service;
 
+import com.quizapp.model.Option;
 import com.quizapp.model.Question;
 import com.quizapp.repository.QuestionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class QuestionService {
 
     private final QuestionRepository questionRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final SearchIndex searchIndex;
+    private final RegradeService regradeService;
 
     @Autowired
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository, AnswerKeyCache answerKeyCache,
+                           QuizSnapshotCache quizSnapshotCache, SearchIndex searchIndex,
+                           RegradeService regradeService) {
         this.questionRepository = questionRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.quizSnapshotCache = quizSnapshotCache;
+        this.searchIndex = searchIndex;
+        this.regradeService = regradeService;
     }
 
     public List<Question> getAllQuestions() {
@@ -29,22 +42,80 @@ public class QuestionService {
 
     @Transactional
     public Question createQuestion(Question question) {
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        quizSnapshotCache.invalidate(quizIdOf(saved));
+        searchIndex.indexQuestion(quizIdOf(saved), saved.getId(), saved.getQuestionText());
+        return saved;
     }
 
     @Transactional
     public Optional<Question> updateQuestion(Long id, Question updatedQuestionData) {
         return questionRepository.findById(id).map(question -> {
             question.setQuestionText(updatedQuestionData.getQuestionText());
-            // Update other properties like answers, type, etc.
-            return questionRepository.save(question);
+            boolean keyChanged = applyAnswerData(question, updatedQuestionData);
+            answerKeyCache.invalidate(id);
+            quizSnapshotCache.invalidate(quizIdOf(question));
+            searchIndex.indexQuestion(quizIdOf(question), id, question.getQuestionText());
+            Question saved = questionRepository.save(question);
+            // Answers already stored against the old key are regraded in the background
+            if (keyChanged) {
+                regradeService.enqueue(List.of(id));
+            }
+            return saved;
         });
     }
 
+    // Copies the fields that make up the answer key; true when any of them changed
+    private static boolean applyAnswerData(Question question, Question data) {
+        boolean changed = false;
+        if (data.getType() != null && data.getType() != question.getType()) {
+            question.setType(data.getType());
+            changed = true;
+        }
+        if (data.getOrderMatters() != null && !data.getOrderMatters().equals(question.getOrderMatters())) {
+            question.setOrderMatters(data.getOrderMatters());
+            changed = true;
+        }
+        if (data.getCorrectAnswers() != null && !data.getCorrectAnswers().equals(question.getCorrectAnswers())) {
+            question.setCorrectAnswers(new ArrayList<>(data.getCorrectAnswers()));
+            changed = true;
+        }
+        if (data.getOptions() != null && !sameOptions(data.getOptions(), question.getOptions())) {
+            // Options are orphan-removed, so the managed list is refilled rather than replaced
+            List<Option> options = question.getOptions() != null ? question.getOptions() : new ArrayList<>();
+            options.clear();
+            for (Option option : data.getOptions()) {
+                options.add(new Option(option.getText(), option.getIsCorrect()));
+            }
+            question.setOptions(options);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean sameOptions(List<Option> a, List<Option> b) {
+        if (b == null || a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (!Objects.equals(a.get(i).getText(), b.get(i).getText()) || a.get(i).getIsCorrect() != b.get(i).getIsCorrect()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Transactional
     public void deleteQuestion(Long id) {
+        answerKeyCache.invalidate(id);
+        questionRepository.findById(id).ifPresent(question -> {
+            quizSnapshotCache.invalidate(quizIdOf(question));
+            searchIndex.removeQuestion(quizIdOf(question), id);
+        });
         questionRepository.deleteById(id);
     }
 
+    private static Long quizIdOf(Question question) {
+        return question.getQuiz() != null ? question.getQuiz().getId() : null;
+    }
+
     // List<Question> getQuestionsByQuizId(Long quizId);
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.quizapp.service;
 
+import com.quizapp.dto.GradedSheet;
 import com.quizapp.model.Answer;
+import com.quizapp.model.AnswerKey;
 import com.quizapp.model.Question;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 @Service
@@ -11,12 +15,17 @@ public class QuizGradingService {
 
     // Grade a single answer
     public boolean gradeAnswer(Question question, String userAnswer) {
-        if (userAnswer == null || userAnswer.trim().isEmpty()) {
+        if (AnswerKey.isBlank(userAnswer)) {
             return false;
         }
         return question.isAnswerCorrect(userAnswer);
     }
 
+    // Same rule against a compiled key, as used for whole sheets and regrades
+    public boolean gradeAnswer(AnswerKey key, String userAnswer) {
+        return !AnswerKey.isBlank(userAnswer) && key.isAnswerCorrect(userAnswer);
+    }
+
     // Grade multiple answers for a single question (for multi-answer questions)
     public boolean gradeMultiAnswerQuestion(Question question, List<String> userAnswers) {
         if (userAnswers == null || userAnswers.isEmpty()) {
@@ -25,25 +34,35 @@ public class QuizGradingService {
         return question.areAnswersCorrect(userAnswers);
     }
 
+    // Grade a whole answer sheet in one pass; keys.get(i) grades userAnswers.get(i).
+    // Blank answers are wrong, as in gradeAnswer. Nothing is allocated per answer.
+    public GradedSheet gradeSheet(List<AnswerKey> keys, List<String> userAnswers) {
+        BitSet correct = new BitSet(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (gradeAnswer(keys.get(i), userAnswers.get(i))) {
+                correct.set(i);
+            }
+        }
+        return new GradedSheet(correct, keys.size());
+    }
+
     // Grade whole quiz
     public QuizGradingResult gradeQuiz(List<Answer> answers) {
-        QuizGradingResult result = new QuizGradingResult();
-        int totalQuestions = answers.size();
-        int correctAnswers = 0;
-        double totalScore = 0.0;
+        List<AnswerKey> keys = new ArrayList<>(answers.size());
+        List<String> userAnswers = new ArrayList<>(answers.size());
         for (Answer answer : answers) {
-            Question question = answer.getQuestion();
-            boolean isCorrect = gradeAnswer(question, answer.getUserAnswer());
-            answer.setIsCorrect(isCorrect);
-            if (isCorrect) {
-                correctAnswers++;
-                totalScore += 1.0;
-            }
+            keys.add(answer.getQuestion().getAnswerKey());
+            userAnswers.add(answer.getUserAnswer());
         }
-        result.setTotalQuestions(totalQuestions);
-        result.setCorrectAnswers(correctAnswers);
-        result.setScore(totalScore);
-        result.setPercentage((totalScore / totalQuestions) * 100);
+        GradedSheet sheet = gradeSheet(keys, userAnswers);
+        for (int i = 0; i < answers.size(); i++) {
+            answers.get(i).setIsCorrect(sheet.isCorrect(i));
+        }
+        QuizGradingResult result = new QuizGradingResult();
+        result.setTotalQuestions(sheet.getTotalQuestions());
+        result.setCorrectAnswers(sheet.getScore());
+        result.setScore(sheet.getScore());
+        result.setPercentage((sheet.getScore() / (double) sheet.getTotalQuestions()) * 100);
         result.setGradedAnswers(answers);
         return result;
     }
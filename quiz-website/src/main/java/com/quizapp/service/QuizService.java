@@ -1,14 +1,20 @@
 package com.quizapp.service;
 
+import com.quizapp.dto.QuizCataloguePage;
+import com.quizapp.dto.QuizSummaryDTO;
+import com.quizapp.event.QuizCreatedEvent;
 import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuizFetchPlans;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.model.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
-import java.util.Map;
-import java.util.HashMap;
+import org.springframework.data.domain.Pageable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 import java.util.List;
 
@@ -17,6 +23,11 @@ import java.util.List;
 public class QuizService {
 
     private final QuizRepository quizRepository;
+    private final QuizFetchPlans quizFetchPlans;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final SearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Quiz createQuiz(Quiz quiz) {
@@ -24,6 +35,8 @@ public class QuizService {
             quiz.getQuestions().forEach(q -> q.setQuiz(quiz));
         }
         Quiz savedQuiz = quizRepository.save(quiz);
+        quizSnapshotCache.invalidate(savedQuiz.getId());
+        eventPublisher.publishEvent(new QuizCreatedEvent(savedQuiz));
         return savedQuiz;
     }
 
@@ -32,37 +45,70 @@ public class QuizService {
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
     }
 
+    // Fetch plan: FULL_QUESTIONS, for rendering the whole quiz
+    public Quiz findWithQuestions(Long id) {
+        return quizFetchPlans.withFullQuestions(id)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+    }
+
     public List<Quiz> getAllQuizzes() {
         return quizRepository.findAll();
     }
+
+    // Catalogue page sorted by "newest", "most_taken" or "highest_rated". The cursor is opaque to clients:
+    // base64url of "sortKey|id" from the last row of the previous page.
+    public QuizCataloguePage getCatalogue(String sort, String creator, Boolean practiceMode, String cursor, int limit) {
+        String[] after = decodeCursor(cursor);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<QuizSummaryDTO> rows;
+        try {
+            switch (sort) {
+                case "newest" -> rows = quizRepository.findCatalogueNewest(creator, practiceMode,
+                        after == null ? null : Long.valueOf(after[1]), page);
+                case "most_taken" -> rows = quizRepository.findCatalogueMostTaken(creator, practiceMode,
+                        after == null ? null : Long.valueOf(after[0]), after == null ? null : Long.valueOf(after[1]), page);
+                case "highest_rated" -> rows = quizRepository.findCatalogueHighestRated(creator, practiceMode,
+                        after == null ? null : Double.valueOf(after[0]), after == null ? null : Long.valueOf(after[1]), page);
+                default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (rows.size() <= limit) {
+            return new QuizCataloguePage(rows, null);
+        }
+        List<QuizSummaryDTO> quizzes = rows.subList(0, limit);
+        QuizSummaryDTO last = quizzes.get(limit - 1);
+        String key = switch (sort) {
+            case "most_taken" -> Long.toString(last.attemptCount);
+            case "highest_rated" -> Double.toString(last.averagePercentage);
+            default -> Long.toString(last.id);
+        };
+        return new QuizCataloguePage(List.copyOf(quizzes), encodeCursor(key, last.id));
+    }
+
+    private static String encodeCursor(String key, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid cursor");
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
     @Transactional
     public void deleteQuiz(Long id) {
+        answerKeyCache.invalidateQuiz(id);
+        quizSnapshotCache.invalidate(id);
+        searchIndex.removeQuiz(id);
         quizRepository.deleteById(id);
     }
 
-    // Get top N most taken quizzes (by number of completed, non-practice attempts)
-    public List<Map<String, Object>> getTopMostTakenQuizzes(int n, com.quizapp.repository.QuizAttemptRepository quizAttemptRepository) {
-        var results = quizAttemptRepository.findTopMostTakenQuizzes(PageRequest.of(0, n));
-        List<Long> quizIds = new java.util.ArrayList<>();
-        Map<Long, Long> attemptCounts = new HashMap<>();
-        for (Object[] row : results) {
-            Long quizId = ((Number) row[0]).longValue();
-            Long count = ((Number) row[1]).longValue();
-            quizIds.add(quizId);
-            attemptCounts.put(quizId, count);
-        }
-        List<Quiz> quizzes = quizRepository.findByIdIn(quizIds);
-        // Preserve order and attach attempt counts
-        List<Map<String, Object>> popular = new java.util.ArrayList<>();
-        for (Long id : quizIds) {
-            Quiz quiz = quizzes.stream().filter(q -> q.getId().equals(id)).findFirst().orElse(null);
-            if (quiz != null) {
-                Map<String, Object> map = new HashMap<>();
-                map.put("quiz", quiz);
-                map.put("attemptCount", attemptCounts.get(id));
-                popular.add(map);
-            }
-        }
-        return popular;
-    }
 }
\ No newline at end of file
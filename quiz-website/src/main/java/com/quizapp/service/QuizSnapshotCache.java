@@ -0,0 +1,138 @@
+package com.quizapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.dto.QuestionDTO;
+import com.quizapp.dto.QuizSnapshot;
+import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuizFetchPlans;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Question lists served to quiz takers, built once per quiz version and kept in a bounded LRU map.
+// Editing a quiz bumps its version, so a snapshot built from older data is never served again.
+@Component
+public class QuizSnapshotCache {
+
+    private final QuizFetchPlans quizFetchPlans;
+    private final AnswerKeyCache answerKeyCache;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, QuizSnapshot> snapshots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuizSnapshotCache(QuizFetchPlans quizFetchPlans,
+                             AnswerKeyCache answerKeyCache,
+                             ObjectMapper objectMapper,
+                             @Value("${quizapp.quiz-snapshots.max-entries:500}") int maxEntries) {
+        this.quizFetchPlans = quizFetchPlans;
+        this.answerKeyCache = answerKeyCache;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, QuizSnapshot> eldest) {
+                if (size() > QuizSnapshotCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public QuizSnapshot get(Long quizId) {
+        long version = currentVersion(quizId);
+        synchronized (snapshots) {
+            QuizSnapshot cached = snapshots.get(quizId);
+            if (cached != null && cached.getVersion() == version) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        QuizSnapshot loaded = load(quizId, version);
+        // Only keep it if no edit landed while we were loading
+        if (currentVersion(quizId) == version) {
+            synchronized (snapshots) {
+                QuizSnapshot cached = snapshots.get(quizId);
+                if (cached == null || cached.getVersion() <= version) {
+                    snapshots.put(quizId, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // Bumps the version now and again after the surrounding transaction ends, so a reader that
+    // loads the old rows between the two cannot keep them cached
+    public void invalidate(Long quizId) {
+        if (quizId == null) return;
+        bump(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(quizId);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (snapshots) {
+            stats.put("size", snapshots.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private void bump(Long quizId) {
+        versions.computeIfAbsent(quizId, id -> new AtomicLong()).incrementAndGet();
+        invalidations.increment();
+        synchronized (snapshots) {
+            snapshots.remove(quizId);
+        }
+    }
+
+    private long currentVersion(Long quizId) {
+        AtomicLong version = versions.get(quizId);
+        return version == null ? 0L : version.get();
+    }
+
+    // Fetch plan: FULL_QUESTIONS
+    private QuizSnapshot load(Long quizId, long version) {
+        Quiz quiz = quizFetchPlans.withFullQuestions(quizId)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        List<QuestionDTO> questions = new ArrayList<>();
+        if (quiz.getQuestions() != null) {
+            answerKeyCache.warm(quiz.getQuestions());
+            quiz.getQuestions().forEach(question -> questions.add(new QuestionDTO(question)));
+        }
+        try {
+            return new QuizSnapshot(quizId, version, questions, objectMapper.writeValueAsBytes(questions));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize quiz " + quizId, e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.quizapp.service;
+
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.model.QuizStatistics;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Keeps one quiz_statistics row per quiz so the statistics endpoint never scans attempts
+@Service
+public class QuizStatisticsService {
+    private static final Logger log = LoggerFactory.getLogger(QuizStatisticsService.class);
+
+    private final QuizStatisticsRepository quizStatisticsRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+
+    public QuizStatisticsService(QuizStatisticsRepository quizStatisticsRepository,
+                                 QuizAttemptRepository quizAttemptRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${quizapp.statistics.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.quizStatisticsRepository = quizStatisticsRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    // Runs inside the submitting transaction, so the attempt and its aggregate commit together
+    @EventListener
+    @Transactional
+    public void onAttemptCompleted(QuizAttemptCompletedEvent event) {
+        if (event.isPracticeMode()) return;
+        Long quizId = event.getAttempt().getQuiz().getId();
+        quizStatisticsRepository.insertIfAbsent(quizId);
+        QuizStatistics stats = quizStatisticsRepository.findByQuizIdForUpdate(quizId)
+                .orElseThrow(() -> new IllegalStateException("quiz_statistics row missing for quiz " + quizId));
+        stats.record(event.getAttempt());
+        quizStatisticsRepository.save(stats);
+    }
+
+    public Map<String, Object> getStatistics(Long quizId) {
+        QuizStatistics stats = quizStatisticsRepository.findById(quizId).orElse(null);
+        if (stats == null || stats.getAttemptCount() == 0) {
+            return Map.of(
+                    "totalAttempts", 0,
+                    "averageScore", 0.0,
+                    "averageTime", 0.0,
+                    "highestScore", 0,
+                    "scoreStdDev", 0.0,
+                    "scoreHistogram", new long[QuizStatistics.HISTOGRAM_BUCKETS]
+            );
+        }
+        return Map.of(
+                "totalAttempts", (int) stats.getAttemptCount(),
+                "averageScore", round(stats.getAveragePercentage()),
+                "averageTime", round(stats.getAverageTime()),
+                "highestScore", stats.getMaxScore() != null ? stats.getMaxScore() : 0,
+                "scoreStdDev", round(stats.getPercentageStdDev()),
+                "scoreHistogram", stats.getScoreHistogram()
+        );
+    }
+
+    // One-shot build from quiz_attempts; only runs on startup while the summary table is still empty.
+    // A self-call skips the @Transactional proxy, so the template supplies the transaction.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillOnStartup && quizStatisticsRepository.count() == 0) {
+            transactionTemplate.execute(status -> backfill());
+        }
+    }
+
+    @Transactional
+    public int backfill() {
+        Map<Long, QuizStatistics> byQuiz = new HashMap<>();
+        for (Object[] row : quizAttemptRepository.aggregateStatisticsByQuiz()) {
+            QuizStatistics stats = fromAggregateRow(row);
+            byQuiz.put(stats.getQuizId(), stats);
+        }
+        applyHistogramRows(byQuiz, quizAttemptRepository.scoreHistogramByQuiz());
+        quizStatisticsRepository.deleteAllInBatch();
+        quizStatisticsRepository.saveAll(byQuiz.values());
+        log.info("Quiz statistics backfilled for {} quizzes", byQuiz.size());
+        return byQuiz.size();
+    }
+
+    // Recompute a single quiz after attempts were removed or regraded
+    @Transactional
+    public void rebuildQuiz(Long quizId) {
+        Map<Long, QuizStatistics> byQuiz = new HashMap<>();
+        for (Object[] row : quizAttemptRepository.aggregateStatisticsForQuiz(quizId)) {
+            QuizStatistics stats = fromAggregateRow(row);
+            byQuiz.put(stats.getQuizId(), stats);
+        }
+        applyHistogramRows(byQuiz, quizAttemptRepository.scoreHistogramForQuiz(quizId));
+        QuizStatistics stats = byQuiz.get(quizId);
+        if (stats == null) {
+            removeQuiz(quizId);
+        } else {
+            quizStatisticsRepository.save(stats);
+        }
+    }
+
+    @Transactional
+    public void removeQuiz(Long quizId) {
+        if (quizStatisticsRepository.existsById(quizId)) {
+            quizStatisticsRepository.deleteById(quizId);
+        }
+    }
+
+    private QuizStatistics fromAggregateRow(Object[] row) {
+        QuizStatistics stats = new QuizStatistics(((Number) row[0]).longValue());
+        stats.setAttemptCount(toLong(row[1]));
+        stats.setPercentageSum(toDouble(row[2]));
+        stats.setPercentageSumOfSquares(toDouble(row[3]));
+        stats.setTimeTakenSum(toLong(row[4]));
+        stats.setMaxScore(row[5] != null ? ((Number) row[5]).intValue() : null);
+        stats.updateAverage();
+        stats.setUpdatedAt(LocalDateTime.now());
+        return stats;
+    }
+
+    private void applyHistogramRows(Map<Long, QuizStatistics> byQuiz, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            QuizStatistics stats = byQuiz.get(((Number) row[0]).longValue());
+            if (stats == null) continue;
+            double bucketStart = row[1] != null ? ((Number) row[1]).doubleValue() * 10 : 0.0;
+            stats.getScoreHistogram()[QuizStatistics.histogramBucket(bucketStart)] += toLong(row[2]);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,11 +1,18 @@
 package com.quizapp.service;
 
+import com.quizapp.dto.GradedSheet;
+import com.quizapp.dto.GradedSubmission;
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.dto.QuizSnapshot;
+import com.quizapp.event.QuizAttemptCompletedEvent;
 import com.quizapp.model.*;
 import com.quizapp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -16,16 +23,43 @@ public class QuizTakingService {
     private final QuizAttemptRepository quizAttemptRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
+    private final AnswerBatchWriter answerBatchWriter;
+    private final QuizAttemptBatchWriter quizAttemptBatchWriter;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizGradingService quizGradingService;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final QuizFetchPlans quizFetchPlans;
+    private final LeaderboardService leaderboardService;
+    private final QuizStatisticsService quizStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public QuizTakingService(QuizRepository quizRepository,
                              QuizAttemptRepository quizAttemptRepository,
                              QuestionRepository questionRepository,
-                             AnswerRepository answerRepository) {
+                             AnswerRepository answerRepository,
+                             AnswerBatchWriter answerBatchWriter,
+                             QuizAttemptBatchWriter quizAttemptBatchWriter,
+                             AnswerKeyCache answerKeyCache,
+                             QuizGradingService quizGradingService,
+                             QuizSnapshotCache quizSnapshotCache,
+                             QuizFetchPlans quizFetchPlans,
+                             LeaderboardService leaderboardService,
+                             QuizStatisticsService quizStatisticsService,
+                             ApplicationEventPublisher eventPublisher) {
         this.quizRepository = quizRepository;
         this.quizAttemptRepository = quizAttemptRepository;
         this.questionRepository = questionRepository;
         this.answerRepository = answerRepository;
+        this.answerBatchWriter = answerBatchWriter;
+        this.quizAttemptBatchWriter = quizAttemptBatchWriter;
+        this.answerKeyCache = answerKeyCache;
+        this.quizGradingService = quizGradingService;
+        this.quizSnapshotCache = quizSnapshotCache;
+        this.quizFetchPlans = quizFetchPlans;
+        this.leaderboardService = leaderboardService;
+        this.quizStatisticsService = quizStatisticsService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Start a new attempt
@@ -41,7 +75,7 @@ public class QuizTakingService {
                 // If no answers exist for this attempt, reset startTime
                 List<Answer> answers = answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId());
                 if (answers == null || answers.isEmpty()) {
-                    attempt.setStartTime(java.time.LocalDateTime.now());
+                    attempt.setStartTime(LocalDateTime.now());
                     quizAttemptRepository.save(attempt);
                 }
                 return attempt;
@@ -56,42 +90,109 @@ public class QuizTakingService {
     // Submit answers and grade
     @Transactional
     public QuizAttempt submitQuiz(Long attemptId, Map<Long, String> questionAnswers) {
+        return submitQuiz(attemptId, questionAnswers, LocalDateTime.now());
+    }
+
+    // submittedAt is kept separate so replayed submissions keep their original time taken
+    @Transactional
+    public QuizAttempt submitQuiz(Long attemptId, Map<Long, String> questionAnswers, LocalDateTime submittedAt) {
+        QuizAttempt attempt = findIncompleteAttempt(attemptId);
+
+        // Remove previous answers for this attempt (if any) in one statement
+        answerRepository.deleteByQuizAttemptId(attemptId);
+
+        // Save new answers and grade
+        GradedAnswers graded = gradeAnswers(attempt, attempt, questionAnswers);
+        answerBatchWriter.insertAll(graded.answers());
+        attempt.completeAttempt(graded.sheet().getScore(), submittedAt);
+        QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
+        eventPublisher.publishEvent(new QuizAttemptCompletedEvent(savedAttempt));
+        return savedAttempt;
+    }
+
+    // Grades without writing anything; the result holds a detached, completed copy of the attempt
+    @Transactional(readOnly = true)
+    public GradedSubmission gradeSubmission(Long attemptId, Map<Long, String> questionAnswers, LocalDateTime submittedAt) {
+        QuizAttempt attempt = findIncompleteAttempt(attemptId);
+        QuizAttempt graded = new QuizAttempt();
+        graded.setId(attempt.getId());
+        graded.setUser(attempt.getUser());
+        graded.setQuiz(attempt.getQuiz());
+        graded.setStartTime(attempt.getStartTime());
+        graded.setTotalQuestions(attempt.getTotalQuestions());
+        graded.setIsPracticeMode(attempt.getIsPracticeMode());
+        GradedAnswers result = gradeAnswers(attempt, graded, questionAnswers);
+        graded.completeAttempt(result.sheet().getScore(), submittedAt);
+        return new GradedSubmission(graded, result.answers());
+    }
+
+    // Writes several graded submissions at once: one batched UPDATE for the attempts, one bulk DELETE and
+    // one batched INSERT for the answers. Attempts completed in the meantime are skipped; returns the ids written.
+    @Transactional
+    public List<Long> persistGradedSubmissions(List<GradedSubmission> submissions) {
+        List<QuizAttempt> attempts = new ArrayList<>(submissions.size());
+        for (GradedSubmission submission : submissions) {
+            attempts.add(submission.getAttempt());
+        }
+        List<Long> completedIds = quizAttemptBatchWriter.completeAll(attempts);
+        if (completedIds.isEmpty()) return completedIds;
+
+        Set<Long> completed = new HashSet<>(completedIds);
+        List<Answer> answers = new ArrayList<>();
+        for (GradedSubmission submission : submissions) {
+            if (completed.contains(submission.getAttempt().getId())) {
+                answers.addAll(submission.getAnswers());
+            }
+        }
+        answerRepository.deleteByQuizAttemptIdIn(completedIds);
+        answerBatchWriter.insertAll(answers);
+        // Fresh reads, since the attempts were updated behind the persistence context
+        for (QuizAttempt attempt : quizAttemptRepository.findAllById(completedIds)) {
+            eventPublisher.publishEvent(new QuizAttemptCompletedEvent(attempt));
+        }
+        return completedIds;
+    }
+
+    private QuizAttempt findIncompleteAttempt(Long attemptId) {
         QuizAttempt attempt = quizAttemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
 
         if (attempt.getIsCompleted()) {
             throw new RuntimeException("Quiz attempt already completed");
         }
+        return attempt;
+    }
 
-        // Remove previous answers for this attempt (if any)
-        List<Answer> oldAnswers = answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attemptId);
-        if (!oldAnswers.isEmpty()) {
-            answerRepository.deleteAll(oldAnswers);
-        }
+    // The sheet's score goes straight onto the attempt; its bits become the answers' isCorrect flags
+    private record GradedAnswers(GradedSheet sheet, List<Answer> answers) {}
 
-        // Save new answers and grade
-        int correctCount = 0;
-        Quiz quiz = attempt.getQuiz();
-        List<Question> questions = quiz.getQuestions();
-        List<Answer> answers = new ArrayList<>();
+    private GradedAnswers gradeAnswers(QuizAttempt attempt, QuizAttempt owner, Map<Long, String> questionAnswers) {
+        List<Question> questions = attempt.getQuiz().getQuestions();
+        // Fetch plan: ANSWER_DATA, only for questions whose keys are not compiled yet
+        List<Question> uncached = answerKeyCache.uncached(questions);
+        if (!uncached.isEmpty()) {
+            quizFetchPlans.fetchAnswerData(uncached);
+        }
+        List<AnswerKey> keys = new ArrayList<>(questions.size());
+        List<String> userAnswers = new ArrayList<>(questions.size());
         for (Question q : questions) {
-            String userAnswer = questionAnswers.get(q.getId());
-            boolean isCorrect = userAnswer != null && q.isAnswerCorrect(userAnswer);
-            if (isCorrect) correctCount++;
-            Answer answer = new Answer(
+            keys.add(answerKeyCache.get(q));
+            userAnswers.add(questionAnswers.get(q.getId()));
+        }
+        GradedSheet sheet = quizGradingService.gradeSheet(keys, userAnswers);
+        List<Answer> answers = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question q = questions.get(i);
+            answers.add(new Answer(
                     attempt.getUser(),
-                    attempt,
+                    owner,
                     q,
-                    userAnswer,
-                    isCorrect,
+                    userAnswers.get(i),
+                    sheet.isCorrect(i),
                     q.getQuestionOrder()
-            );
-            answers.add(answer);
+            ));
         }
-        answerRepository.saveAll(answers);
-        attempt.completeAttempt(correctCount);
-        QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
-        return savedAttempt;
+        return new GradedAnswers(sheet, answers);
     }
 
     // Get results
@@ -99,6 +200,17 @@ public class QuizTakingService {
         QuizAttempt attempt = quizAttemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
         List<Answer> answers = answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attemptId);
+        return results(attempt, answers);
+    }
+
+    // Results for a submission that is acknowledged but not yet written
+    public Map<String, Object> getQuizResults(GradedSubmission submission) {
+        List<Answer> answers = new ArrayList<>(submission.getAnswers());
+        answers.sort(Comparator.comparing(Answer::getQuestionNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        return results(submission.getAttempt(), answers);
+    }
+
+    private Map<String, Object> results(QuizAttempt attempt, List<Answer> answers) {
         Map<String, Object> results = new HashMap<>();
         results.put("attempt", attempt);
         results.put("answers", answers);
@@ -109,9 +221,8 @@ public class QuizTakingService {
         return results;
     }
 
-    public List<QuizAttempt> getTopScores(Long quizId, int limit) {
-        List<QuizAttempt> topScores = quizAttemptRepository.findTopScoresByQuizId(quizId);
-        return topScores.stream().limit(limit).collect(Collectors.toList());
+    public List<LeaderboardEntryDTO> getTopScores(Long quizId, int limit) {
+        return leaderboardService.getTopScores(quizId, limit);
     }
 
     public List<QuizAttempt> getUserQuizHistory(Long userId, Long quizId) {
@@ -128,42 +239,7 @@ public class QuizTakingService {
     }
 
     public Map<String, Object> getQuizStatistics(Long quizId) {
-        List<QuizAttempt> allAttempts = quizAttemptRepository.findByQuizIdOrderByScoreDescTimeTakenMinutesAsc(quizId);
-        List<QuizAttempt> completedAttempts = allAttempts.stream()
-                .filter(QuizAttempt::getIsCompleted)
-                .filter(attempt -> !attempt.getIsPracticeMode())
-                .collect(Collectors.toList());
-
-        if (completedAttempts.isEmpty()) {
-            return Map.of(
-                    "totalAttempts", 0,
-                    "averageScore", 0.0,
-                    "averageTime", 0.0,
-                    "highestScore", 0
-            );
-        }
-
-        double averageScore = completedAttempts.stream()
-                .mapToDouble(QuizAttempt::getPercentage)
-                .average()
-                .orElse(0.0);
-
-        double averageTime = completedAttempts.stream()
-                .mapToDouble(attempt -> attempt.getTimeTakenMinutes() != null ? attempt.getTimeTakenMinutes() : 0)
-                .average()
-                .orElse(0.0);
-
-        int highestScore = completedAttempts.stream()
-                .mapToInt(QuizAttempt::getScore)
-                .max()
-                .orElse(0);
-
-        return Map.of(
-                "totalAttempts", completedAttempts.size(),
-                "averageScore", Math.round(averageScore * 100.0) / 100.0,
-                "averageTime", Math.round(averageTime * 100.0) / 100.0,
-                "highestScore", highestScore
-        );
+        return quizStatisticsService.getStatistics(quizId);
     }
 
     public QuizAttempt resumeQuiz(Long attemptId) {
@@ -177,10 +253,12 @@ public class QuizTakingService {
         return attempt;
     }
 
+    // Fetch plan: FULL_QUESTIONS
     public List<Question> getQuizQuestions(Long quizId, boolean randomize) {
-        Quiz quiz = quizRepository.findById(quizId)
+        Quiz quiz = quizFetchPlans.withFullQuestions(quizId)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
         List<Question> questions = quiz.getQuestions();
+        answerKeyCache.warm(questions);
         if (randomize) {
             List<Question> shuffled = new ArrayList<>(questions);
             Collections.shuffle(shuffled);
@@ -189,17 +267,25 @@ public class QuizTakingService {
         return questions;
     }
 
+    // Shared, immutable question list for takers; cached per quiz version
+    public QuizSnapshot getQuizSnapshot(Long quizId) {
+        return quizSnapshotCache.get(quizId);
+    }
+
     public boolean checkSingleAnswer(Long attemptId, Long questionId, String userAnswer) {
         QuizAttempt attempt = quizAttemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
-        return question.isAnswerCorrect(userAnswer);
+        return answerKeyCache.get(question).isAnswerCorrect(userAnswer);
+    }
+
+    public List<LeaderboardEntryDTO> getTopScoresToday(Long quizId, int limit) {
+        return leaderboardService.getTopScoresToday(quizId, limit);
     }
 
-    public List<QuizAttempt> getTopScoresToday(Long quizId, int limit) {
-        List<QuizAttempt> topScoresToday = quizAttemptRepository.findTopScoresTodayByQuizId(quizId);
-        return topScoresToday.stream().limit(limit).collect(Collectors.toList());
+    public List<LeaderboardEntryDTO> getTopScoresForLastHours(Long quizId, int hours, int limit) {
+        return leaderboardService.getTopScoresForLastHours(quizId, hours, limit);
     }
 
 }
\ No newline at end of file
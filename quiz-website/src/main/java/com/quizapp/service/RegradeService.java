@@ -0,0 +1,231 @@
+package com.quizapp.service;
+
+import com.quizapp.model.AnswerKey;
+import com.quizapp.model.Question;
+import com.quizapp.model.RegradeJob;
+import com.quizapp.repository.AnswerBatchWriter;
+import com.quizapp.repository.AnswerRepository;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizAttemptBatchWriter;
+import com.quizapp.repository.RegradeJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+// Regrades stored answers after a question's answer key changes.
+// Jobs run one at a time on a background thread: answers are read in keyset chunks, graded in parallel on a small
+// fork-join pool, and each chunk's answer flags, attempt scores and the job's resume point commit together.
+// A pause between chunks and the bounded pool keep the job from crowding out live requests; unfinished jobs
+// resume from their last committed chunk at startup.
+@Service
+public class RegradeService {
+    private static final Logger log = LoggerFactory.getLogger(RegradeService.class);
+    // regrade_jobs.question_ids is a 2048-character column and an id takes up to 20 characters with its comma
+    public static final int MAX_QUESTIONS_PER_JOB = 100;
+
+    private final RegradeJobRepository regradeJobRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerBatchWriter answerBatchWriter;
+    private final QuizAttemptBatchWriter quizAttemptBatchWriter;
+    private final QuizGradingService quizGradingService;
+    private final LeaderboardService leaderboardService;
+    private final QuizStatisticsService quizStatisticsService;
+    private final PersonalBestService personalBestService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final ExecutorService runner;
+    private final ForkJoinPool gradingPool;
+
+    public RegradeService(RegradeJobRepository regradeJobRepository,
+                          AnswerRepository answerRepository,
+                          QuestionRepository questionRepository,
+                          AnswerBatchWriter answerBatchWriter,
+                          QuizAttemptBatchWriter quizAttemptBatchWriter,
+                          QuizGradingService quizGradingService,
+                          LeaderboardService leaderboardService,
+                          QuizStatisticsService quizStatisticsService,
+                          PersonalBestService personalBestService,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${quizapp.regrade.chunk-size:500}") int chunkSize,
+                          @Value("${quizapp.regrade.parallelism:2}") int parallelism,
+                          @Value("${quizapp.regrade.pause-ms:100}") long pauseMillis) {
+        this.regradeJobRepository = regradeJobRepository;
+        this.answerRepository = answerRepository;
+        this.questionRepository = questionRepository;
+        this.answerBatchWriter = answerBatchWriter;
+        this.quizAttemptBatchWriter = quizAttemptBatchWriter;
+        this.quizGradingService = quizGradingService;
+        this.leaderboardService = leaderboardService;
+        this.quizStatisticsService = quizStatisticsService;
+        this.personalBestService = personalBestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "regrade-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.gradingPool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    // Records the job with the caller's transaction and starts it once that commits
+    public RegradeJob enqueue(Collection<Long> questionIds) {
+        long[] ids = questionIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        if (ids.length > MAX_QUESTIONS_PER_JOB) {
+            throw new IllegalArgumentException("A regrade job takes at most " + MAX_QUESTIONS_PER_JOB + " questions");
+        }
+        RegradeJob job = regradeJobRepository.save(new RegradeJob(ids));
+        Long jobId = job.getId();
+        afterCommit(() -> runner.submit(() -> run(jobId)));
+        return job;
+    }
+
+    public Optional<RegradeJob> getJob(Long id) {
+        return regradeJobRepository.findById(id);
+    }
+
+    public List<RegradeJob> getRecentJobs() {
+        return regradeJobRepository.findTop20ByOrderByIdDesc();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<RegradeJob> unfinished = regradeJobRepository.findByStatusInOrderByIdAsc(
+                List.of(RegradeJob.Status.PENDING, RegradeJob.Status.RUNNING));
+        for (RegradeJob job : unfinished) {
+            runner.submit(() -> run(job.getId()));
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} regrade jobs", unfinished.size());
+        }
+    }
+
+    // Blocks until queued jobs have finished, e.g. in tests
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException {
+        try {
+            runner.submit(() -> { }).get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+        gradingPool.shutdownNow();
+    }
+
+    void run(Long jobId) {
+        RegradeJob job = regradeJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == RegradeJob.Status.COMPLETED || job.getStatus() == RegradeJob.Status.FAILED) {
+            return;
+        }
+        List<Long> questionIds = Arrays.stream(job.getQuestionIds()).boxed().toList();
+        try {
+            if (job.getStatus() == RegradeJob.Status.PENDING) {
+                job.setStatus(RegradeJob.Status.RUNNING);
+                job.setStartedAt(LocalDateTime.now());
+                job.setAnswersTotal(answerRepository.countByQuestionIdIn(questionIds));
+                job = regradeJobRepository.save(job);
+            }
+            Map<Long, AnswerKey> keys = compileKeys(questionIds);
+            List<Object[]> chunk;
+            do {
+                chunk = answerRepository.findRegradeRows(questionIds, job.getLastAnswerId(), PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) break;
+                job = applyChunk(job, chunk, grade(chunk, keys));
+                log.debug("Regrade job {}: {}/{} answers", jobId, job.getAnswersScanned(), job.getAnswersTotal());
+                if (pauseMillis > 0) Thread.sleep(pauseMillis);
+            } while (chunk.size() == chunkSize);
+
+            for (Long quizId : questionRepository.findQuizIdsByIdIn(questionIds)) {
+                leaderboardService.rebuildQuiz(quizId);
+                quizStatisticsService.rebuildQuiz(quizId);
+                personalBestService.rebuildQuiz(quizId);
+            }
+            job.setStatus(RegradeJob.Status.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            regradeJobRepository.save(job);
+            log.info("Regrade job {} finished: {} answers changed, {} attempts rescored",
+                    jobId, job.getAnswersChanged(), job.getAttemptsRescored());
+        } catch (InterruptedException e) {
+            // Left RUNNING so the next startup resumes it
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Regrade job {} failed", jobId, e);
+            job.setStatus(RegradeJob.Status.FAILED);
+            String error = String.valueOf(e.getMessage());
+            job.setError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            job.setFinishedAt(LocalDateTime.now());
+            regradeJobRepository.save(job);
+        }
+    }
+
+    // Keys are compiled fresh from the database rather than taken from AnswerKeyCache
+    private Map<Long, AnswerKey> compileKeys(List<Long> questionIds) {
+        return transactionTemplate.execute(status -> {
+            questionRepository.fetchOptions(questionIds);
+            Map<Long, AnswerKey> keys = new HashMap<>();
+            for (Question question : questionRepository.fetchCorrectAnswers(questionIds)) {
+                keys.put(question.getId(), AnswerKey.compile(question));
+            }
+            return keys;
+        });
+    }
+
+    // answer id -> new flag, for rows whose stored flag is wrong under the current key
+    private Map<Long, Boolean> grade(List<Object[]> chunk, Map<Long, AnswerKey> keys) {
+        return gradingPool.submit(() -> chunk.parallelStream()
+                .filter(row -> keys.containsKey((Long) row[1]))
+                .filter(row -> quizGradingService.gradeAnswer(keys.get((Long) row[1]), (String) row[3]) != Boolean.TRUE.equals(row[4]))
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> !Boolean.TRUE.equals(row[4]))))
+                .join();
+    }
+
+    private RegradeJob applyChunk(RegradeJob job, List<Object[]> chunk, Map<Long, Boolean> changed) {
+        Set<Long> attemptIds = new HashSet<>();
+        for (Object[] row : chunk) {
+            if (changed.containsKey((Long) row[0])) attemptIds.add((Long) row[2]);
+        }
+        return transactionTemplate.execute(status -> {
+            answerBatchWriter.updateCorrectness(changed);
+            quizAttemptBatchWriter.rescoreAll(attemptIds);
+            job.setLastAnswerId((Long) chunk.get(chunk.size() - 1)[0]);
+            job.setAnswersScanned(job.getAnswersScanned() + chunk.size());
+            job.setAnswersChanged(job.getAnswersChanged() + changed.size());
+            job.setAttemptsRescored(job.getAttemptsRescored() + attemptIds.size());
+            return regradeJobRepository.save(job);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.quizapp.service;
+
+import com.quizapp.dto.SearchHitDTO;
+import com.quizapp.dto.SearchResults;
+import com.quizapp.event.QuizCreatedEvent;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over quiz titles, descriptions, question text and usernames.
+// Loaded at startup and kept current by the services that create and delete quizzes, questions and users,
+// so searches never reach the database. Every query term is matched as a prefix for typeahead.
+@Component
+public class SearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    // Per-field weights; a term found in several fields of one document scores the sum
+    private static final int TITLE_WEIGHT = 8;
+    private static final int USERNAME_WEIGHT = 8;
+    private static final int CREATOR_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int QUESTION_WEIGHT = 1;
+    // A term equal to the query word beats one that merely starts with it
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    public enum Kind { QUIZ, USER }
+
+    private record Ref(Kind kind, long id) {}
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> documents containing it and the term's weight in each
+    private final TreeMap<String, Map<Ref, Integer>> postings = new TreeMap<>();
+    private final Map<Long, QuizDoc> quizzes = new HashMap<>();
+    private final Map<Long, String> usernames = new HashMap<>();
+    // Terms each document was indexed under, so it can be removed without scanning the postings
+    private final Map<Ref, Map<String, Integer>> termsByDoc = new HashMap<>();
+    // Every suffix of every lower-cased username -> user ids, so friend search can match substrings
+    private final TreeMap<String, Set<Long>> usernameSuffixes = new TreeMap<>();
+    // Changes applied while a warm is reading rows; replayed on top of the rebuilt index, since the
+    // rows may have been read before those changes committed. Guarded by the write lock.
+    private List<Runnable> changesDuringWarm;
+    private volatile boolean warm;
+
+    public SearchIndex(QuizRepository quizRepository, QuestionRepository questionRepository, UserRepository userRepository) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warm() {
+        recordChangesDuringWarm(true);
+        List<Object[]> quizRows;
+        List<Object[]> questionRows;
+        List<Object[]> userRows;
+        try {
+            quizRows = quizRepository.findSearchRows();
+            questionRows = questionRepository.findSearchRows();
+            userRows = userRepository.findAllIdsAndUsernames();
+        } catch (RuntimeException e) {
+            recordChangesDuringWarm(false);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            quizzes.clear();
+            usernames.clear();
+            termsByDoc.clear();
+            usernameSuffixes.clear();
+            for (Object[] row : quizRows) {
+                QuizDoc doc = new QuizDoc((String) row[1], (String) row[2],
+                        row[3] != null ? ((Number) row[3]).longValue() : null, (String) row[4]);
+                quizzes.put(((Number) row[0]).longValue(), doc);
+            }
+            for (Object[] row : questionRows) {
+                QuizDoc doc = quizzes.get(((Number) row[0]).longValue());
+                if (doc != null) {
+                    doc.questions.put(((Number) row[1]).longValue(), (String) row[2]);
+                }
+            }
+            quizzes.forEach(this::addQuiz);
+            for (Object[] row : userRows) {
+                long id = ((Number) row[0]).longValue();
+                usernames.put(id, (String) row[1]);
+                addUser(id, (String) row[1]);
+            }
+            List<Runnable> replay = changesDuringWarm;
+            changesDuringWarm = null;
+            replay.forEach(Runnable::run);
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} quizzes, {} users and {} terms", quizRows.size(), userRows.size(), postings.size());
+    }
+
+    private void recordChangesDuringWarm(boolean record) {
+        lock.writeLock().lock();
+        try {
+            changesDuringWarm = record ? new ArrayList<>() : null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onQuizCreated(QuizCreatedEvent event) {
+        Quiz quiz = event.getQuiz();
+        if (quiz.getId() == null) return;
+        QuizDoc doc = new QuizDoc(quiz.getTitle(), quiz.getDescription(), event.getCreatorId(),
+                quiz.getCreatedBy() != null ? quiz.getCreatedBy().getUsername() : null);
+        if (quiz.getQuestions() != null) {
+            for (Question question : quiz.getQuestions()) {
+                if (question.getId() != null) {
+                    doc.questions.put(question.getId(), question.getQuestionText());
+                }
+            }
+        }
+        write(() -> replaceQuiz(quiz.getId(), doc));
+    }
+
+    public void removeQuiz(Long quizId) {
+        if (quizId == null) return;
+        afterCommit(() -> write(() -> {
+            removeDoc(new Ref(Kind.QUIZ, quizId));
+            quizzes.remove(quizId);
+        }));
+    }
+
+    // Adds or replaces one question's text inside its quiz's document
+    public void indexQuestion(Long quizId, Long questionId, String text) {
+        if (quizId == null || questionId == null) return;
+        afterCommit(() -> write(() -> {
+            QuizDoc doc = quizzes.get(quizId);
+            if (doc != null) {
+                doc.questions.put(questionId, text);
+                replaceQuiz(quizId, doc);
+            }
+        }));
+    }
+
+    public void removeQuestion(Long quizId, Long questionId) {
+        if (quizId == null || questionId == null) return;
+        afterCommit(() -> write(() -> {
+            QuizDoc doc = quizzes.get(quizId);
+            if (doc != null && doc.questions.remove(questionId) != null) {
+                replaceQuiz(quizId, doc);
+            }
+        }));
+    }
+
+    public void indexUser(Long userId, String username) {
+        if (userId == null || username == null) return;
+        afterCommit(() -> write(() -> {
+            removeUser(userId, usernames.put(userId, username));
+            addUser(userId, username);
+        }));
+    }
+
+    // Quizzes keep existing without their creator, matching QuizRepository.detachCreator
+    public void removeUser(Long userId) {
+        if (userId == null) return;
+        afterCommit(() -> write(() -> {
+            removeUser(userId, usernames.remove(userId));
+            for (Map.Entry<Long, QuizDoc> entry : quizzes.entrySet()) {
+                QuizDoc doc = entry.getValue();
+                if (userId.equals(doc.creatorId)) {
+                    doc.creatorId = null;
+                    doc.creator = null;
+                    replaceQuiz(entry.getKey(), doc);
+                }
+            }
+        }));
+    }
+
+    // Ranked hits for every query word (all must match), optionally restricted to one kind
+    public SearchResults search(String query, Kind kind, int offset, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new SearchResults(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<Ref, Integer>> ranked = rank(words, kind);
+            List<SearchHitDTO> hits = new ArrayList<>(Math.max(0, Math.min(limit, ranked.size() - offset)));
+            for (int i = offset; i < ranked.size() && hits.size() < limit; i++) {
+                hits.add(hit(ranked.get(i).getKey(), ranked.get(i).getValue()));
+            }
+            return new SearchResults(ranked.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Friend search: usernames containing the query anywhere, case-insensitively, like the LIKE
+    // query it replaces. Names starting with the query come first, then shorter names.
+    public List<String> searchUsernames(String query, String excluding, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = new HashSet<>();
+            for (Set<Long> owners : usernameSuffixes.subMap(needle, needle + Character.MAX_VALUE).values()) {
+                ids.addAll(owners);
+            }
+            return ids.stream()
+                    .map(usernames::get)
+                    .filter(username -> !username.equals(excluding))
+                    .sorted(Comparator.comparing((String username) -> !username.toLowerCase(Locale.ROOT).startsWith(needle))
+                            .thenComparingInt(String::length)
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Map.Entry<Ref, Integer>> rank(List<String> words, Kind kind) {
+        Map<Ref, Integer> scores = null;
+        for (String word : words) {
+            Map<Ref, Integer> previous = scores;
+            Map<Ref, Integer> wordScores = new HashMap<>();
+            for (Map.Entry<String, Map<Ref, Integer>> term : postings.subMap(word, word + Character.MAX_VALUE).entrySet()) {
+                int factor = term.getKey().equals(word) ? EXACT_MATCH_FACTOR : 1;
+                for (Map.Entry<Ref, Integer> posting : term.getValue().entrySet()) {
+                    Ref ref = posting.getKey();
+                    if ((kind == null || ref.kind() == kind) && (previous == null || previous.containsKey(ref))) {
+                        wordScores.merge(ref, posting.getValue() * factor, Math::max);
+                    }
+                }
+            }
+            if (previous != null) {
+                wordScores.replaceAll((ref, score) -> score + previous.get(ref));
+            }
+            scores = wordScores;
+            if (scores.isEmpty()) break;
+        }
+        List<Map.Entry<Ref, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Ref, Integer>comparingByValue().reversed()
+                .thenComparing(e -> e.getKey().kind())
+                .thenComparing(e -> -e.getKey().id()));
+        return ranked;
+    }
+
+    private SearchHitDTO hit(Ref ref, int score) {
+        if (ref.kind() == Kind.USER) {
+            return new SearchHitDTO("user", ref.id(), null, null, usernames.get(ref.id()), score);
+        }
+        QuizDoc doc = quizzes.get(ref.id());
+        return new SearchHitDTO("quiz", ref.id(), doc.title, doc.description, doc.creator, score);
+    }
+
+    private void replaceQuiz(long quizId, QuizDoc doc) {
+        removeDoc(new Ref(Kind.QUIZ, quizId));
+        quizzes.put(quizId, doc);
+        addQuiz(quizId, doc);
+    }
+
+    private void addQuiz(long quizId, QuizDoc doc) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, doc.title, TITLE_WEIGHT);
+        addField(terms, doc.description, DESCRIPTION_WEIGHT);
+        addUsername(terms, doc.creator, CREATOR_WEIGHT);
+        Set<String> questionTerms = new HashSet<>();
+        for (String text : doc.questions.values()) {
+            questionTerms.addAll(tokenize(text));
+        }
+        questionTerms.forEach(term -> terms.merge(term, QUESTION_WEIGHT, Integer::sum));
+        addDoc(new Ref(Kind.QUIZ, quizId), terms);
+    }
+
+    private void addUser(long userId, String username) {
+        Map<String, Integer> terms = new HashMap<>();
+        addUsername(terms, username, USERNAME_WEIGHT);
+        addDoc(new Ref(Kind.USER, userId), terms);
+        String lower = username.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            usernameSuffixes.computeIfAbsent(lower.substring(i), s -> new HashSet<>()).add(userId);
+        }
+    }
+
+    private void removeUser(long userId, String username) {
+        removeDoc(new Ref(Kind.USER, userId));
+        if (username == null) return;
+        String lower = username.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            Set<Long> owners = usernameSuffixes.get(lower.substring(i));
+            if (owners != null && owners.remove(userId) && owners.isEmpty()) {
+                usernameSuffixes.remove(lower.substring(i));
+            }
+        }
+    }
+
+    private void addDoc(Ref ref, Map<String, Integer> terms) {
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(ref, weight));
+        termsByDoc.put(ref, terms);
+    }
+
+    private void removeDoc(Ref ref) {
+        Map<String, Integer> terms = termsByDoc.remove(ref);
+        if (terms == null) return;
+        for (String term : terms.keySet()) {
+            Map<Ref, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(ref);
+                if (docs.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> terms, String text, int weight) {
+        for (String term : new HashSet<>(tokenize(text))) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    // Usernames are also indexed whole, so "john_d" finds "john_doe"
+    private static void addUsername(Map<String, Integer> terms, String username, int weight) {
+        if (username == null) return;
+        Set<String> parts = new HashSet<>(tokenize(username));
+        parts.add(username.toLowerCase(Locale.ROOT));
+        parts.forEach(term -> terms.merge(term, weight, Integer::sum));
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringWarm != null) changesDuringWarm.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only index changes the database actually kept
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static class QuizDoc {
+        final String title;
+        final String description;
+        Long creatorId;
+        String creator;
+        final Map<Long, String> questions = new HashMap<>();
+
+        QuizDoc(String title, String description, Long creatorId, String creator) {
+            this.title = title;
+            this.description = description;
+            this.creatorId = creatorId;
+            this.creator = creator;
+        }
+    }
+}
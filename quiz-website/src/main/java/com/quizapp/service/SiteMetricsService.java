@@ -0,0 +1,94 @@
+package com.quizapp.service;
+
+import com.quizapp.repository.MessageRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+// Admin dashboard numbers, computed with COUNT/GROUP BY queries and shared between callers for a short TTL
+@Service
+public class SiteMetricsService {
+
+    private final UserRepository userRepository;
+    private final QuizRepository quizRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final MessageRepository messageRepository;
+    private final long cacheTtlMillis;
+    private final int seriesDays;
+
+    private volatile Snapshot snapshot;
+
+    public SiteMetricsService(UserRepository userRepository,
+                              QuizRepository quizRepository,
+                              QuizAttemptRepository quizAttemptRepository,
+                              MessageRepository messageRepository,
+                              @Value("${quizapp.metrics.cache-ttl-seconds:30}") long cacheTtlSeconds,
+                              @Value("${quizapp.metrics.series-days:30}") int seriesDays) {
+        this.userRepository = userRepository;
+        this.quizRepository = quizRepository;
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.messageRepository = messageRepository;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+        this.seriesDays = seriesDays;
+    }
+
+    public Map<String, Object> getDashboard() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(System.currentTimeMillis())) {
+            return current.metrics;
+        }
+        synchronized (this) {
+            // Another admin may have refreshed while we waited
+            current = snapshot;
+            if (current == null || !current.isFresh(System.currentTimeMillis())) {
+                current = new Snapshot(compute(), System.currentTimeMillis() + cacheTtlMillis);
+                snapshot = current;
+            }
+            return current.metrics;
+        }
+    }
+
+    // For admin actions whose effect should show on the next dashboard load; everything else waits out the TTL
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private Map<String, Object> compute() {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(seriesDays - 1L);
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("users", userRepository.count());
+        metrics.put("quizzes", quizRepository.count());
+        metrics.put("quizzesTaken", quizAttemptRepository.countByIsCompletedTrueAndIsPracticeModeFalse());
+        metrics.put("attemptsPerDay", series(quizAttemptRepository.countCompletedPerDaySince(firstDay.atStartOfDay()), firstDay, today));
+        metrics.put("signupsPerDay", series(userRepository.countSignupsPerDaySince(firstDay.atStartOfDay()), firstDay, today));
+        metrics.put("messagesPerDay", series(messageRepository.countPerDaySince(firstDay.atStartOfDay()), firstDay, today));
+        metrics.put("generatedAt", Instant.now().toString());
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    // One point per day, oldest first, with zero for days that have no rows
+    private static List<Map<String, Object>> series(List<Object[]> rows, LocalDate firstDay, LocalDate lastDay) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            points.add(Map.of("date", day.toString(), "count", counts.getOrDefault(day, 0L)));
+        }
+        return points;
+    }
+
+    private record Snapshot(Map<String, Object> metrics, long expiresAtMillis) {
+        boolean isFresh(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+    }
+}
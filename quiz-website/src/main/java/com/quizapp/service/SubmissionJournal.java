@@ -0,0 +1,148 @@
+package com.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+// Append-only log of acknowledged submissions, one JSON object per line.
+// A submission is fsynced before it is acknowledged; concurrent appends share one fsync.
+public class SubmissionJournal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SubmissionJournal.class);
+
+    public record Entry(Long attemptId, LocalDateTime submittedAt, Map<Long, String> answers, Boolean done) {}
+
+    private final Path path;
+    private final Path deadLetterPath;
+    private final ObjectMapper objectMapper;
+    private final Object forceLock = new Object();
+    private FileChannel channel;
+    private long written;
+    private long forced;
+
+    public SubmissionJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.deadLetterPath = path.resolveSibling(path.getFileName() + ".dead");
+        this.objectMapper = objectMapper;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Path getDeadLetterPath() {
+        return deadLetterPath;
+    }
+
+    public void append(Long attemptId, LocalDateTime submittedAt, Map<Long, String> answers) throws IOException {
+        long sequence = write(new Entry(attemptId, submittedAt, answers, null));
+        synchronized (forceLock) {
+            if (forced >= sequence) return;
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            channel.force(false);
+            forced = target;
+        }
+    }
+
+    // Losing a done marker only means an idempotent replay, so these are not fsynced
+    public void markDone(Collection<Long> attemptIds) throws IOException {
+        for (Long attemptId : attemptIds) {
+            write(new Entry(attemptId, null, null, true));
+        }
+    }
+
+    // Submissions that were journaled but never marked done, oldest first
+    public synchronized Map<Long, Entry> readPending() throws IOException {
+        Map<Long, Entry> pending = new LinkedHashMap<>();
+        if (!Files.exists(path)) return pending;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // A torn final line from a crash mid-write
+                    log.warn("Skipping unreadable submission journal line");
+                    continue;
+                }
+                if (Boolean.TRUE.equals(entry.done())) {
+                    pending.remove(entry.attemptId());
+                } else {
+                    pending.put(entry.attemptId(), entry);
+                }
+            }
+        }
+        return pending;
+    }
+
+    // Copies a submission that keeps failing to the dead-letter file for manual follow-up, then marks it done
+    public synchronized void deadLetter(Long attemptId) throws IOException {
+        Entry entry = readPending().get(attemptId);
+        if (entry != null) {
+            ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+            try (FileChannel out = FileChannel.open(deadLetterPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (line.hasRemaining()) {
+                    out.write(line);
+                }
+                out.force(false);
+            }
+        }
+        markDone(List.of(attemptId));
+    }
+
+    // Drops the whole log once nothing in it is outstanding
+    public synchronized boolean truncateIf(BooleanSupplier idle) throws IOException {
+        if (!idle.getAsBoolean()) return false;
+        if (channel == null && !Files.exists(path)) return true;
+        open().truncate(0);
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private synchronized long write(Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+        FileChannel out = open();
+        while (line.hasRemaining()) {
+            out.write(line);
+        }
+        return ++written;
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
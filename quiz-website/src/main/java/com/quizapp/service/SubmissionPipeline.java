@@ -0,0 +1,301 @@
+package com.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.dto.GradedSubmission;
+import com.quizapp.model.QuizAttempt;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Write-behind path for quiz submissions. A submission is graded in memory, journaled and acknowledged
+// with its score; writer threads then drain the queue into the database in batches.
+// The attempt id is the idempotency key: repeats while a submission is in flight get the same result back.
+// A submission that fails to write is retried with backoff; one that keeps failing is moved to the dead-letter
+// file next to the journal, so it never holds back compaction.
+@Service
+public class SubmissionPipeline {
+    private static final Logger log = LoggerFactory.getLogger(SubmissionPipeline.class);
+
+    private final QuizTakingService quizTakingService;
+    private final boolean enabled;
+    private final int writerCount;
+    private final int maxBatch;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryDelayMillis;
+    private final BlockingQueue<GradedSubmission> queue;
+    private final ConcurrentMap<Long, GradedSubmission> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Integer> failures = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+    private final SubmissionJournal journal;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+
+    public SubmissionPipeline(QuizTakingService quizTakingService,
+                              ObjectMapper objectMapper,
+                              @Value("${quizapp.submissions.async.enabled:false}") boolean enabled,
+                              @Value("${quizapp.submissions.queue-capacity:1000}") int queueCapacity,
+                              @Value("${quizapp.submissions.writers:2}") int writerCount,
+                              @Value("${quizapp.submissions.max-batch:100}") int maxBatch,
+                              @Value("${quizapp.submissions.offer-timeout-ms:250}") long offerTimeoutMillis,
+                              @Value("${quizapp.submissions.max-retries:3}") int maxRetries,
+                              @Value("${quizapp.submissions.retry-delay-ms:1000}") long retryDelayMillis,
+                              @Value("${quizapp.data-dir:${user.home}/.quizapp}") String dataDir,
+                              @Value("${quizapp.submissions.journal:submissions.journal}") String journalPath) {
+        this.quizTakingService = quizTakingService;
+        this.enabled = enabled;
+        this.writerCount = writerCount;
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.journal = new SubmissionJournal(resolveJournal(dataDir, journalPath), objectMapper);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "submission-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // A relative journal path lives under the data directory, never under the working directory
+    static Path resolveJournal(String dataDir, String journalPath) {
+        Path journal = Path.of(journalPath);
+        if (journal.isAbsolute()) return journal;
+        Path base = Path.of(dataDir);
+        if (!base.isAbsolute()) {
+            throw new IllegalStateException("quizapp.data-dir must be an absolute path, got: " + dataDir);
+        }
+        return base.resolve(journal);
+    }
+
+    // Thrown when the queue stays full; nothing has been recorded and the client should retry
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException() {
+            super("Too many submissions right now, please retry");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public QuizAttempt submit(Long attemptId, Map<Long, String> questionAnswers) {
+        GradedSubmission existing = inFlight.get(attemptId);
+        if (existing != null) return existing.getAttempt();
+
+        LocalDateTime submittedAt = LocalDateTime.now();
+        GradedSubmission graded = quizTakingService.gradeSubmission(attemptId, questionAnswers, submittedAt);
+        existing = inFlight.putIfAbsent(attemptId, graded);
+        if (existing != null) return existing.getAttempt();
+
+        try {
+            journal.append(attemptId, submittedAt, questionAnswers);
+        } catch (IOException e) {
+            inFlight.remove(attemptId);
+            throw new RuntimeException("Could not record submission", e);
+        }
+
+        boolean queued;
+        try {
+            queued = queue.offer(graded, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            markDone(List.of(attemptId));
+            inFlight.remove(attemptId);
+            throw new QueueFullException();
+        }
+        return graded.getAttempt();
+    }
+
+    // The graded result while the submission is still waiting to be written
+    public GradedSubmission getPending(Long attemptId) {
+        return inFlight.get(attemptId);
+    }
+
+    public int getPendingCount() {
+        return inFlight.size();
+    }
+
+    public Path getJournalPath() {
+        return journal.getPath();
+    }
+
+    // Replays anything acknowledged before a crash, then starts the writers
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        replayJournal();
+        if (!enabled || running) return;
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drain, "submission-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        log.info("Submission pipeline started with {} writers", writerCount);
+    }
+
+    public void replayJournal() {
+        Map<Long, SubmissionJournal.Entry> pending;
+        try {
+            pending = journal.readPending();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read submission journal", e);
+        }
+        int replayed = 0;
+        for (SubmissionJournal.Entry entry : pending.values()) {
+            if (inFlight.containsKey(entry.attemptId())) continue;
+            try {
+                quizTakingService.submitQuiz(entry.attemptId(), entry.answers(), entry.submittedAt());
+                replayed++;
+            } catch (RuntimeException e) {
+                // Already written before the crash, or the attempt is gone
+                log.debug("Skipping journaled submission for attempt {}: {}", entry.attemptId(), e.getMessage());
+            }
+            markDone(List.of(entry.attemptId()));
+        }
+        compactJournal();
+        if (replayed > 0) {
+            log.info("Replayed {} journaled submissions", replayed);
+        }
+    }
+
+    // Waits until every acknowledged submission has been written, e.g. before shutdown or in tests
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!inFlight.isEmpty()) {
+            if (System.nanoTime() >= deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    // Submissions waiting for a retry stay in the journal and are replayed on the next startup
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException, IOException {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        writers.clear();
+        journal.close();
+    }
+
+    private void drain() {
+        List<GradedSubmission> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                GradedSubmission first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Submission writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<GradedSubmission> batch) {
+        try {
+            quizTakingService.persistGradedSubmissions(batch);
+            finish(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                retryOrDeadLetter(batch.get(0), e);
+                return;
+            }
+            // One bad sheet should not hold back the rest of the batch
+            for (GradedSubmission submission : batch) {
+                write(List.of(submission));
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(GradedSubmission submission, RuntimeException error) {
+        Long attemptId = submission.getAttempt().getId();
+        int tries = failures.merge(attemptId, 1, Integer::sum);
+        if (tries <= maxRetries) {
+            log.warn("Could not write submission for attempt {} (try {} of {}), retrying: {}",
+                    attemptId, tries, maxRetries + 1, error.getMessage());
+            try {
+                retryScheduler.schedule(() -> requeue(submission), retryDelayMillis * tries, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the journal entry is replayed on the next startup
+                failures.remove(attemptId);
+                inFlight.remove(attemptId);
+            }
+            return;
+        }
+        log.error("Giving up on submission for attempt {} after {} tries; moved to {}",
+                attemptId, tries, journal.getDeadLetterPath(), error);
+        try {
+            journal.deadLetter(attemptId);
+        } catch (IOException e) {
+            log.warn("Could not dead-letter the submission for attempt {}", attemptId, e);
+        }
+        failures.remove(attemptId);
+        inFlight.remove(attemptId);
+        compactJournal();
+    }
+
+    private void requeue(GradedSubmission submission) {
+        boolean queued;
+        try {
+            queued = queue.offer(submission, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            retryOrDeadLetter(submission, new QueueFullException());
+        }
+    }
+
+    private void finish(List<GradedSubmission> batch) {
+        List<Long> attemptIds = new ArrayList<>(batch.size());
+        for (GradedSubmission submission : batch) {
+            attemptIds.add(submission.getAttempt().getId());
+        }
+        markDone(attemptIds);
+        failures.keySet().removeAll(attemptIds);
+        inFlight.keySet().removeAll(attemptIds);
+        compactJournal();
+    }
+
+    private void markDone(List<Long> attemptIds) {
+        try {
+            journal.markDone(attemptIds);
+        } catch (IOException e) {
+            log.warn("Could not mark submissions done in the journal", e);
+        }
+    }
+
+    private void compactJournal() {
+        try {
+            journal.truncateIf(inFlight::isEmpty);
+        } catch (IOException e) {
+            log.warn("Could not compact the submission journal", e);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.quizapp.service;
+
+import com.quizapp.dto.TrendingQuizDTO;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Per-quiz completion counters in hourly and daily buckets, fed by completed attempts.
+// A background refresher turns them into ranked lists and publishes them as one immutable snapshot,
+// so /api/quizzes/popular never aggregates attempts on the request path.
+@Service
+public class TrendingService {
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    // Hourly buckets cover the 24h window plus the recent part of the hot score; daily buckets the rest
+    private static final int HOURLY_BUCKETS = 48;
+    private static final int ID_CHECK_BATCH = 1000;
+
+    public enum Window { ALL_TIME, LAST_24H, HOT }
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizRepository quizRepository;
+    private final int retentionDays;
+    private final double halfLifeHours;
+    private final int topSize;
+    private final TransactionTemplate snapshotRead;
+    private volatile ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    // Changes take the read lock; rebuild() takes the write lock to swap in the new counters
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    // What happened while rebuild() was reading the database; null otherwise
+    private volatile RebuildLog rebuildLog;
+
+    public TrendingService(QuizAttemptRepository quizAttemptRepository,
+                           QuizRepository quizRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${quizapp.trending.retention-days:30}") int retentionDays,
+                           @Value("${quizapp.trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${quizapp.trending.top-size:50}") int topSize) {
+        // The daily buckets are a ring of retention-days slots, so there has to be at least one
+        if (retentionDays < 1) {
+            throw new IllegalStateException("quizapp.trending.retention-days must be at least 1");
+        }
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.quizRepository = quizRepository;
+        this.retentionDays = retentionDays;
+        this.halfLifeHours = halfLifeHours;
+        this.topSize = topSize;
+        // One consistent snapshot for the rebuild's queries, so it can tell which completions it already saw
+        this.snapshotRead = new TransactionTemplate(transactionManager);
+        this.snapshotRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotRead.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttemptCompleted(QuizAttemptCompletedEvent event) {
+        if (event.isPracticeMode()) return;
+        record(event.getAttempt().getId(), event.getAttempt().getQuiz().getId(), event.getAttempt().getEndTime());
+    }
+
+    public void record(Long attemptId, Long quizId, LocalDateTime completedAt) {
+        LocalDateTime time = completedAt != null ? completedAt : LocalDateTime.now();
+        rebuildLock.readLock().lock();
+        try {
+            counters.computeIfAbsent(quizId, id -> new Counters()).add(time, 1);
+            RebuildLog pending = rebuildLog;
+            if (pending != null) pending.completions.add(new Completion(attemptId, quizId, time));
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Top entries from the last published snapshot; at most top-size are kept per window
+    public List<TrendingQuizDTO> getTop(Window window, int limit) {
+        List<TrendingQuizDTO> ranked = snapshot.get().rankings.getOrDefault(window, List.of());
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    public LocalDateTime getSnapshotTime() {
+        return snapshot.get().generatedAt;
+    }
+
+    // Submissions are already being recorded when this runs at startup. The new counters are built off to
+    // the side from one snapshot; completions recorded meanwhile that the snapshot could not see are added
+    // before the swap, and quizzes recounted or removed meanwhile are recounted afterwards.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        RebuildLog changes = new RebuildLog();
+        rebuildLog = changes;
+        int recentCount;
+        try {
+            recentCount = snapshotRead.execute(status -> {
+                ConcurrentMap<Long, Counters> rebuilt = new ConcurrentHashMap<>();
+                for (Object[] row : quizAttemptRepository.findTopMostTakenQuizzes(Pageable.unpaged())) {
+                    rebuilt.computeIfAbsent(((Number) row[0]).longValue(), id -> new Counters()).allTime = ((Number) row[1]).longValue();
+                }
+                List<Object[]> recent = quizAttemptRepository.findCompletionTimesSince(now.minusDays(retentionDays));
+                for (Object[] row : recent) {
+                    Counters quiz = rebuilt.computeIfAbsent(((Number) row[0]).longValue(), id -> new Counters());
+                    quiz.addToBuckets((LocalDateTime) row[1], 1);
+                }
+                rebuildLock.writeLock().lock();
+                try {
+                    rebuildLog = null;
+                    Set<Long> seen = visibleAttemptIds(changes.completions);
+                    for (Completion completion : changes.completions) {
+                        if (!seen.contains(completion.attemptId()) && !changes.touchedQuizzes.contains(completion.quizId())) {
+                            rebuilt.computeIfAbsent(completion.quizId(), id -> new Counters()).add(completion.completedAt(), 1);
+                        }
+                    }
+                    counters = rebuilt;
+                } finally {
+                    rebuildLock.writeLock().unlock();
+                }
+                return recent.size();
+            });
+        } finally {
+            rebuildLog = null;
+        }
+        changes.touchedQuizzes.forEach(this::rebuildQuiz);
+        refresh(now);
+        log.info("Trending counters rebuilt for {} quizzes from {} recent attempts", counters.size(), recentCount);
+    }
+
+    private Set<Long> visibleAttemptIds(Collection<Completion> completions) {
+        List<Long> ids = completions.stream().map(Completion::attemptId).filter(Objects::nonNull).toList();
+        Set<Long> visible = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += ID_CHECK_BATCH) {
+            visible.addAll(quizAttemptRepository.findIdsByIdIn(ids.subList(from, Math.min(ids.size(), from + ID_CHECK_BATCH))));
+        }
+        return visible;
+    }
+
+    // Recount one quiz after its attempts were removed
+    public void rebuildQuiz(Long quizId) {
+        RebuildLog pending = rebuildLog;
+        if (pending != null) pending.touchedQuizzes.add(quizId);
+        long total = quizAttemptRepository.countCompletedByQuizId(quizId);
+        if (total == 0) {
+            removeQuiz(quizId);
+            return;
+        }
+        Counters quiz = new Counters();
+        quiz.allTime = total;
+        for (LocalDateTime endTime : quizAttemptRepository.findCompletionTimesByQuizIdSince(quizId, LocalDateTime.now().minusDays(retentionDays))) {
+            quiz.addToBuckets(endTime, 1);
+        }
+        counters.put(quizId, quiz);
+    }
+
+    // Drops the quiz from the counters and from the published rankings straight away
+    public void removeQuiz(Long quizId) {
+        RebuildLog pending = rebuildLog;
+        if (pending != null) pending.touchedQuizzes.add(quizId);
+        counters.remove(quizId);
+        snapshot.updateAndGet(current -> current.without(quizId));
+    }
+
+    @Scheduled(fixedDelayString = "${quizapp.trending.refresh-ms:60000}", initialDelayString = "${quizapp.trending.refresh-ms:60000}")
+    public void refresh() {
+        refresh(LocalDateTime.now());
+    }
+
+    public void refresh(LocalDateTime now) {
+        long nowHour = hourOf(now);
+        Map<Window, List<Scored>> scored = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            scored.put(window, new ArrayList<>());
+        }
+        for (Map.Entry<Long, Counters> entry : counters.entrySet()) {
+            Counters.Reading reading = entry.getValue().read(nowHour, halfLifeHours);
+            long id = entry.getKey();
+            if (reading.allTime > 0) scored.get(Window.ALL_TIME).add(new Scored(id, reading.allTime, reading.allTime));
+            if (reading.last24h > 0) scored.get(Window.LAST_24H).add(new Scored(id, reading.last24h, reading.last24h));
+            if (reading.hot > 0) scored.get(Window.HOT).add(new Scored(id, reading.allTime, reading.hot));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (List<Scored> list : scored.values()) {
+            list.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::quizId));
+            if (list.size() > topSize) list.subList(topSize, list.size()).clear();
+            list.forEach(s -> ids.add(s.quizId()));
+        }
+        Map<Long, TrendingQuizDTO.QuizRef> quizzes = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : quizRepository.findDisplayRowsByIdIn(ids)) {
+                Long id = ((Number) row[0]).longValue();
+                quizzes.put(id, new TrendingQuizDTO.QuizRef(id, (String) row[1], (String) row[2], (String) row[3]));
+            }
+        }
+        Map<Window, List<TrendingQuizDTO>> rankings = new EnumMap<>(Window.class);
+        scored.forEach((window, list) -> {
+            List<TrendingQuizDTO> entries = new ArrayList<>(list.size());
+            for (Scored s : list) {
+                TrendingQuizDTO.QuizRef quiz = quizzes.get(s.quizId());
+                if (quiz != null) {
+                    entries.add(new TrendingQuizDTO(quiz, s.attemptCount(), s.score()));
+                }
+            }
+            rankings.put(window, List.copyOf(entries));
+        });
+        snapshot.set(new Snapshot(Collections.unmodifiableMap(rankings), now));
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private record Scored(long quizId, long attemptCount, double score) {}
+
+    private record Completion(Long attemptId, Long quizId, LocalDateTime completedAt) {}
+
+    private static class RebuildLog {
+        final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+        final Set<Long> touchedQuizzes = ConcurrentHashMap.newKeySet();
+    }
+
+    private record Snapshot(Map<Window, List<TrendingQuizDTO>> rankings, LocalDateTime generatedAt) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), null);
+
+        Snapshot without(Long quizId) {
+            Map<Window, List<TrendingQuizDTO>> filtered = new EnumMap<>(Window.class);
+            rankings.forEach((window, list) ->
+                    filtered.put(window, list.stream().filter(e -> !e.quiz.id.equals(quizId)).toList()));
+            return new Snapshot(Collections.unmodifiableMap(filtered), generatedAt);
+        }
+    }
+
+    // Ring buffers indexed by hour and day number; a slot is reset when a newer period claims it
+    private class Counters {
+        long allTime;
+        private final long[] hourCounts = new long[HOURLY_BUCKETS];
+        private final long[] hourKeys = new long[HOURLY_BUCKETS];
+        private final long[] dayCounts = new long[retentionDays];
+        private final long[] dayKeys = new long[retentionDays];
+
+        Counters() {
+            Arrays.fill(hourKeys, -1);
+            Arrays.fill(dayKeys, -1);
+        }
+
+        synchronized void add(LocalDateTime time, long count) {
+            allTime += count;
+            addToBuckets(time, count);
+        }
+
+        synchronized void addToBuckets(LocalDateTime time, long count) {
+            long hour = hourOf(time);
+            bump(hourCounts, hourKeys, hour, count);
+            bump(dayCounts, dayKeys, hour / 24, count);
+        }
+
+        // Decayed score: hourly buckets for the last 48 hours, then whole days older than that
+        synchronized Reading read(long nowHour, double halfLife) {
+            long last24h = 0;
+            double hot = 0;
+            for (int i = 0; i < HOURLY_BUCKETS; i++) {
+                long age = nowHour - hourKeys[i];
+                if (hourKeys[i] < 0 || age < 0 || age >= HOURLY_BUCKETS) continue;
+                if (age < 24) last24h += hourCounts[i];
+                hot += hourCounts[i] * Math.pow(0.5, age / halfLife);
+            }
+            long firstHourlyDay = (nowHour - HOURLY_BUCKETS + 1) / 24;
+            for (int i = 0; i < dayKeys.length; i++) {
+                long day = dayKeys[i];
+                if (day < 0 || day >= firstHourlyDay || nowHour / 24 - day >= dayKeys.length) continue;
+                double ageHours = nowHour - (day * 24 + 12);
+                hot += dayCounts[i] * Math.pow(0.5, ageHours / halfLife);
+            }
+            return new Reading(allTime, last24h, hot);
+        }
+
+        private void bump(long[] counts, long[] keys, long key, long count) {
+            int slot = (int) Math.floorMod(key, (long) counts.length);
+            if (keys[slot] > key) return; // older than the period now in this slot
+            if (keys[slot] != key) {
+                keys[slot] = key;
+                counts[slot] = 0;
+            }
+            counts[slot] += count;
+        }
+
+        private record Reading(long allTime, long last24h, double hot) {}
+    }
+}
@@ -0,0 +1,198 @@
+package com.quizapp.service;
+
+import com.quizapp.repository.ChallengeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Unseen-challenge badge per user: the count plus a small ring of the newest unseen challenges.
+// A user's entry is loaded on first read with two small queries, then kept current by ChallengeService after
+// each committed send / mark-seen. The scheduled reconcile compares loaded counts with one GROUP BY query and
+// drops entries that drifted (or went idle), so a missed update heals within one interval.
+@Component
+public class UnseenChallengeCounter {
+    private static final int RECONCILE_BATCH = 500;
+
+    public record RecentChallenge(Long id, String challenger, Long quizId, String quizTitle, LocalDateTime createdAt) {}
+
+    public record Summary(long count, List<RecentChallenge> recent) {}
+
+    private final ChallengeRepository challengeRepository;
+    private final int recentSize;
+    private final int maxUsers;
+    private final long idleMillis;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every change to a user that is not loaded, so a load that raced with it is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public UnseenChallengeCounter(ChallengeRepository challengeRepository,
+                                  @Value("${quizapp.challenges.recent-size:10}") int recentSize,
+                                  @Value("${quizapp.challenges.counter-max-users:50000}") int maxUsers,
+                                  @Value("${quizapp.challenges.counter-idle-ms:1800000}") long idleMillis) {
+        this.challengeRepository = challengeRepository;
+        this.recentSize = recentSize;
+        this.maxUsers = maxUsers;
+        this.idleMillis = idleMillis;
+    }
+
+    public Summary get(String username) {
+        Entry entry = entries.get(username);
+        if (entry != null) {
+            Summary summary = entry.summary();
+            if (summary != null) return summary;
+        }
+        long seen = generation.get();
+        Entry loaded = load(username);
+        if (generation.get() == seen && (entries.size() < maxUsers || entries.containsKey(username))) {
+            entries.put(username, loaded);
+        }
+        return loaded.summary();
+    }
+
+    public void challengeSent(String username, RecentChallenge challenge) {
+        afterCommit(() -> apply(username, entry -> entry.added(challenge)));
+    }
+
+    public void challengeSeen(String username, Long challengeId) {
+        afterCommit(() -> apply(username, entry -> entry.seen(challengeId)));
+    }
+
+    public void allSeen(String username) {
+        afterCommit(() -> apply(username, Entry::clear));
+    }
+
+    // For bulk deletes that touch these users' challenges; their next read reloads from the database
+    public void forget(Collection<String> usernames) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            usernames.forEach(entries::remove);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${quizapp.challenges.reconcile-ms:300000}",
+            initialDelayString = "${quizapp.challenges.reconcile-ms:300000}")
+    public void reconcile() {
+        long idleBefore = System.currentTimeMillis() - idleMillis;
+        List<String> usernames = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().lastAccess < idleBefore) {
+                entries.remove(e.getKey(), e.getValue());
+            } else {
+                usernames.add(e.getKey());
+            }
+        }
+        for (int from = 0; from < usernames.size(); from += RECONCILE_BATCH) {
+            List<String> batch = usernames.subList(from, Math.min(from + RECONCILE_BATCH, usernames.size()));
+            Map<String, Long> counts = new HashMap<>();
+            for (Object[] row : challengeRepository.countUnseenByUsernames(batch)) {
+                counts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            for (String username : batch) {
+                Entry entry = entries.get(username);
+                // A change committed after the query also lands here; dropping the entry just costs a reload
+                if (entry != null && entry.count() != counts.getOrDefault(username, 0L)) {
+                    entries.remove(username, entry);
+                }
+            }
+        }
+    }
+
+    private Entry load(String username) {
+        long count = challengeRepository.countUnseenByUsername(username);
+        Entry entry = new Entry(count);
+        if (count > 0) {
+            entry.fill(loadRecent(username));
+        }
+        return entry;
+    }
+
+    private List<RecentChallenge> loadRecent(String username) {
+        List<RecentChallenge> recent = new ArrayList<>();
+        for (Object[] row : challengeRepository.findRecentUnseenRows(username, PageRequest.of(0, recentSize))) {
+            recent.add(new RecentChallenge((Long) row[0], (String) row[1], (Long) row[2], (String) row[3],
+                    (LocalDateTime) row[4]));
+        }
+        return recent;
+    }
+
+    private void apply(String username, Consumer<Entry> change) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            generation.incrementAndGet();
+            return;
+        }
+        change.accept(entry);
+    }
+
+    private final class Entry {
+        private final ArrayDeque<RecentChallenge> recent = new ArrayDeque<>();
+        private long count;
+        // Set when the ring ran dry while older unseen challenges remain; the next read refills it
+        private boolean recentStale;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(long count) {
+            this.count = count;
+        }
+
+        synchronized void fill(List<RecentChallenge> rows) {
+            recent.clear();
+            recent.addAll(rows);
+            recentStale = false;
+        }
+
+        // Null when the ring needs refilling from the database
+        synchronized Summary summary() {
+            lastAccess = System.currentTimeMillis();
+            if (recentStale) return null;
+            return new Summary(count, List.copyOf(recent));
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized void added(RecentChallenge challenge) {
+            count++;
+            recent.addFirst(challenge);
+            while (recent.size() > recentSize) {
+                recent.removeLast();
+            }
+        }
+
+        synchronized void seen(Long challengeId) {
+            count = Math.max(0, count - 1);
+            recent.removeIf(c -> Objects.equals(c.id(), challengeId));
+            recentStale = recent.isEmpty() && count > 0;
+        }
+
+        synchronized void clear() {
+            count = 0;
+            recent.clear();
+            recentStale = false;
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.quizapp.service;
+
+import com.quizapp.dto.UserDeletionReport;
+import com.quizapp.model.User;
+import com.quizapp.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Removes a user and everything that references them with set-based DELETEs in one transaction
+@Service
+@RequiredArgsConstructor
+public class UserDeletionService {
+
+    private final UserRepository userRepository;
+    private final AnswerRepository answerRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final PersonalBestRepository personalBestRepository;
+    private final ChallengeRepository challengeRepository;
+    private final FriendRequestRepository friendRequestRepository;
+    private final MessageRepository messageRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final UserAchievementRepository userAchievementRepository;
+    private final QuizRepository quizRepository;
+
+    @Transactional
+    public Optional<UserDeletionReport> deleteUser(Long userId) {
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        String username = userOpt.get().getUsername();
+
+        UserDeletionReport report = new UserDeletionReport();
+        report.setUserId(userId);
+        report.setUsername(username);
+        report.setAffectedQuizIds(quizAttemptRepository.findQuizIdsAttemptedByUser(userId));
+        report.setChallengeRecipients(challengeRepository.findChallengedUsernamesByChallengerId(userId));
+
+        // Children first so no statement trips a foreign key
+        report.setAnswers(answerRepository.deleteAllForUser(userId));
+        report.setQuizAttempts(quizAttemptRepository.deleteAllByUserId(userId));
+        report.setPersonalBests(personalBestRepository.deleteByUserId(userId));
+        report.setChallenges(challengeRepository.deleteAllInvolving(userId));
+        report.setFriendRequests(friendRequestRepository.deleteAllInvolving(userId));
+        report.setFriendships(userRepository.deleteFriendshipsOf(userId));
+        report.setMessages(messageRepository.deleteAllInvolving(username));
+        report.setConversations(conversationSummaryRepository.deleteByParticipant(username));
+        report.setAchievements(userAchievementRepository.deleteByUserId(userId));
+        report.setQuizzesDetached(quizRepository.detachCreator(userId));
+        report.setUsers(userRepository.deleteByIdInBulk(userId));
+        return Optional.of(report);
+    }
+}
@@ -4,13 +4,12 @@ import com.quizapp.model.User;
 import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.quizapp.dto.QuizHistoryItemDTO;
 import com.quizapp.model.QuizAttempt;
-import com.quizapp.repository.QuizRepository;
 
-import java.util.Optional;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.Map;
@@ -22,7 +21,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final QuizAttemptRepository quizAttemptRepository;
-    private final QuizRepository quizRepository;
+    private final AchievementService achievementService;
+    private final SearchIndex searchIndex;
+    private final CustomUserDetailsService userDetailsService;
 
     public void register(String username, String rawPassword) {
         if (userRepository.findByUsername(username).isPresent()) {
@@ -33,13 +34,19 @@ public class UserService {
         User user = new User();
         user.setUsername(username);
         user.setPasswordHash(encodedPassword);
-        userRepository.save(user);
+        User saved = userRepository.save(user);
+        // A deleted account with the same name may still be cached
+        userDetailsService.evict(username);
+        searchIndex.indexUser(saved.getId(), saved.getUsername());
     }
 
+    // Same cached lookup and bounded hashing pool as the login endpoint
     public boolean authenticate(String username, String rawPassword) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        return userOpt.isPresent() &&
-                passwordEncoder.matches(rawPassword, userOpt.get().getPasswordHash());
+        try {
+            return passwordEncoder.matches(rawPassword, userDetailsService.loadUserByUsername(username).getPassword());
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
     }
 
     public User findByUsername(String username) {
@@ -73,64 +80,6 @@ public class UserService {
     public List<Map<String, Object>> getUserAchievements(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
-        int created = quizRepository.findByCreatedBy(user).size();
-        int taken = quizAttemptRepository.findByUserIdAndIsCompletedTrueOrderByStartTimeDesc(user.getId()).size();
-        // High score: did user ever have the highest score on any quiz?
-        boolean hasHighScore = false;
-        var allQuizzes = quizRepository.findAll();
-        for (var quiz : allQuizzes) {
-            var topAttempts = quizAttemptRepository.findTopScoresByQuizId(quiz.getId());
-            if (!topAttempts.isEmpty() && topAttempts.get(0).getUser().getId().equals(user.getId())) {
-                hasHighScore = true;
-                break;
-            }
-        }
-        List<Map<String, Object>> achievements = new java.util.ArrayList<>();
-        // Amateur Author
-        achievements.add(Map.of(
-            "key", "amateur_author",
-            "name", "Amateur Author",
-            "description", "Created your first quiz!",
-            "shortDesc", "Create 1 quiz",
-            "icon", "📝",
-            "earned", created >= 1
-        ));
-        // Prolific Author
-        achievements.add(Map.of(
-            "key", "prolific_author",
-            "name", "Prolific Author",
-            "description", "Created 5 quizzes!",
-            "shortDesc", "Create 5 quizzes",
-            "icon", "📚",
-            "earned", created >= 5
-        ));
-        // Prodigious Author
-        achievements.add(Map.of(
-            "key", "prodigious_author",
-            "name", "Prodigious Author",
-            "description", "Created 10 quizzes!",
-            "shortDesc", "Create 10 quizzes",
-            "icon", "🏆",
-            "earned", created >= 10
-        ));
-        // Quiz Machine
-        achievements.add(Map.of(
-            "key", "quiz_machine",
-            "name", "Quiz Machine",
-            "description", "Took 10 quizzes!",
-            "shortDesc", "Take 10 quizzes",
-            "icon", "🤖",
-            "earned", taken >= 10
-        ));
-        // I am the Greatest
-        achievements.add(Map.of(
-            "key", "i_am_the_greatest",
-            "name", "I am the Greatest!",
-            "description", "Held the highest score on a quiz!",
-            "shortDesc", "Highest score on a quiz",
-            "icon", "👑",
-            "earned", hasHighScore
-        ));
-        return achievements;
+        return achievementService.getAchievements(user.getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.quizapp.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// Open-addressing set of primitive longs (no boxing). Not thread-safe; callers synchronize.
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] slots;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        slots = new long[capacity];
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(value);
+        if (slots[index] == value) return false;
+        slots[index] = value;
+        size++;
+        if (size > slots.length * LOAD_FACTOR) {
+            resize(slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) return containsZero;
+        return slots[indexOf(value)] == value;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(value);
+        if (slots[index] != value) return false;
+        slots[index] = EMPTY;
+        size--;
+        // Shift following entries of the probe run back so lookups don't stop early
+        int mask = slots.length - 1;
+        int next = (index + 1) & mask;
+        while (slots[next] != EMPTY) {
+            long moved = slots[next];
+            slots[next] = EMPTY;
+            slots[indexOf(moved)] = moved;
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) action.accept(EMPTY);
+        for (long value : slots) {
+            if (value != EMPTY) action.accept(value);
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsZero) values[i++] = EMPTY;
+        for (long value : slots) {
+            if (value != EMPTY) values[i++] = value;
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // Slot holding the value, or the empty slot where it would go
+    private int indexOf(long value) {
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY && slots[index] != value) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        for (long value : old) {
+            if (value != EMPTY) {
+                slots[indexOf(value)] = value;
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,74 @@
+package com.quizapp.configTests;
+
+import com.quizapp.config.ConnectionLimitingDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Test
+    void testGetConnection_TakesAPermitUntilClosed() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, 50);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertEquals(0, dataSource.getAvailablePermits());
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testClose_ReleasesThePermitOnlyOnce() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 50);
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testGetConnection_TimesOutWhenAllPermitsAreTaken() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 50);
+        Connection held = dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+        verify(target, times(1)).getConnection();
+        held.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_GivesThePermitBackWhenThePoolFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 50);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
@@ -1,5 +1,6 @@
 package com.quizapp.controllerTests;
 
+import com.quizapp.config.BoundedPasswordEncoder;
 import com.quizapp.model.User;
 import com.quizapp.repository.*;
 import com.quizapp.service.QuestionService;
@@ -11,9 +12,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -47,6 +50,8 @@ public class AuthRestControllerTest {
     private AnswerRepository answerRepository;
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
 
     private User testUser;
 
@@ -101,6 +106,26 @@ public class AuthRestControllerTest {
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
 
+    @Test
+    void login_WithHashFromOtherCost_RehashesAtConfiguredCost() throws Exception {
+        User legacy = new User();
+        legacy.setUsername("legacyuser");
+        legacy.setPasswordHash(new BCryptPasswordEncoder(4).encode("password"));
+        userRepository.save(legacy);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"legacyuser\", \"password\": \"password\"}"))
+                .andExpect(status().isOk());
+
+        String rehashed = userRepository.findByUsername("legacyuser").orElseThrow().getPasswordHash();
+        assertEquals(passwordEncoder.getStrength(), BoundedPasswordEncoder.costOf(rehashed));
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"legacyuser\", \"password\": \"password\"}"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void login_WithInvalidCredentials_ShouldReturnUnauthorized() throws Exception {
         String jsonCredentials = """
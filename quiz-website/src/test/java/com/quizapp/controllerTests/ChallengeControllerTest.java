@@ -2,11 +2,15 @@ package com.quizapp.controllerTests;
 
 import com.quizapp.model.Challenge;
 import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
 import com.quizapp.model.User;
 import com.quizapp.repository.ChallengeRepository;
+import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.service.ChallengeService;
+import com.quizapp.service.PersonalBestService;
+import com.quizapp.service.UnseenChallengeCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +45,15 @@ public class ChallengeControllerTest {
     @Autowired
     private ChallengeRepository challengeRepository;
 
+    @Autowired
+    private UnseenChallengeCounter unseenChallengeCounter;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private PersonalBestService personalBestService;
+
     private User challenger;
     private User challenged;
     private Quiz quiz;
@@ -49,6 +63,7 @@ public class ChallengeControllerTest {
         challengeRepository.deleteAll();
         quizRepository.deleteAll();
         userRepository.deleteAll();
+        unseenChallengeCounter.forget(List.of("challenger", "challenged"));
 
         challenger = new User();
         challenger.setUsername("challenger");
@@ -136,10 +151,65 @@ public class ChallengeControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void unseenCount_TracksSendMarkSeenAndMarkAllSeen() throws Exception {
+        Challenge first = challengeService.sendChallenge("challenger", "challenged", quiz.getId());
+
+        mockMvc.perform(get("/api/challenges/unseen/challenged/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.recent[0].challenger").value("challenger"));
+
+        mockMvc.perform(put("/api/challenges/{challengeId}/mark-seen", first.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/challenges/{challengeId}/mark-seen", first.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/challenges/unseen/challenged/count"))
+                .andExpect(jsonPath("$.count").value(0));
+
+        challengeRepository.findById(first.getId()).ifPresent(c -> {
+            c.setSeen(false);
+            challengeRepository.save(c);
+        });
+        unseenChallengeCounter.reconcile();
+        mockMvc.perform(get("/api/challenges/unseen/challenged/count"))
+                .andExpect(jsonPath("$.count").value(1));
+
+        mockMvc.perform(put("/api/challenges/unseen/{username}/mark-all-seen", "challenged"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+        mockMvc.perform(get("/api/challenges/unseen/challenged/count"))
+                .andExpect(jsonPath("$.count").value(0))
+                .andExpect(jsonPath("$.recent", hasSize(0)));
+    }
+
     @Test
     void getChallengerBestScore_ShouldReturnScore() throws Exception {
         mockMvc.perform(get("/api/challenges/challenger-best-score/{quizId}/{challengerUsername}", quiz.getId(), "challenger"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isNumber());
     }
+
+    @Test
+    void getChallengerBestScore_ReadsPersonalBest() throws Exception {
+        QuizAttempt low = new QuizAttempt(challenger, quiz);
+        low.setTotalQuestions(10);
+        low.completeAttempt(4);
+        QuizAttempt high = new QuizAttempt(challenger, quiz);
+        high.setTotalQuestions(10);
+        high.completeAttempt(7);
+        quizAttemptRepository.saveAll(List.of(low, high));
+        try {
+            personalBestService.backfill();
+
+            mockMvc.perform(get("/api/challenges/challenger-best-score/{quizId}/{challengerUsername}", quiz.getId(), "challenger"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").value(7));
+            mockMvc.perform(get("/api/users/{username}/personal-bests", "challenger").with(user("challenger")))
+                    .andExpect(jsonPath("$[0].attemptCount").value(2));
+        } finally {
+            quizAttemptRepository.deleteAll(List.of(low, high));
+            personalBestService.removeQuiz(quiz.getId());
+        }
+    }
 }
\ No newline at end of file
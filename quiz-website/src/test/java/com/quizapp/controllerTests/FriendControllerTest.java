@@ -1,11 +1,17 @@
 package com.quizapp.controllerTests;
 
 import com.quizapp.model.FriendRequest;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
 import com.quizapp.model.User;
 import com.quizapp.repository.ChallengeRepository;
 import com.quizapp.repository.FriendRequestRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,11 +23,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// Hibernate statistics let the query-budget tests count the SQL statements a request issues
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureMockMvc
 @Transactional
 public class FriendControllerTest {
@@ -38,6 +47,12 @@ public class FriendControllerTest {
     @Autowired
     private ChallengeRepository challengeRepository;
 
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -103,5 +118,82 @@ public class FriendControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getFriendStats_ReturnsAggregatesPerFriend() throws Exception {
+        friendRequest.setStatus(FriendRequest.Status.ACCEPTED);
+        Quiz quiz = quizBy(addressee, "Capitals");
+        attempt(requester, quiz, 3, false);
+        attempt(requester, quiz, 4, false);
+        attempt(requester, quiz, 1, true);
+        attempt(addressee, quiz, 2, false);
+
+        mockMvc.perform(get("/api/friends/stats")
+                        .with(user(requester.getUsername()).roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value("lela"))
+                .andExpect(jsonPath("$[0].numQuizzes").value(1))
+                .andExpect(jsonPath("$[0].avgPercent").value(50.0))
+                .andExpect(jsonPath("$[0].numCreated").value(1))
+                .andExpect(jsonPath("$[0].mostPopularQuizTitle").value("Capitals"))
+                .andExpect(jsonPath("$[0].mostPopularQuizAttempts").value(3));
+    }
+
+    @Test
+    void getFriendStats_QueryCountDoesNotGrowWithFriends() throws Exception {
+        addFriendsWithActivity(2, 0);
+        long fewFriends = countStatementsForStats();
+
+        addFriendsWithActivity(20, 2);
+        long manyFriends = countStatementsForStats();
+
+        assertTrue(fewFriends > 0);
+        assertEquals(fewFriends, manyFriends);
+    }
+
+    private void addFriendsWithActivity(int count, int offset) {
+        for (int i = offset; i < offset + count; i++) {
+            User friend = new User();
+            friend.setUsername("friend" + i);
+            friend.setPasswordHash("password");
+            friend.setRole("ROLE_USER");
+            friend = userRepository.save(friend);
+
+            FriendRequest accepted = new FriendRequest();
+            accepted.setRequester(i % 2 == 0 ? requester : friend);
+            accepted.setAddressee(i % 2 == 0 ? friend : requester);
+            accepted.setStatus(FriendRequest.Status.ACCEPTED);
+            friendRequestRepository.save(accepted);
+
+            Quiz quiz = quizBy(friend, "Quiz " + i);
+            attempt(friend, quiz, 2, false);
+            attempt(requester, quiz, 3, false);
+        }
+    }
+
+    private long countStatementsForStats() throws Exception {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/friends/stats")
+                        .with(user(requester.getUsername()).roles("USER")))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Quiz quizBy(User creator, String title) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle(title);
+        quiz.setCreatedBy(creator);
+        quiz.setQuestions(new java.util.ArrayList<>());
+        return quizRepository.save(quiz);
+    }
 
+    private void attempt(User user, Quiz quiz, int score, boolean practice) {
+        QuizAttempt attempt = new QuizAttempt(user, quiz);
+        attempt.setIsPracticeMode(practice);
+        attempt.setTotalQuestions(4);
+        attempt.completeAttempt(score);
+        quizAttemptRepository.save(attempt);
+    }
 }
\ No newline at end of file
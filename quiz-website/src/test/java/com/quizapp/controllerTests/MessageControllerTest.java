@@ -1,8 +1,11 @@
 package com.quizapp.controllerTests;
 
+import com.jayway.jsonpath.JsonPath;
 import com.quizapp.model.Message;
 import com.quizapp.model.User;
 import com.quizapp.repository.ChallengeRepository;
+import com.quizapp.repository.ConversationSummaryRepository;
+import com.quizapp.repository.MessageRepository;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.service.FriendService;
@@ -18,6 +21,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +50,12 @@ public class MessageControllerTest {
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ConversationSummaryRepository conversationSummaryRepository;
+
     private User sender;
     private User receiver;
 
@@ -104,4 +114,27 @@ public class MessageControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Receiver and content are required."));
     }
+
+    @Test
+    @WithMockUser(username = "receiver")
+    void getReceived_ShowsLatestMessagePerConversationAndPages() throws Exception {
+        messageRepository.deleteAll();
+        conversationSummaryRepository.deleteAll();
+        messageService.sendMessage("sender", "receiver", "First");
+        messageService.sendMessage("sender", "receiver", "Second");
+        messageService.sendMessage("receiver", "sender", "Reply");
+
+        String page = mockMvc.perform(get("/api/messages/received"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].content").value("Second"))
+                .andReturn().getResponse().getContentAsString();
+        // The cursor is the stored (timestamp, id) of the last row, as the client sends it back
+        mockMvc.perform(get("/api/messages/received")
+                        .param("beforeTimestamp", JsonPath.<String>read(page, "$[0].timestamp"))
+                        .param("beforeId", JsonPath.read(page, "$[0].id").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertEquals(2, conversationSummaryRepository.count());
+    }
 }
\ No newline at end of file
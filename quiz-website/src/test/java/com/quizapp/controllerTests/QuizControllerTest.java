@@ -1,27 +1,42 @@
 package com.quizapp.controllerTests;
 
+import com.jayway.jsonpath.JsonPath;
+import com.quizapp.model.Option;
 import com.quizapp.model.Question;
 import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizStatistics;
 import com.quizapp.model.User;
 import com.quizapp.repository.*;
 import com.quizapp.service.QuizService;
+import com.quizapp.service.QuizSnapshotCache;
 import com.quizapp.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// Hibernate statistics let the query-budget tests count the SQL statements a request issues
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureMockMvc
 public class QuizControllerTest {
 
@@ -49,6 +64,20 @@ public class QuizControllerTest {
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QuizStatisticsRepository quizStatisticsRepository;
+
+    // Statement budgets for the quiz-rendering endpoints; they must not grow with the number of questions
+    private static final int QUIZ_QUESTIONS = 12;
+    private static final long FULL_QUESTIONS_BUDGET = 3;
+    private static final long START_BUDGET = 8;
+
     private User testUser;
 
     @BeforeEach
@@ -68,6 +97,15 @@ public class QuizControllerTest {
         testUser = userRepository.save(testUser);
     }
 
+    // Other test classes delete users without expecting quizzes or attempts to reference them
+    @AfterEach
+    void tearDown() {
+        answerRepository.deleteAll();
+        quizAttemptRepository.deleteAll();
+        quizRepository.deleteAll();
+        quizStatisticsRepository.deleteAll();
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void createQuiz_ShouldReturnQuiz() throws Exception {
@@ -124,6 +162,111 @@ public class QuizControllerTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void getAllQuizzes_PagesWithCursorAndFilters() throws Exception {
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setPasswordHash("password");
+        other.setRole("ROLE_USER");
+        other = userRepository.save(other);
+        List<Long> mine = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            mine.add(quizService.createQuiz(quiz("Mine " + i, testUser)).getId());
+        }
+        quizService.createQuiz(quiz("Theirs", other));
+
+        String cursor = mockMvc.perform(get("/api/quizzes").param("creator", "testuser").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(mine.get(2)))
+                .andExpect(jsonPath("$[0].createdBy").value("testuser"))
+                .andExpect(jsonPath("$[1].id").value(mine.get(1)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/quizzes").param("creator", "testuser").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(mine.get(0)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/quizzes").param("sort", "most_taken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].attemptCount").value(0));
+
+        String ratedCursor = mockMvc.perform(get("/api/quizzes").param("sort", "highest_rated").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        mockMvc.perform(get("/api/quizzes").param("sort", "highest_rated").param("limit", "3").param("cursor", ratedCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(mine.get(0)));
+
+        mockMvc.perform(get("/api/quizzes").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getAllQuizzes_HighestRatedPagesThroughTiedFractionalAverages() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        double[][] totals = {{200.0, 3}, {200.0, 3}, {100.0, 1}, {200.0, 3}};
+        for (int i = 0; i < totals.length; i++) {
+            Long id = quizService.createQuiz(quiz("Rated " + i, testUser)).getId();
+            QuizStatistics stats = new QuizStatistics(id);
+            stats.setPercentageSum(totals[i][0]);
+            stats.setAttemptCount((long) totals[i][1]);
+            stats.updateAverage();
+            quizStatisticsRepository.save(stats);
+            ids.add(id);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/quizzes").param("sort", "highest_rated").param("limit", "1");
+            if (cursor != null) request.param("cursor", cursor);
+            MockHttpServletResponse response = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+            seen.add(((Number) JsonPath.read(response.getContentAsString(), "$[0].id")).longValue());
+            cursor = response.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        // 100% first, then the three 66.67% ties newest first, each exactly once
+        assertEquals(List.of(ids.get(2), ids.get(3), ids.get(1), ids.get(0)), seen);
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getAllQuizzes_UnchangedPageReturnsNotModified() throws Exception {
+        quizService.createQuiz(quiz("Cached", testUser));
+
+        String etag = mockMvc.perform(get("/api/quizzes"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/quizzes").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        quizService.createQuiz(quiz("New", testUser));
+
+        mockMvc.perform(get("/api/quizzes").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    private Quiz quiz(String title, User creator) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle(title);
+        quiz.setDescription("Description");
+        quiz.setCreatedBy(creator);
+        quiz.setQuestions(List.of());
+        return quiz;
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void getQuiz_ShouldReturnQuiz() throws Exception {
@@ -170,4 +313,64 @@ public class QuizControllerTest {
         mockMvc.perform(delete("/api/quizzes/" + quiz.getId()))
                 .andExpect(status().isOk());
     }
+
+    private Quiz quizWithQuestions(int count) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Budget Quiz");
+        quiz.setDescription("Many questions");
+        quiz.setCreatedBy(testUser);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Question question = i % 2 == 0
+                    ? new Question("Q" + i, Question.QuestionType.MULTIPLE_CHOICE,
+                            new ArrayList<>(List.of(new Option("yes", true), new Option("no", false))), new ArrayList<>())
+                    : new Question("Q" + i, Question.QuestionType.QUESTION_RESPONSE,
+                            new ArrayList<>(), new ArrayList<>(List.of("a" + i, "b" + i)));
+            question.setQuestionOrder(i);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+        return quizService.createQuiz(quiz);
+    }
+
+    private long statementsFor(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getQuiz_StaysWithinQueryBudget() throws Exception {
+        Quiz quiz = quizWithQuestions(QUIZ_QUESTIONS);
+
+        long statements = statementsFor(get("/api/quizzes/" + quiz.getId()));
+
+        assertTrue(statements <= FULL_QUESTIONS_BUDGET, "GET /api/quizzes/{id} ran " + statements + " statements");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void quizTakingQuestions_StaysWithinQueryBudget() throws Exception {
+        Quiz quiz = quizWithQuestions(QUIZ_QUESTIONS);
+        quizSnapshotCache.invalidate(quiz.getId());
+
+        long cold = statementsFor(get("/api/quiz-taking/questions/" + quiz.getId()));
+        long warm = statementsFor(get("/api/quiz-taking/questions/" + quiz.getId()));
+
+        assertTrue(cold <= FULL_QUESTIONS_BUDGET, "cold /questions ran " + cold + " statements");
+        assertTrue(warm == 0, "cached /questions ran " + warm + " statements");
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void startQuiz_StaysWithinQueryBudget() throws Exception {
+        Quiz quiz = quizWithQuestions(QUIZ_QUESTIONS);
+        quizSnapshotCache.invalidate(quiz.getId());
+
+        long statements = statementsFor(post("/api/quiz-taking/start/" + quiz.getId()));
+
+        assertTrue(statements <= START_BUDGET, "POST /api/quiz-taking/start ran " + statements + " statements");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.quizapp.controllerTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Stateless token mode runs in its own context and database
+@SpringBootTest(properties = {
+        "quizapp.auth.tokens.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:tokendb;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+public class TokenAuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userService.register("tokenuser", "password");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private JsonNode login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"tokenuser\", \"password\": \"password\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn();
+        assertNull(result.getRequest().getSession(false));
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void bearerToken_AuthenticatesWithoutSession() throws Exception {
+        String accessToken = login().get("accessToken").asText();
+
+        mockMvc.perform(get("/api/users/tokenuser"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/tokenuser").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("tokenuser"));
+        mockMvc.perform(get("/api/users/tokenuser").header("Authorization", "Bearer " + accessToken + "x"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refresh_IssuesNewPairAndRejectsAccessTokens() throws Exception {
+        JsonNode tokens = login();
+
+        MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + tokens.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isString())
+                .andReturn();
+        String accessToken = objectMapper.readTree(refreshed.getResponse().getContentAsString()).get("accessToken").asText();
+
+        mockMvc.perform(get("/api/users/tokenuser").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + tokens.get("accessToken").asText() + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void stream_OpensWithATicketButNotWithAnAccessTokenInTheUrl() throws Exception {
+        String accessToken = login().get("accessToken").asText();
+
+        MvcResult issued = mockMvc.perform(post("/api/notifications/ticket").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        String ticket = objectMapper.readTree(issued.getResponse().getContentAsString()).get("ticket").asText();
+
+        mockMvc.perform(get("/api/notifications/stream").param("ticket", ticket))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/notifications/stream").param("ticket", accessToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/notifications/stream").param("access_token", accessToken))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,18 +1,22 @@
 package com.quizapp.repositoryTests;
 
-import com.quizapp.model.Answer;
+import com.quizapp.model.*;
+import com.quizapp.repository.AnswerBatchWriter;
 import com.quizapp.repository.AnswerRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(AnswerBatchWriter.class)
 class AnswerRepositoryTest {
 
     @Autowired
@@ -21,6 +25,27 @@ class AnswerRepositoryTest {
     @Autowired
     private AnswerRepository answerRepository;
 
+    @Autowired
+    private AnswerBatchWriter answerBatchWriter;
+
+    private QuizAttempt attemptWithQuestions(int questionCount, List<Question> questions) {
+        User user = new User();
+        user.setUsername("taker");
+        user.setPasswordHash("pw");
+        entityManager.persist(user);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Batch quiz");
+        quiz.setCreatedBy(user);
+        quiz.setQuestions(new ArrayList<>());
+        entityManager.persist(quiz);
+        for (int i = 1; i <= questionCount; i++) {
+            Question question = new Question("Q" + i, Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("a"));
+            question.setQuiz(quiz);
+            question.setQuestionOrder(i);
+            questions.add(entityManager.persist(question));
+        }
+        return entityManager.persist(new QuizAttempt(user, quiz));
+    }
 
     @Test
     void testFindById_NotFound() {
@@ -59,4 +84,26 @@ class AnswerRepositoryTest {
 
         assertThat(correctAnswers).isEmpty();
     }
+
+    @Test
+    void testInsertAllThenDeleteByQuizAttemptId_RoundTripsWholeSheet() {
+        List<Question> questions = new ArrayList<>();
+        QuizAttempt attempt = attemptWithQuestions(100, questions);
+        List<Answer> answers = new ArrayList<>();
+        for (Question question : questions) {
+            answers.add(new Answer(attempt.getUser(), attempt, question, "a", question.getQuestionOrder() % 2 == 0,
+                    question.getQuestionOrder()));
+        }
+        entityManager.flush();
+
+        assertThat(answerBatchWriter.insertAll(answers)).isEqualTo(100);
+
+        List<Answer> stored = answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId());
+        assertThat(stored).hasSize(100);
+        assertThat(stored.get(0).getQuestionNumber()).isEqualTo(1);
+        assertThat(answerRepository.findByQuizAttemptIdAndIsCorrectTrue(attempt.getId())).hasSize(50);
+
+        assertThat(answerRepository.deleteByQuizAttemptId(attempt.getId())).isEqualTo(100);
+        assertThat(answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId())).isEmpty();
+    }
 }
\ No newline at end of file
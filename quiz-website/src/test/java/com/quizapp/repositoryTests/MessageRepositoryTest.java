@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -49,7 +50,7 @@ class MessageRepositoryTest {
     }
 
     @Test
-    void testFindLatestMessagesForReceiver() {
+    void testFindLatestMessagePerConversation() {
         Message message1 = new Message("sender1", "receiver", "Hello from sender1", LocalDateTime.of(2023, 1, 1, 12, 0));
         Message message2 = new Message("sender1", "receiver", "Latest from sender1", LocalDateTime.of(2023, 1, 2, 12, 0));
         Message message3 = new Message("sender2", "receiver", "Hello from sender2", LocalDateTime.of(2023, 1, 3, 12, 0));
@@ -57,7 +58,7 @@ class MessageRepositoryTest {
         entityManager.persist(message2);
         entityManager.persist(message3);
 
-        List<Message> messages = messageRepository.findLatestMessagesForReceiver("receiver");
+        List<Message> messages = messageRepository.findLatestMessagePerConversation();
 
         assertThat(messages).hasSize(2);
         assertThat(messages).extracting(Message::getSenderUsername).containsExactlyInAnyOrder("sender1", "sender2");
@@ -77,4 +78,21 @@ class MessageRepositoryTest {
         assertThat(messages.get(0).getContent()).isEqualTo("Second message");
         assertThat(messages.get(1).getContent()).isEqualTo("First message");
     }
+
+    @Test
+    void testFindThreadBefore_PagesBothDirectionsByTimestampAndId() {
+        LocalDateTime t = LocalDateTime.of(2023, 1, 1, 12, 0);
+        entityManager.persist(new Message("a", "b", "1", t));
+        Message second = entityManager.persist(new Message("b", "a", "2", t.plusMinutes(1)));
+        entityManager.persist(new Message("a", "b", "3", t.plusMinutes(1)));
+        entityManager.persist(new Message("a", "c", "other", t.plusMinutes(2)));
+
+        List<Message> firstPage = messageRepository.findThread("a", "b", PageRequest.of(0, 2));
+        Message last = firstPage.get(firstPage.size() - 1);
+        List<Message> nextPage = messageRepository.findThreadBefore("a", "b", last.getTimestamp(), last.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(Message::getContent).containsExactly("3", "2");
+        assertThat(last.getId()).isEqualTo(second.getId());
+        assertThat(nextPage).extracting(Message::getContent).containsExactly("1");
+    }
 }
\ No newline at end of file
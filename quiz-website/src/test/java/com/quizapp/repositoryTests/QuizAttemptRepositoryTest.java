@@ -3,11 +3,13 @@ package com.quizapp.repositoryTests;
 import com.quizapp.model.Quiz;
 import com.quizapp.model.QuizAttempt;
 import com.quizapp.model.User;
+import com.quizapp.repository.QuizAttemptBatchWriter;
 import com.quizapp.repository.QuizAttemptRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,6 +18,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(QuizAttemptBatchWriter.class)
 public class QuizAttemptRepositoryTest {
 
     @Autowired
@@ -24,6 +27,53 @@ public class QuizAttemptRepositoryTest {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Autowired
+    private QuizAttemptBatchWriter quizAttemptBatchWriter;
+
+    @Test
+    void testCompleteAll_LeavesAlreadyCompletedAttemptsUntouched() {
+        User user = new User();
+        user.setUsername("batchuser");
+        user.setPasswordHash("hashed_password");
+        entityManager.persist(user);
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Batch Quiz");
+        quiz.setQuestions(new ArrayList<>());
+        entityManager.persist(quiz);
+        QuizAttempt open = new QuizAttempt(user, quiz);
+        open.setTotalQuestions(4);
+        entityManager.persist(open);
+        QuizAttempt done = new QuizAttempt(user, quiz);
+        done.setTotalQuestions(4);
+        done.completeAttempt(1, LocalDateTime.of(2024, 1, 1, 10, 0));
+        entityManager.persist(done);
+        entityManager.flush();
+
+        QuizAttempt first = copy(open, 3, LocalDateTime.of(2024, 1, 2, 10, 0));
+        QuizAttempt replay = copy(done, 4, LocalDateTime.of(2024, 1, 3, 10, 0));
+        assertEquals(List.of(open.getId()), quizAttemptBatchWriter.completeAll(List.of(first, replay)));
+        // Submitting the same attempt again completes nothing
+        assertEquals(List.of(), quizAttemptBatchWriter.completeAll(List.of(copy(open, 4, LocalDateTime.of(2024, 1, 4, 10, 0)))));
+
+        entityManager.clear();
+        QuizAttempt storedOpen = quizAttemptRepository.findById(open.getId()).orElseThrow();
+        QuizAttempt storedDone = quizAttemptRepository.findById(done.getId()).orElseThrow();
+        assertTrue(storedOpen.getIsCompleted());
+        assertEquals(3, storedOpen.getScore());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0), storedOpen.getEndTime());
+        assertEquals(1, storedDone.getScore());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), storedDone.getEndTime());
+    }
+
+    private QuizAttempt copy(QuizAttempt attempt, int score, LocalDateTime endTime) {
+        QuizAttempt graded = new QuizAttempt();
+        graded.setId(attempt.getId());
+        graded.setStartTime(attempt.getStartTime());
+        graded.setTotalQuestions(attempt.getTotalQuestions());
+        graded.completeAttempt(score, endTime);
+        return graded;
+    }
+
     @Test
     void testFindByUserIdOrderByStartTimeDesc() {
         User user = new User();
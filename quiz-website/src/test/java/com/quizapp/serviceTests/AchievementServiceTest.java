@@ -0,0 +1,149 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.achievement.AchievementRule;
+import com.quizapp.achievement.QuizzesCreatedRule;
+import com.quizapp.achievement.QuizzesTakenRule;
+import com.quizapp.achievement.TopScorerRule;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.event.QuizCreatedEvent;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.User;
+import com.quizapp.model.UserAchievement;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserAchievementRepository;
+import com.quizapp.service.AchievementService;
+import com.quizapp.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AchievementServiceTest {
+
+    @Mock
+    private UserAchievementRepository userAchievementRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private AchievementService achievementService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        List<AchievementRule> rules = List.of(
+                new QuizzesCreatedRule(quizRepository, 1, "amateur_author", "Amateur Author", "d", "s", "i"),
+                new QuizzesTakenRule(quizAttemptRepository, 10, "quiz_machine", "Quiz Machine", "d", "s", "i"),
+                new TopScorerRule(leaderboardService, "i_am_the_greatest", "I am the Greatest!", "d", "s", "i"));
+        achievementService = new AchievementService(userAchievementRepository, rules);
+        user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+    }
+
+    private QuizAttempt attempt() {
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(100L);
+        attempt.setQuiz(quiz);
+        attempt.setUser(user);
+        attempt.setScore(5);
+        attempt.setStartTime(LocalDateTime.now().minusMinutes(3));
+        attempt.setEndTime(LocalDateTime.now());
+        attempt.setIsCompleted(true);
+        attempt.setIsPracticeMode(false);
+        return attempt;
+    }
+
+    @Test
+    void testOnQuizCreated_StoresNewlyEarnedAchievement() {
+        Quiz quiz = new Quiz();
+        quiz.setCreatedBy(user);
+        when(userAchievementRepository.findByUserId(7L)).thenReturn(List.of());
+        when(quizRepository.countByCreatedBy(user)).thenReturn(1L);
+
+        achievementService.onQuizCreated(new QuizCreatedEvent(quiz));
+
+        ArgumentCaptor<UserAchievement> saved = ArgumentCaptor.forClass(UserAchievement.class);
+        verify(userAchievementRepository).save(saved.capture());
+        assertEquals("amateur_author", saved.getValue().getAchievementKey());
+        assertEquals(7L, saved.getValue().getUserId());
+    }
+
+    @Test
+    void testOnAttemptCompleted_SkipsRulesAlreadyEarned() {
+        when(userAchievementRepository.findByUserId(7L))
+                .thenReturn(List.of(new UserAchievement(7L, "i_am_the_greatest")));
+        when(quizAttemptRepository.countByUserIdAndIsCompletedTrue(7L)).thenReturn(3L);
+
+        achievementService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt()));
+
+        verify(userAchievementRepository, never()).save(any());
+        verifyNoInteractions(leaderboardService);
+    }
+
+    @Test
+    void testOnAttemptCompleted_TopScorer() {
+        when(userAchievementRepository.findByUserId(7L)).thenReturn(List.of());
+        when(quizAttemptRepository.countByUserIdAndIsCompletedTrue(7L)).thenReturn(1L);
+        when(leaderboardService.isTopScore(any())).thenReturn(true);
+
+        achievementService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt()));
+
+        ArgumentCaptor<UserAchievement> saved = ArgumentCaptor.forClass(UserAchievement.class);
+        verify(userAchievementRepository).save(saved.capture());
+        assertEquals("i_am_the_greatest", saved.getValue().getAchievementKey());
+    }
+
+    @Test
+    void testGetAchievements_ReadsStoredRowsInRuleOrder() {
+        when(userAchievementRepository.findByUserId(7L))
+                .thenReturn(List.of(new UserAchievement(7L, "quiz_machine")));
+
+        List<Map<String, Object>> achievements = achievementService.getAchievements(7L);
+
+        assertEquals(List.of("amateur_author", "quiz_machine", "i_am_the_greatest"),
+                achievements.stream().map(a -> a.get("key")).toList());
+        assertEquals(List.of(false, true, false), achievements.stream().map(a -> a.get("earned")).toList());
+        verifyNoInteractions(quizRepository, quizAttemptRepository, leaderboardService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSeed_InsertsEarnersFromEachRule() {
+        when(userAchievementRepository.findAll()).thenReturn(List.of(new UserAchievement(7L, "amateur_author")));
+        when(quizRepository.findCreatorIdsWithAtLeast(1)).thenReturn(List.of(7L, 8L));
+        when(quizAttemptRepository.findUserIdsWithCompletedAttemptsAtLeast(10)).thenReturn(List.of());
+        when(leaderboardService.getTopScoreHolders()).thenReturn(Set.of(7L));
+
+        assertEquals(2, achievementService.seed());
+
+        ArgumentCaptor<List<UserAchievement>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userAchievementRepository).saveAll(saved.capture());
+        assertEquals(Set.of("8:amateur_author", "7:i_am_the_greatest"), saved.getValue().stream()
+                .map(a -> a.getUserId() + ":" + a.getAchievementKey())
+                .collect(java.util.stream.Collectors.toSet()));
+    }
+}
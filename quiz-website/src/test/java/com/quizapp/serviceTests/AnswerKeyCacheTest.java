@@ -0,0 +1,122 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.model.AnswerKey;
+import com.quizapp.model.Option;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.service.AnswerKeyCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswerKeyCacheTest {
+
+    private final AnswerKeyCache answerKeyCache = new AnswerKeyCache();
+
+    private Question responseQuestion(Long id, String... answers) {
+        Question question = new Question("Capital of France?", Question.QuestionType.QUESTION_RESPONSE,
+                List.of(), new ArrayList<>(Arrays.asList(answers)));
+        question.setId(id);
+        return question;
+    }
+
+    @Test
+    void testMultipleChoice_MatchesCorrectOptionIgnoringCaseAndWhitespace() {
+        Question question = new Question("What is 2+2?", Question.QuestionType.MULTIPLE_CHOICE,
+                List.of(new Option("3", false), new Option("Four", true)), List.of());
+        question.setId(1L);
+
+        AnswerKey key = answerKeyCache.get(question);
+
+        assertTrue(key.isAnswerCorrect("  four "));
+        assertFalse(key.isAnswerCorrect("3"));
+        assertFalse(key.isAnswerCorrect(null));
+        assertEquals("Four", key.getCorrectOptionText());
+    }
+
+    @Test
+    void testResponse_AcceptsAnyCorrectAnswer() {
+        AnswerKey key = answerKeyCache.get(responseQuestion(2L, "Paris", " paris city "));
+
+        assertTrue(key.isAnswerCorrect("PARIS"));
+        assertTrue(key.isAnswerCorrect("Paris City"));
+        assertFalse(key.isAnswerCorrect("Lyon"));
+    }
+
+    @Test
+    void testAreAnswersCorrect_OrderedAndUnordered() {
+        Question question = responseQuestion(3L, "red", "green", "blue");
+
+        assertTrue(question.areAnswersCorrect(List.of("Blue", "red", "GREEN")));
+        assertFalse(question.areAnswersCorrect(List.of("red", "red", "blue")));
+        assertFalse(question.areAnswersCorrect(List.of("red", "green")));
+
+        question.setOrderMatters(true);
+
+        assertTrue(question.areAnswersCorrect(List.of("RED", "green", " blue")));
+        assertFalse(question.areAnswersCorrect(List.of("blue", "red", "green")));
+    }
+
+    @Test
+    void testEditingQuestion_RecompilesEntityKey() {
+        Question question = responseQuestion(4L, "old");
+        assertTrue(question.isAnswerCorrect("old"));
+
+        question.setCorrectAnswers(List.of("new"));
+
+        assertFalse(question.isAnswerCorrect("old"));
+        assertTrue(question.isAnswerCorrect("new"));
+    }
+
+    @Test
+    void testInvalidate_DropsCachedKey() {
+        Question question = responseQuestion(5L, "old");
+        AnswerKey first = answerKeyCache.get(question);
+        assertSame(first, answerKeyCache.get(question));
+
+        question.setCorrectAnswers(List.of("new"));
+        answerKeyCache.invalidate(5L);
+
+        assertTrue(answerKeyCache.get(question).isAnswerCorrect("new"));
+    }
+
+    @Test
+    void testInvalidateQuiz_DropsKeysOfThatQuizOnly() {
+        Quiz quiz = new Quiz();
+        quiz.setId(10L);
+        Question inQuiz = responseQuestion(6L, "a");
+        inQuiz.setQuiz(quiz);
+        Question other = responseQuestion(7L, "b");
+        answerKeyCache.warm(List.of(inQuiz, other));
+
+        answerKeyCache.invalidateQuiz(10L);
+
+        assertEquals(1, answerKeyCache.size());
+    }
+
+    @Test
+    void testInvalidate_InsideTransaction_DropsKeyCachedBeforeCommitAgain() {
+        Question question = responseQuestion(8L, "old");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            answerKeyCache.invalidate(8L);
+            // A concurrent grader reads the not yet committed old answers and caches them
+            answerKeyCache.get(question);
+            assertEquals(1, answerKeyCache.size());
+
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, answerKeyCache.size());
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.service.AuthTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final AuthTokenService tokenService = new AuthTokenService(true, SECRET, 900, 3600);
+
+    private static UserDetails user(String passwordHash) {
+        return new User("alice|b", passwordHash, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    void issuedAccessToken_VerifiesWithClaims() {
+        AuthTokenService.TokenPair tokens = tokenService.issue(user("hash"));
+
+        AuthTokenService.Claims claims = tokenService.verify(tokens.accessToken(), AuthTokenService.Type.ACCESS).orElseThrow();
+
+        assertEquals("alice|b", claims.username());
+        assertEquals("ROLE_ADMIN", claims.role());
+        assertEquals(900, tokens.expiresIn());
+    }
+
+    @Test
+    void verify_RejectsWrongTypeTamperedAndForeignTokens() {
+        AuthTokenService.TokenPair tokens = tokenService.issue(user("hash"));
+        String access = tokens.accessToken();
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("ACCESS|" + Long.MAX_VALUE + "|ROLE_ADMIN||alice|b").getBytes())
+                + access.substring(access.indexOf('.'));
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        AuthTokenService other = new AuthTokenService(true, Base64.getEncoder().encodeToString(otherKey), 900, 3600);
+
+        assertTrue(tokenService.verify(access, AuthTokenService.Type.REFRESH).isEmpty());
+        assertTrue(tokenService.verify(tokens.refreshToken(), AuthTokenService.Type.ACCESS).isEmpty());
+        assertTrue(tokenService.verify(tampered, AuthTokenService.Type.ACCESS).isEmpty());
+        assertTrue(tokenService.verify("not-a-token", AuthTokenService.Type.ACCESS).isEmpty());
+        assertTrue(other.verify(access, AuthTokenService.Type.ACCESS).isEmpty());
+    }
+
+    @Test
+    void verify_RejectsExpiredToken() {
+        AuthTokenService expiring = new AuthTokenService(true, SECRET, 0, 0);
+
+        String access = expiring.issue(user("hash")).accessToken();
+
+        assertTrue(expiring.verify(access, AuthTokenService.Type.ACCESS).isEmpty());
+    }
+
+    @Test
+    void streamTicket_OnlyVerifiesAsAStreamTicket() {
+        String ticket = tokenService.issueStreamTicket(user("hash"));
+
+        AuthTokenService.Claims claims = tokenService.verify(ticket, AuthTokenService.Type.STREAM).orElseThrow();
+
+        assertEquals("alice|b", claims.username());
+        assertEquals("ROLE_ADMIN", claims.role());
+        assertTrue(claims.expiresAt() - Instant.now().getEpochSecond() <= 60);
+        assertTrue(tokenService.verify(ticket, AuthTokenService.Type.ACCESS).isEmpty());
+        assertTrue(tokenService.verify(tokenService.issue(user("hash")).accessToken(), AuthTokenService.Type.STREAM).isEmpty());
+    }
+
+    @Test
+    void refreshToken_StopsMatchingAfterPasswordChange() {
+        String refresh = tokenService.issue(user("old-hash")).refreshToken();
+        AuthTokenService.Claims claims = tokenService.verify(refresh, AuthTokenService.Type.REFRESH).orElseThrow();
+
+        assertTrue(tokenService.stampMatches(claims, user("old-hash")));
+        assertFalse(tokenService.stampMatches(claims, user("new-hash")));
+    }
+}
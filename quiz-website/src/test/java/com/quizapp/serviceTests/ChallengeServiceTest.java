@@ -2,17 +2,18 @@ package com.quizapp.serviceTests;
 
 import com.quizapp.model.Challenge;
 import com.quizapp.model.Quiz;
-import com.quizapp.model.QuizAttempt;
 import com.quizapp.model.User;
 import com.quizapp.repository.ChallengeRepository;
-import com.quizapp.repository.QuizAttemptRepository;
 import com.quizapp.repository.QuizRepository;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.service.ChallengeService;
+import com.quizapp.service.PersonalBestService;
+import com.quizapp.service.UnseenChallengeCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,6 +22,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,11 +35,17 @@ public class ChallengeServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private QuizAttemptRepository quizAttemptRepository;
+    private PersonalBestService personalBestService;
 
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UnseenChallengeCounter unseenChallengeCounter;
+
     @InjectMocks
     private ChallengeService challengeService;
 
@@ -67,7 +75,9 @@ public class ChallengeServiceTest {
         when(userRepository.findByUsername("challenged")).thenReturn(Optional.of(challenged));
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(challengeRepository.existsByChallengerAndChallengedAndQuiz(challenger, challenged, quiz)).thenReturn(false);
-        when(challengeRepository.save(any(Challenge.class))).thenReturn(new Challenge(challenger, challenged, quiz));
+        Challenge saved = new Challenge(challenger, challenged, quiz);
+        saved.setId(5L);
+        when(challengeRepository.save(any(Challenge.class))).thenReturn(saved);
 
         Challenge result = challengeService.sendChallenge("challenger", "challenged", 1L);
 
@@ -76,6 +86,30 @@ public class ChallengeServiceTest {
         assertEquals(challenged, result.getChallenged());
         assertEquals(quiz, result.getQuiz());
         verify(challengeRepository).save(any(Challenge.class));
+        verify(unseenChallengeCounter).challengeSent(eq("challenged"), argThat(recent -> recent.id() == 5L));
+    }
+
+    @Test
+    void testMarkChallengeAsSeen_DecrementsOnlyWhenFlagFlips() {
+        when(challengeRepository.findChallengedUsernameById(5L)).thenReturn(Optional.of("challenged"));
+        when(challengeRepository.markSeen(5L)).thenReturn(1, 0);
+
+        challengeService.markChallengeAsSeen(5L);
+        challengeService.markChallengeAsSeen(5L);
+
+        verify(unseenChallengeCounter, times(1)).challengeSeen("challenged", 5L);
+        verify(challengeRepository, never()).save(any(Challenge.class));
+    }
+
+    @Test
+    void testMarkAllChallengesAsSeen_SingleUpdate() {
+        when(challengeRepository.markAllSeen("challenged")).thenReturn(3);
+
+        assertEquals(3, challengeService.markAllChallengesAsSeen("challenged"));
+
+        verify(challengeRepository).markAllSeen("challenged");
+        verify(unseenChallengeCounter).allSeen("challenged");
+        verify(challengeRepository, never()).findUnseenChallengesForUser(any());
     }
 
     @Test
@@ -108,27 +142,20 @@ public class ChallengeServiceTest {
 
     @Test
     void testGetChallengerBestScore_Success() {
-        when(userRepository.findByUsername("challenger")).thenReturn(Optional.of(challenger));
-        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
-        QuizAttempt attempt = new QuizAttempt(challenger, quiz);
-        attempt.setScore(10);
-        when(quizAttemptRepository.findBestScoreByUserAndQuiz(challenger.getId(), 1L)).thenReturn(List.of(attempt));
+        when(personalBestService.getBestScore("challenger", 1L)).thenReturn(Optional.of(10));
 
         Integer score = challengeService.getChallengerBestScore(1L, "challenger");
 
         assertEquals(10, score);
-        verify(quizAttemptRepository).findBestScoreByUserAndQuiz(challenger.getId(), 1L);
+        verifyNoInteractions(userRepository, quizRepository);
     }
 
     @Test
     void testGetChallengerBestScore_NoAttempts() {
-        when(userRepository.findByUsername("challenger")).thenReturn(Optional.of(challenger));
-        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
-        when(quizAttemptRepository.findBestScoreByUserAndQuiz(challenger.getId(), 1L)).thenReturn(List.of());
+        when(personalBestService.getBestScore("challenger", 1L)).thenReturn(Optional.empty());
 
         Integer score = challengeService.getChallengerBestScore(1L, "challenger");
 
         assertEquals(0, score);
-        verify(quizAttemptRepository).findBestScoreByUserAndQuiz(challenger.getId(), 1L);
     }
 }
\ No newline at end of file
@@ -3,9 +3,9 @@ package com.quizapp.serviceTests;
 import com.quizapp.model.User;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.service.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,7 +14,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CustomUserDetailsServiceTest {
@@ -22,9 +22,13 @@ public class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new CustomUserDetailsService(userRepository, 100, 300);
+    }
+
     @Test
     void testLoadUserByUsername_Success() {
         User user = new User();
@@ -51,4 +55,55 @@ public class CustomUserDetailsServiceTest {
             userDetailsService.loadUserByUsername("unknown");
         });
     }
+
+    @Test
+    void testLoadUserByUsername_CachedUntilEvicted() {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setPasswordHash("hashed_password");
+        user.setRole("ROLE_USER");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("testuser");
+        UserDetails cached = userDetailsService.loadUserByUsername("testuser");
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertEquals("hashed_password", cached.getPassword());
+
+        user.setRole("ROLE_ADMIN");
+        userDetailsService.evict("testuser");
+        UserDetails reloaded = userDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+        assertEquals("ROLE_ADMIN", reloaded.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testLoadUserByUsername_ErasedCredentialsDoNotReachCache() {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setPasswordHash("hashed_password");
+        user.setRole("ROLE_USER");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        ((org.springframework.security.core.userdetails.User) userDetailsService.loadUserByUsername("testuser")).eraseCredentials();
+
+        assertEquals("hashed_password", userDetailsService.loadUserByUsername("testuser").getPassword());
+    }
+
+    @Test
+    void testUpdatePassword_StoresNewHashAndEvicts() {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setPasswordHash("old_hash");
+        user.setRole("ROLE_USER");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        UserDetails details = userDetailsService.loadUserByUsername("testuser");
+
+        UserDetails updated = userDetailsService.updatePassword(details, "new_hash");
+
+        assertEquals("new_hash", updated.getPassword());
+        assertEquals("new_hash", user.getPasswordHash());
+        verify(userRepository).save(user);
+        assertEquals("new_hash", userDetailsService.loadUserByUsername("testuser").getPassword());
+    }
 }
\ No newline at end of file
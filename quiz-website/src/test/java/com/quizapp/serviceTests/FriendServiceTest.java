@@ -5,12 +5,16 @@ import com.quizapp.model.User;
 import com.quizapp.repository.FriendRequestRepository;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.service.FriendService;
+import com.quizapp.service.FriendshipGraph;
+import com.quizapp.service.SearchIndex;
 import com.quizapp.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import com.quizapp.event.NotificationEvent;
 import org.mockito.InjectMocks;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -20,6 +24,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +34,9 @@ public class FriendServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private UserService userService;
     @Mock private FriendRequestRepository friendRequestRepository;
+    @Mock private FriendshipGraph friendshipGraph;
+    @Mock private SearchIndex searchIndex;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks private FriendService friendService;
 
@@ -77,5 +86,7 @@ public class FriendServiceTest {
 
         String result = friendService.sendFriendRequest("requester", "addressee");
         assertThat(result).isEqualTo("Friend request sent.");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof NotificationEvent n
+                && n.getRecipient().equals("addressee") && n.getType().equals(NotificationEvent.FRIEND_REQUEST_RECEIVED)));
     }
 }
\ No newline at end of file
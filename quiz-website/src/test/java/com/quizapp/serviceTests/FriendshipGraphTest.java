@@ -0,0 +1,126 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.model.FriendRequest;
+import com.quizapp.model.User;
+import com.quizapp.repository.FriendRequestRepository;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.service.FriendshipGraph;
+import com.quizapp.util.LongHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FriendshipGraphTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendRequestRepository friendRequestRepository;
+
+    private FriendshipGraph friendshipGraph;
+
+    @BeforeEach
+    void setUp() {
+        friendshipGraph = new FriendshipGraph(userRepository, friendRequestRepository);
+        when(userRepository.findAllIdsAndUsernames()).thenReturn(List.of(
+                new Object[]{1L, "ana"}, new Object[]{2L, "beka"}, new Object[]{3L, "dato"}, new Object[]{4L, "eka"}));
+        when(friendRequestRepository.findAllEdges()).thenReturn(List.of(
+                new Object[]{1L, 2L, FriendRequest.Status.ACCEPTED},
+                new Object[]{3L, 1L, FriendRequest.Status.PENDING}));
+        friendshipGraph.warm();
+    }
+
+    private User user(long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+
+    @Test
+    void testWarm_LoadsFriendsAndPendingRequests() {
+        assertTrue(friendshipGraph.isWarm());
+        assertEquals("FRIENDS", friendshipGraph.getStatus("beka", "ana"));
+        assertEquals("PENDING", friendshipGraph.getStatus("ana", "dato"));
+        assertEquals("NONE", friendshipGraph.getStatus("ana", "eka"));
+        assertNull(friendshipGraph.getStatus("ana", "unknown"));
+        assertEquals(List.of("beka"), friendshipGraph.getFriendUsernames("ana"));
+        assertEquals(List.of(), friendshipGraph.getFriendUsernames("eka"));
+    }
+
+    @Test
+    void testWriteThrough_TracksRequestLifecycle() {
+        User ana = user(1L, "ana");
+        User nino = user(5L, "nino");
+
+        friendshipGraph.requestSent(nino, ana);
+        assertEquals("PENDING", friendshipGraph.getStatus("ana", "nino"));
+
+        friendshipGraph.requestAccepted(nino, ana);
+        assertEquals("FRIENDS", friendshipGraph.getStatus("ana", "nino"));
+        assertEquals(List.of("beka", "nino"), friendshipGraph.getFriendUsernames("ana"));
+
+        friendshipGraph.friendshipRemoved(1L, 5L);
+        assertEquals("NONE", friendshipGraph.getStatus("nino", "ana"));
+
+        friendshipGraph.requestRemoved(3L, 1L);
+        assertEquals("NONE", friendshipGraph.getStatus("ana", "dato"));
+    }
+
+    @Test
+    void testRemoveUser_DropsEdgesAndName() {
+        friendshipGraph.removeUser(2L);
+
+        assertNull(friendshipGraph.getStatus("ana", "beka"));
+        assertEquals(List.of(), friendshipGraph.getFriendUsernames("ana"));
+    }
+
+    @Test
+    void testWarm_ReplaysChangesMadeWhileReading() {
+        User ana = user(1L, "ana");
+        User nino = user(5L, "nino");
+        when(friendRequestRepository.findAllEdges()).thenAnswer(invocation -> {
+            // Committed after the edges were read
+            friendshipGraph.requestAccepted(nino, ana);
+            friendshipGraph.friendshipRemoved(1L, 2L);
+            return List.<Object[]>of(new Object[]{1L, 2L, FriendRequest.Status.ACCEPTED});
+        });
+
+        friendshipGraph.warm();
+
+        assertEquals("FRIENDS", friendshipGraph.getStatus("ana", "nino"));
+        assertEquals("NONE", friendshipGraph.getStatus("ana", "beka"));
+        assertEquals(List.of("nino"), friendshipGraph.getFriendUsernames("ana"));
+    }
+
+    @Test
+    void testLongHashSet_MatchesJavaSetUnderChurn() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 500; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+}
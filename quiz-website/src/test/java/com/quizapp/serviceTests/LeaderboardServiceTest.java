@@ -0,0 +1,130 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(quizAttemptRepository, 3, 7);
+    }
+
+    private LeaderboardEntryDTO entry(long attemptId, long userId, int score, int seconds, LocalDateTime end) {
+        return new LeaderboardEntryDTO(attemptId, 1L, userId, "user" + userId, score, 10,
+                score * 10.0, end.minusSeconds(seconds), end, 0L);
+    }
+
+    @Test
+    void testGetTopScores_OrdersByScoreThenElapsedTime() {
+        LocalDateTime now = LocalDateTime.now();
+        leaderboardService.record(entry(1, 1, 7, 60, now));
+        leaderboardService.record(entry(2, 2, 9, 120, now));
+        leaderboardService.record(entry(3, 3, 9, 30, now));
+
+        List<LeaderboardEntryDTO> top = leaderboardService.getTopScores(1L, 10);
+
+        assertEquals(List.of(3L, 2L, 1L), top.stream().map(LeaderboardEntryDTO::getId).toList());
+    }
+
+    @Test
+    void testGetTopScores_KeepsOnlyCapacityEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            leaderboardService.record(entry(i, i, i, 60, now));
+        }
+
+        List<LeaderboardEntryDTO> top = leaderboardService.getTopScores(1L, 10);
+
+        assertEquals(3, top.size());
+        assertEquals(5, top.get(0).getScore());
+        assertEquals(3, top.get(2).getScore());
+    }
+
+    @Test
+    void testGetTopScoresToday_IgnoresEarlierDays() {
+        LocalDateTime now = LocalDateTime.now();
+        leaderboardService.record(entry(1, 1, 10, 60, now.minusDays(2)));
+        leaderboardService.record(entry(2, 2, 4, 60, now));
+
+        List<LeaderboardEntryDTO> today = leaderboardService.getTopScoresToday(1L, 5);
+        List<LeaderboardEntryDTO> lastThreeDays = leaderboardService.getTopScoresSince(1L, now.minusDays(3), 5);
+
+        assertEquals(1, today.size());
+        assertEquals(2L, today.get(0).getId());
+        assertEquals(List.of(1L, 2L), lastThreeDays.stream().map(LeaderboardEntryDTO::getId).toList());
+    }
+
+    @Test
+    void testGetTopScoresForLastHours_IsNotCutShortByEarlierBetterAttempts() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earlier = now.truncatedTo(ChronoUnit.HOURS).minusHours(2);
+        for (int i = 1; i <= 3; i++) {
+            leaderboardService.record(entry(i, i, 10, 60, earlier));
+        }
+        leaderboardService.record(entry(4, 4, 2, 60, now));
+
+        List<LeaderboardEntryDTO> lastHour = leaderboardService.getTopScoresForLastHours(1L, 1, 3);
+        List<LeaderboardEntryDTO> lastThreeHours = leaderboardService.getTopScoresForLastHours(1L, 3, 3);
+
+        assertEquals(List.of(4L), lastHour.stream().map(LeaderboardEntryDTO::getId).toList());
+        assertEquals(List.of(1L, 2L, 3L), lastThreeHours.stream().map(LeaderboardEntryDTO::getId).toList());
+    }
+
+    @Test
+    void testGetTopScoresForLastHours_RejectsHoursOutsideRetention() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopScoresForLastHours(1L, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopScoresForLastHours(1L, -3, 5));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopScoresForLastHours(1L, 7 * 24 + 1, 5));
+        assertTrue(leaderboardService.getTopScoresForLastHours(1L, 7 * 24, 5).isEmpty());
+    }
+
+    @Test
+    void testRebuild_KeepsAttemptsRecordedWhileReading() {
+        LocalDateTime now = LocalDateTime.now();
+        leaderboardService.record(entry(1, 1, 3, 60, now));
+        when(quizAttemptRepository.findLeaderboardEntriesAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Committed after this page was read
+            leaderboardService.record(entry(3, 3, 9, 60, now));
+            return List.of(entry(1, 1, 3, 60, now), entry(2, 2, 5, 60, now));
+        });
+
+        leaderboardService.rebuild();
+
+        assertEquals(List.of(3L, 2L, 1L), leaderboardService.getTopScores(1L, 10).stream()
+                .map(LeaderboardEntryDTO::getId).toList());
+    }
+
+    @Test
+    void testRebuild_LoadsAttemptsFromRepository() {
+        LocalDateTime now = LocalDateTime.now();
+        when(quizAttemptRepository.findLeaderboardEntriesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(entry(1, 1, 5, 60, now), entry(2, 2, 8, 60, now)));
+
+        leaderboardService.rebuild();
+
+        assertEquals(2L, leaderboardService.getTopScores(1L, 1).get(0).getId());
+        assertTrue(leaderboardService.getTopScores(2L, 1).isEmpty());
+    }
+}
@@ -1,18 +1,26 @@
 package com.quizapp.serviceTests;
 
+import com.quizapp.model.ConversationSummary;
 import com.quizapp.model.Message;
+import com.quizapp.repository.ConversationSummaryRepository;
 import com.quizapp.repository.MessageRepository;
 import com.quizapp.service.MessageService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import com.quizapp.event.NotificationEvent;
 import org.mockito.InjectMocks;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,6 +29,12 @@ public class MessageServiceTest {
     @Mock
     private MessageRepository messageRepository;
 
+    @Mock
+    private ConversationSummaryRepository conversationSummaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -29,9 +43,12 @@ public class MessageServiceTest {
         String sender = "sender";
         String receiver = "receiver";
         String content = "Hello!";
-        Message message = new Message(sender, receiver, content, LocalDateTime.now());
+        Message message = spy(new Message(sender, receiver, content, LocalDateTime.now()));
+        doReturn(1L).when(message).getId();
+        ConversationSummary summary = new ConversationSummary(message);
 
         when(messageRepository.save(any(Message.class))).thenReturn(message);
+        when(conversationSummaryRepository.findForUpdate(receiver, sender)).thenReturn(Optional.of(summary));
 
         Message result = messageService.sendMessage(sender, receiver, content);
 
@@ -41,6 +58,26 @@ public class MessageServiceTest {
         assertEquals(content, result.getContent());
         assertNotNull(result.getTimestamp());
         verify(messageRepository).save(any(Message.class));
+        verify(conversationSummaryRepository).insertIfAbsent(receiver, sender, 1L, message.getTimestamp());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof NotificationEvent n
+                && n.getRecipient().equals(receiver) && n.getType().equals(NotificationEvent.MESSAGE_RECEIVED)));
+    }
+
+    @Test
+    void testSendMessage_AdvancesExistingConversation() {
+        Message previous = spy(new Message("sender", "receiver", "Old", LocalDateTime.now().minusHours(1)));
+        doReturn(1L).when(previous).getId();
+        ConversationSummary summary = new ConversationSummary(previous);
+        Message latest = spy(new Message("sender", "receiver", "New", LocalDateTime.now()));
+        doReturn(2L).when(latest).getId();
+        when(messageRepository.save(any(Message.class))).thenReturn(latest);
+        when(conversationSummaryRepository.findForUpdate("receiver", "sender")).thenReturn(Optional.of(summary));
+
+        messageService.sendMessage("sender", "receiver", "New");
+
+        assertEquals(2L, summary.getLastMessageId());
+        assertEquals(latest.getTimestamp(), summary.getLastTimestamp());
+        verify(conversationSummaryRepository, never()).save(any());
     }
 
     @Test
@@ -51,13 +88,24 @@ public class MessageServiceTest {
                 new Message("sender2", receiver, "Hi!", LocalDateTime.now().minusMinutes(1))
         );
 
-        when(messageRepository.findLatestMessagesForReceiver(receiver)).thenReturn(messages);
+        when(conversationSummaryRepository.findInbox(eq(receiver), any(Pageable.class))).thenReturn(messages);
 
         List<Message> result = messageService.getLatestMessagesForReceiver(receiver);
 
         assertEquals(2, result.size());
         assertEquals("sender1", result.get(0).getSenderUsername());
         assertEquals("sender2", result.get(1).getSenderUsername());
-        verify(messageRepository).findLatestMessagesForReceiver(receiver);
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    void testGetInbox_UsesKeysetCursorAndCapsPageSize() {
+        LocalDateTime before = LocalDateTime.now();
+        when(conversationSummaryRepository.findInboxBefore(eq("receiver"), eq(before), eq(5L), any(Pageable.class))).thenReturn(List.of());
+
+        messageService.getInbox("receiver", before, 5L, 1000);
+
+        verify(conversationSummaryRepository).findInboxBefore(eq("receiver"), eq(before), eq(5L),
+                argThat(page -> page.getPageSize() == 100));
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationServiceTest {
+
+    private final NotificationService notificationService = new NotificationService(4, 3, 600_000, 60_000, 2, 1);
+
+    @AfterEach
+    void tearDown() {
+        notificationService.stop();
+    }
+
+    private static class RecordingSink implements NotificationService.Sink {
+        final List<NotificationService.Notification> received = new CopyOnWriteArrayList<>();
+        volatile int heartbeats;
+        volatile boolean closed;
+        volatile CountDownLatch gate;
+        final CountDownLatch sending = new CountDownLatch(1);
+
+        @Override
+        public void send(NotificationService.Notification notification) throws IOException {
+            sending.countDown();
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(notification);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        List<String> types() {
+            return received.stream().map(NotificationService.Notification::type).toList();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void publish_FansOutToEveryStreamOfTheRecipientOnly() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        RecordingSink other = new RecordingSink();
+        notificationService.attach("alice", null, first);
+        notificationService.attach("alice", null, second);
+        notificationService.attach("bob", null, other);
+
+        notificationService.publish("alice", "message", Map.of("from", "carol"));
+
+        await(() -> first.received.size() == 1 && second.received.size() == 1);
+        assertEquals("carol", first.received.get(0).data().get("from"));
+        assertTrue(other.received.isEmpty());
+    }
+
+    @Test
+    void attach_WithLastEventIdReplaysOnlyMissedEvents() throws Exception {
+        RecordingSink live = new RecordingSink();
+        NotificationService.Connection connection = notificationService.attach("alice", null, live);
+        notificationService.publish("alice", "challenge", Map.of());
+        await(() -> live.received.size() == 1);
+        String cursor = live.received.get(0).id();
+        connection.close();
+
+        notificationService.publish("alice", "message", Map.of());
+        notificationService.publish("alice", "friend-request", Map.of());
+        RecordingSink reconnected = new RecordingSink();
+        notificationService.attach("alice", cursor, reconnected);
+
+        await(() -> reconnected.received.size() == 2);
+        assertEquals(List.of("message", "friend-request"), reconnected.types());
+    }
+
+    @Test
+    void attach_WithCursorOlderThanHistoryGetsResync() throws Exception {
+        RecordingSink live = new RecordingSink();
+        NotificationService.Connection connection = notificationService.attach("alice", null, live);
+        notificationService.publish("alice", "message", Map.of());
+        await(() -> live.received.size() == 1);
+        String cursor = live.received.get(0).id();
+        connection.close();
+        for (int i = 0; i < 5; i++) {
+            notificationService.publish("alice", "message", Map.of());
+        }
+
+        RecordingSink stale = new RecordingSink();
+        notificationService.attach("alice", cursor, stale);
+        RecordingSink foreign = new RecordingSink();
+        notificationService.attach("alice", "previous-boot-7", foreign);
+
+        await(() -> stale.received.size() == 1 && foreign.received.size() == 1);
+        assertEquals(List.of(NotificationService.RESYNC), stale.types());
+        assertEquals(List.of(NotificationService.RESYNC), foreign.types());
+    }
+
+    @Test
+    void slowStream_OverflowCollapsesToResync() throws Exception {
+        RecordingSink slow = new RecordingSink();
+        slow.gate = new CountDownLatch(1);
+        notificationService.attach("alice", null, slow);
+
+        // Hold the sender on the first event so the rest queue up deterministically
+        notificationService.publish("alice", "message", Map.of("n", 0));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        // 1-4 fill the buffer of 4, 5 collapses it to a resync, 6-8 queue behind the resync
+        for (int i = 1; i <= 8; i++) {
+            notificationService.publish("alice", "message", Map.of("n", i));
+        }
+        slow.gate.countDown();
+
+        await(() -> slow.received.size() == 5);
+        assertEquals(List.of("message", NotificationService.RESYNC, "message", "message", "message"), slow.types());
+        assertEquals(List.of(0, 6, 7, 8), slow.received.stream()
+                .filter(n -> !NotificationService.RESYNC.equals(n.type()))
+                .map(n -> n.data().get("n"))
+                .toList());
+        assertEquals(1L, notificationService.getStats().get("overflows"));
+    }
+
+    @Test
+    void heartbeat_ReachesIdleStreamsAndOldestStreamIsClosedPastTheLimit() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        RecordingSink third = new RecordingSink();
+        notificationService.attach("alice", null, first);
+        notificationService.attach("alice", null, second);
+        notificationService.attach("alice", null, third);
+
+        notificationService.heartbeat();
+
+        assertTrue(first.closed);
+        await(() -> second.heartbeats == 1 && third.heartbeats == 1);
+        assertEquals(0, first.heartbeats);
+        assertEquals(2, notificationService.getStats().get("connections"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.model.PersonalBest;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.User;
+import com.quizapp.repository.PersonalBestRepository;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.service.FriendshipGraph;
+import com.quizapp.service.PersonalBestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PersonalBestServiceTest {
+
+    @Mock
+    private PersonalBestRepository personalBestRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private FriendshipGraph friendshipGraph;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PersonalBestService personalBestService;
+
+    @BeforeEach
+    void setUp() {
+        personalBestService = new PersonalBestService(personalBestRepository, quizAttemptRepository, friendshipGraph,
+                transactionManager, true);
+    }
+
+    private QuizAttempt attempt(long id, int score, long minutes, boolean practice) {
+        User user = new User();
+        user.setId(7L);
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(id);
+        attempt.setUser(user);
+        attempt.setQuiz(quiz);
+        attempt.setScore(score);
+        attempt.setPercentage(score * 10.0);
+        attempt.setTimeTakenMinutes(minutes);
+        attempt.setIsPracticeMode(practice);
+        attempt.setIsCompleted(true);
+        return attempt;
+    }
+
+    private LeaderboardEntryDTO entry(long id, long userId, int score, long minutes) {
+        LocalDateTime end = LocalDateTime.now();
+        return new LeaderboardEntryDTO(id, 1L, userId, "user" + userId, score, 10, score * 10.0,
+                end.minusMinutes(minutes), end, minutes);
+    }
+
+    @Test
+    void testOnAttemptCompleted_KeepsHigherScoreThenFasterTime() {
+        PersonalBest best = new PersonalBest(7L, 1L);
+        when(personalBestRepository.findByIdForUpdate(new PersonalBest.Key(7L, 1L))).thenReturn(Optional.of(best));
+
+        personalBestService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(1, 8, 5, false)));
+        personalBestService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(2, 6, 1, false)));
+        personalBestService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(3, 8, 3, false)));
+        personalBestService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(4, 8, 4, false)));
+
+        verify(personalBestRepository, times(4)).insertIfAbsent(7L, 1L);
+        verify(personalBestRepository, times(4)).save(best);
+        assertEquals(4, best.getAttemptCount());
+        assertEquals(8, best.getBestScore());
+        assertEquals(3L, best.getBestTimeMinutes());
+        assertEquals(3L, best.getBestAttemptId());
+    }
+
+    @Test
+    void testOnAttemptCompleted_IgnoresPracticeAttempts() {
+        personalBestService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(1, 10, 2, true)));
+
+        verifyNoInteractions(personalBestRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfill_FoldsAttemptsIntoOneRowPerUserAndQuiz() {
+        when(quizAttemptRepository.findLeaderboardEntriesAfter(eq(0L), any())).thenReturn(List.of(
+                entry(1, 7, 5, 4), entry(2, 7, 9, 6), entry(3, 8, 3, 2)));
+
+        assertEquals(2, personalBestService.backfill());
+
+        ArgumentCaptor<Collection<PersonalBest>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(personalBestRepository).saveAll(saved.capture());
+        PersonalBest first = saved.getValue().stream()
+                .filter(b -> b.getId().getUserId() == 7L).findFirst().orElseThrow();
+        assertEquals(9, first.getBestScore());
+        assertEquals(2, first.getAttemptCount());
+        assertTrue(first.isNew());
+        verify(personalBestRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void testBackfillIfEmpty_RunsInsideATransaction() {
+        when(personalBestRepository.count()).thenReturn(0L);
+        when(quizAttemptRepository.findLeaderboardEntriesAfter(eq(0L), any())).thenReturn(List.of(entry(1, 7, 5, 4)));
+
+        personalBestService.backfillIfEmpty();
+
+        InOrder order = inOrder(transactionManager, personalBestRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(personalBestRepository).saveAll(any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testGetFriendComparison_RanksBestFirst() {
+        when(friendshipGraph.getFriendUsernames("user7")).thenReturn(List.of("user8"));
+        PersonalBest mine = new PersonalBest(7L, 1L);
+        mine.record(1L, 6, 60.0, 3L, LocalDateTime.now());
+        PersonalBest friend = new PersonalBest(8L, 1L);
+        friend.record(2L, 9, 90.0, 5L, LocalDateTime.now());
+        when(personalBestRepository.findByQuizIdAndUsernames(eq(1L), any())).thenReturn(List.of(
+                new Object[]{"user7", mine}, new Object[]{"user8", friend}));
+
+        List<Map<String, Object>> rows = personalBestService.getFriendComparison("user7", 1L);
+
+        assertEquals("user8", rows.get(0).get("username"));
+        assertEquals(true, rows.get(1).get("self"));
+        verify(quizAttemptRepository, never()).findLeaderboardEntriesByQuizIdAfter(anyLong(), anyLong(), any());
+    }
+}
@@ -2,7 +2,11 @@ package com.quizapp.serviceTests;
 
 import com.quizapp.model.Question;
 import com.quizapp.repository.QuestionRepository;
+import com.quizapp.service.AnswerKeyCache;
 import com.quizapp.service.QuestionService;
+import com.quizapp.service.QuizSnapshotCache;
+import com.quizapp.service.RegradeService;
+import com.quizapp.service.SearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -21,6 +25,18 @@ public class QuestionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private RegradeService regradeService;
+
     @InjectMocks
     private QuestionService questionService;
 
@@ -79,6 +95,23 @@ public class QuestionServiceTest {
         assertEquals("Updated question", result.get().getQuestionText());
         verify(questionRepository).findById(1L);
         verify(questionRepository).save(existingQuestion);
+        verify(answerKeyCache).invalidate(1L);
+        verifyNoInteractions(regradeService);
+    }
+
+    @Test
+    void testUpdateQuestion_CorrectAnswerChangedEnqueuesRegrade() {
+        Question existingQuestion = new Question("Capital of Australia?", Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("Sydney"));
+        existingQuestion.setId(1L);
+        Question updatedQuestionData = new Question("Capital of Australia?", Question.QuestionType.QUESTION_RESPONSE, null, List.of("Canberra"));
+        when(questionRepository.findById(1L)).thenReturn(Optional.of(existingQuestion));
+        when(questionRepository.save(any(Question.class))).thenReturn(existingQuestion);
+
+        questionService.updateQuestion(1L, updatedQuestionData);
+
+        assertEquals(List.of("Canberra"), existingQuestion.getCorrectAnswers());
+        assertTrue(existingQuestion.isAnswerCorrect("canberra"));
+        verify(regradeService).enqueue(List.of(1L));
     }
 
     @Test
@@ -0,0 +1,61 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.GradedSheet;
+import com.quizapp.model.AnswerKey;
+import com.quizapp.model.Option;
+import com.quizapp.model.Question;
+import com.quizapp.service.QuizGradingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuizGradingServiceTest {
+
+    private final QuizGradingService quizGradingService = new QuizGradingService();
+
+    private AnswerKey responseKey(String... answers) {
+        return new Question("Q", Question.QuestionType.QUESTION_RESPONSE, List.of(),
+                new ArrayList<>(Arrays.asList(answers))).getAnswerKey();
+    }
+
+    @Test
+    void testGradeSheet_SetsBitsForCorrectAnswers() {
+        AnswerKey choice = new Question("2+2?", Question.QuestionType.MULTIPLE_CHOICE,
+                List.of(new Option("3", false), new Option("Four", true)), List.of()).getAnswerKey();
+        List<AnswerKey> keys = List.of(choice, responseKey("Paris"), responseKey("Rome"), responseKey("Oslo"));
+
+        GradedSheet sheet = quizGradingService.gradeSheet(keys, Arrays.asList("\tFOUR ", "lyon", null, " oslo"));
+
+        assertTrue(sheet.isCorrect(0));
+        assertFalse(sheet.isCorrect(1));
+        assertFalse(sheet.isCorrect(2));
+        assertTrue(sheet.isCorrect(3));
+        assertEquals(2, sheet.getScore());
+        assertEquals(50.0, sheet.getPercentage());
+    }
+
+    @Test
+    void testGradeSheet_BlankAnswersAreWrong() {
+        GradedSheet sheet = quizGradingService.gradeSheet(List.of(responseKey("")), List.of("   "));
+
+        assertEquals(0, sheet.getScore());
+    }
+
+    @Test
+    void testAreAnswersCorrect_UnorderedBeyondSixtyFourKeys() {
+        List<String> correct = IntStream.range(0, 70).mapToObj(i -> "item" + i).toList();
+        Question question = new Question("List them", Question.QuestionType.QUESTION_RESPONSE, List.of(), new ArrayList<>(correct));
+
+        List<String> shuffled = new ArrayList<>(correct.stream().map(String::toUpperCase).toList());
+        java.util.Collections.reverse(shuffled);
+        assertTrue(question.areAnswersCorrect(shuffled));
+
+        shuffled.set(0, "ITEM1");
+        assertFalse(question.areAnswersCorrect(shuffled));
+    }
+}
@@ -1,14 +1,20 @@
 package com.quizapp.serviceTests;
 
+import com.quizapp.event.QuizCreatedEvent;
 import com.quizapp.model.Quiz;
 import com.quizapp.model.Question;
+import com.quizapp.repository.QuizFetchPlans;
 import com.quizapp.repository.QuizRepository;
+import com.quizapp.service.AnswerKeyCache;
 import com.quizapp.service.QuizService;
+import com.quizapp.service.QuizSnapshotCache;
+import com.quizapp.service.SearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +30,21 @@ class QuizServiceTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Mock
+    private QuizFetchPlans quizFetchPlans;
+
+    @Mock
+    private SearchIndex searchIndex;
+
     @InjectMocks
     private QuizService quizService;
 
@@ -43,6 +64,7 @@ class QuizServiceTest {
         assertThat(savedQuiz.getQuestions()).hasSize(1);
         assertThat(savedQuiz.getQuestions().get(0).getQuiz()).isEqualTo(savedQuiz);
         verify(quizRepository).save(quiz);
+        verify(eventPublisher).publishEvent(any(QuizCreatedEvent.class));
     }
 
     @Test
@@ -0,0 +1,96 @@
+package com.quizapp.serviceTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.dto.QuizSnapshot;
+import com.quizapp.model.Option;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.repository.QuizFetchPlans;
+import com.quizapp.service.AnswerKeyCache;
+import com.quizapp.service.QuizSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuizSnapshotCacheTest {
+
+    @Mock
+    private QuizFetchPlans quizFetchPlans;
+
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        quizSnapshotCache = new QuizSnapshotCache(quizFetchPlans, new AnswerKeyCache(), new ObjectMapper(), 2);
+    }
+
+    private Quiz quiz(Long id, String questionText) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        Question question = new Question(questionText, Question.QuestionType.MULTIPLE_CHOICE,
+                List.of(new Option("yes", true)), new ArrayList<>());
+        question.setId(id * 10);
+        question.setQuiz(quiz);
+        quiz.setQuestions(List.of(question));
+        return quiz;
+    }
+
+    @Test
+    void testGet_BuildsOnceAndServesPreSerializedJson() {
+        when(quizFetchPlans.withFullQuestions(1L)).thenReturn(Optional.of(quiz(1L, "Q1")));
+
+        QuizSnapshot first = quizSnapshotCache.get(1L);
+        QuizSnapshot second = quizSnapshotCache.get(1L);
+
+        assertSame(first, second);
+        verify(quizFetchPlans, times(1)).withFullQuestions(1L);
+        String json = new String(first.getQuestionsJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"questionText\":\"Q1\""));
+        assertTrue(json.contains("\"isCorrect\":true"));
+        assertEquals(1L, quizSnapshotCache.getStats().get("hits"));
+        assertEquals(1L, quizSnapshotCache.getStats().get("misses"));
+    }
+
+    @Test
+    void testInvalidate_NextReadSeesNewContent() {
+        when(quizFetchPlans.withFullQuestions(1L)).thenReturn(Optional.of(quiz(1L, "Old")), Optional.of(quiz(1L, "New")));
+        QuizSnapshot before = quizSnapshotCache.get(1L);
+
+        quizSnapshotCache.invalidate(1L);
+        QuizSnapshot after = quizSnapshotCache.get(1L);
+
+        assertEquals("Old", before.getQuestions().get(0).questionText);
+        assertEquals("New", after.getQuestions().get(0).questionText);
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsedBeyondCapacity() {
+        for (long id = 1; id <= 3; id++) {
+            when(quizFetchPlans.withFullQuestions(id)).thenReturn(Optional.of(quiz(id, "Q" + id)));
+        }
+        quizSnapshotCache.get(1L);
+        quizSnapshotCache.get(2L);
+        quizSnapshotCache.get(1L);
+        quizSnapshotCache.get(3L);
+
+        quizSnapshotCache.get(1L);
+        quizSnapshotCache.get(2L);
+
+        verify(quizFetchPlans, times(1)).withFullQuestions(1L);
+        verify(quizFetchPlans, times(2)).withFullQuestions(2L);
+        assertEquals(2, quizSnapshotCache.getStats().get("size"));
+        assertEquals(2L, quizSnapshotCache.getStats().get("evictions"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.event.QuizAttemptCompletedEvent;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizStatistics;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizStatisticsRepository;
+import com.quizapp.service.QuizStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuizStatisticsServiceTest {
+
+    @Mock
+    private QuizStatisticsRepository quizStatisticsRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QuizStatisticsService quizStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        quizStatisticsService = new QuizStatisticsService(quizStatisticsRepository, quizAttemptRepository,
+                transactionManager, true);
+    }
+
+    private QuizAttempt attempt(int score, double percentage, long minutes, boolean practice) {
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setScore(score);
+        attempt.setPercentage(percentage);
+        attempt.setTimeTakenMinutes(minutes);
+        attempt.setIsPracticeMode(practice);
+        attempt.setIsCompleted(true);
+        return attempt;
+    }
+
+    @Test
+    void testOnAttemptCompleted_AppliesDeltaToLockedRow() {
+        QuizStatistics stats = new QuizStatistics(1L);
+        stats.record(attempt(6, 60.0, 4, false));
+        when(quizStatisticsRepository.findByQuizIdForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        quizStatisticsService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(10, 100.0, 2, false)));
+
+        InOrder order = inOrder(quizStatisticsRepository);
+        order.verify(quizStatisticsRepository).insertIfAbsent(1L);
+        order.verify(quizStatisticsRepository).findByQuizIdForUpdate(1L);
+        verify(quizStatisticsRepository).save(stats);
+        assertEquals(2, stats.getAttemptCount());
+        assertEquals(80.0, stats.getAveragePercentage());
+        assertEquals(3.0, stats.getAverageTime());
+        assertEquals(20.0, stats.getPercentageStdDev(), 1e-9);
+        assertEquals(10, stats.getMaxScore());
+        assertEquals(1, stats.getScoreHistogram()[6]);
+        assertEquals(1, stats.getScoreHistogram()[10]);
+    }
+
+    @Test
+    void testOnAttemptCompleted_IgnoresPracticeAttempts() {
+        quizStatisticsService.onAttemptCompleted(new QuizAttemptCompletedEvent(attempt(10, 100.0, 2, true)));
+
+        verifyNoInteractions(quizStatisticsRepository);
+    }
+
+    @Test
+    void testGetStatistics_ReadsSummaryRow() {
+        QuizStatistics stats = new QuizStatistics(1L);
+        stats.record(attempt(5, 50.0, 3, false));
+        stats.record(attempt(8, 80.0, 4, false));
+        when(quizStatisticsRepository.findById(1L)).thenReturn(Optional.of(stats));
+
+        Map<String, Object> result = quizStatisticsService.getStatistics(1L);
+
+        assertEquals(2, result.get("totalAttempts"));
+        assertEquals(65.0, result.get("averageScore"));
+        assertEquals(3.5, result.get("averageTime"));
+        assertEquals(8, result.get("highestScore"));
+        verifyNoInteractions(quizAttemptRepository);
+    }
+
+    @Test
+    void testGetStatistics_NoAttempts() {
+        when(quizStatisticsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Map<String, Object> result = quizStatisticsService.getStatistics(1L);
+
+        assertEquals(0, result.get("totalAttempts"));
+        assertEquals(0.0, result.get("averageScore"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfill_BuildsRowsFromAggregates() {
+        when(quizAttemptRepository.aggregateStatisticsByQuiz()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2L, 150.0, 12500.0, 7L, 10}));
+        when(quizAttemptRepository.scoreHistogramByQuiz()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 5.0, 1L},
+                new Object[]{1L, 10.0, 1L}));
+
+        assertEquals(1, quizStatisticsService.backfill());
+
+        ArgumentCaptor<Collection<QuizStatistics>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(quizStatisticsRepository).saveAll(saved.capture());
+        QuizStatistics stats = saved.getValue().iterator().next();
+        assertEquals(75.0, stats.getAveragePercentage());
+        assertEquals(25.0, stats.getPercentageStdDev(), 1e-9);
+        assertEquals(1, stats.getScoreHistogram()[5]);
+        assertEquals(1, stats.getScoreHistogram()[10]);
+    }
+
+    @Test
+    void testBackfillIfEmpty_RunsInsideATransaction() {
+        when(quizStatisticsRepository.count()).thenReturn(0L);
+
+        quizStatisticsService.backfillIfEmpty();
+
+        InOrder order = inOrder(transactionManager, quizStatisticsRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(quizStatisticsRepository).saveAll(any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testBackfillIfEmpty_LeavesExistingRowsAlone() {
+        when(quizStatisticsRepository.count()).thenReturn(3L);
+
+        quizStatisticsService.backfillIfEmpty();
+
+        verifyNoInteractions(transactionManager, quizAttemptRepository);
+        verify(quizStatisticsRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testRebuildQuiz_RemovesRowWhenNoAttemptsLeft() {
+        when(quizAttemptRepository.aggregateStatisticsForQuiz(1L)).thenReturn(List.of());
+        when(quizAttemptRepository.scoreHistogramForQuiz(1L)).thenReturn(List.of());
+        when(quizStatisticsRepository.existsById(1L)).thenReturn(true);
+
+        quizStatisticsService.rebuildQuiz(1L);
+
+        verify(quizStatisticsRepository).deleteById(1L);
+        verify(quizStatisticsRepository, never()).save(any());
+    }
+}
@@ -1,17 +1,30 @@
 package com.quizapp.serviceTests;
 
+import com.quizapp.dto.GradedSubmission;
+import com.quizapp.dto.LeaderboardEntryDTO;
+import com.quizapp.event.QuizAttemptCompletedEvent;
 import com.quizapp.model.*;
+import com.quizapp.repository.AnswerBatchWriter;
 import com.quizapp.repository.AnswerRepository;
 import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizAttemptBatchWriter;
 import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizFetchPlans;
 import com.quizapp.repository.QuizRepository;
+import com.quizapp.service.AnswerKeyCache;
+import com.quizapp.service.LeaderboardService;
+import com.quizapp.service.QuizGradingService;
+import com.quizapp.service.QuizStatisticsService;
 import com.quizapp.service.QuizTakingService;
+import com.quizapp.service.QuizSnapshotCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -35,6 +48,33 @@ public class QuizTakingServiceTest {
     @Mock
     private AnswerRepository answerRepository;
 
+    @Mock
+    private AnswerBatchWriter answerBatchWriter;
+
+    @Mock
+    private QuizAttemptBatchWriter quizAttemptBatchWriter;
+
+    @Spy
+    private AnswerKeyCache answerKeyCache = new AnswerKeyCache();
+
+    @Spy
+    private QuizGradingService quizGradingService = new QuizGradingService();
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private QuizStatisticsService quizStatisticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QuizSnapshotCache quizSnapshotCache;
+
+    @Mock
+    private QuizFetchPlans quizFetchPlans;
+
     @InjectMocks
     private QuizTakingService quizTakingService;
 
@@ -86,8 +126,7 @@ public class QuizTakingServiceTest {
     void testSubmitQuiz_Success() {
         Map<Long, String> questionAnswers = Map.of(1L, "4");
         when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
-        when(answerRepository.findByQuizAttemptIdOrderByQuestionNumber(1L)).thenReturn(List.of());
-        when(answerRepository.saveAll(anyList())).thenReturn(List.of());
+        when(answerBatchWriter.insertAll(anyList())).thenReturn(1);
         when(quizAttemptRepository.save(any(QuizAttempt.class))).thenReturn(attempt);
 
         QuizAttempt result = quizTakingService.submitQuiz(1L, questionAnswers);
@@ -95,8 +134,36 @@ public class QuizTakingServiceTest {
         assertTrue(result.getIsCompleted());
         assertEquals(1, result.getScore());
         assertEquals(100.0, result.getPercentage());
-        verify(answerRepository).saveAll(anyList());
+        verify(answerRepository).deleteByQuizAttemptId(1L);
+        verify(answerBatchWriter).insertAll(anyList());
         verify(quizAttemptRepository).save(attempt);
+        verify(eventPublisher).publishEvent(any(QuizAttemptCompletedEvent.class));
+    }
+
+    @Test
+    void testGradeSubmission_GradesWithoutWriting() {
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        LocalDateTime submittedAt = attempt.getStartTime().plusMinutes(5);
+
+        GradedSubmission graded = quizTakingService.gradeSubmission(1L, Map.of(1L, "4"), submittedAt);
+
+        assertEquals(1, graded.getAttempt().getScore());
+        assertEquals(5L, graded.getAttempt().getTimeTakenMinutes());
+        assertSame(graded.getAttempt(), graded.getAnswers().get(0).getQuizAttempt());
+        assertFalse(attempt.getIsCompleted());
+        verifyNoInteractions(answerRepository, answerBatchWriter, eventPublisher);
+    }
+
+    @Test
+    void testPersistGradedSubmissions_SkipsAttemptsCompletedMeanwhile() {
+        when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(attempt));
+        GradedSubmission graded = quizTakingService.gradeSubmission(1L, Map.of(1L, "4"), LocalDateTime.now());
+        when(quizAttemptBatchWriter.completeAll(List.of(graded.getAttempt()))).thenReturn(List.of());
+
+        List<Long> written = quizTakingService.persistGradedSubmissions(List.of(graded));
+
+        assertTrue(written.isEmpty());
+        verifyNoInteractions(answerRepository, answerBatchWriter, eventPublisher);
     }
 
     @Test
@@ -116,15 +183,16 @@ public class QuizTakingServiceTest {
 
     @Test
     void testGetTopScores_Success() {
-        QuizAttempt attempt2 = new QuizAttempt(user, quiz);
-        attempt2.setScore(8);
-        when(quizAttemptRepository.findTopScoresByQuizId(1L)).thenReturn(List.of(attempt, attempt2));
+        attempt.completeAttempt(1);
+        LeaderboardEntryDTO entry = new LeaderboardEntryDTO(attempt);
+        when(leaderboardService.getTopScores(1L, 1)).thenReturn(List.of(entry));
 
-        List<QuizAttempt> result = quizTakingService.getTopScores(1L, 1);
+        List<LeaderboardEntryDTO> result = quizTakingService.getTopScores(1L, 1);
 
         assertEquals(1, result.size());
-        assertEquals(attempt, result.get(0));
-        verify(quizAttemptRepository).findTopScoresByQuizId(1L);
+        assertEquals(attempt.getId(), result.get(0).getId());
+        verify(leaderboardService).getTopScores(1L, 1);
+        verifyNoInteractions(quizAttemptRepository);
     }
 
 }
\ No newline at end of file
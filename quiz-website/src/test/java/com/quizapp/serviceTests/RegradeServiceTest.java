@@ -0,0 +1,197 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.model.*;
+import com.quizapp.repository.*;
+import com.quizapp.service.QuestionService;
+import com.quizapp.service.QuizService;
+import com.quizapp.service.QuizTakingService;
+import com.quizapp.service.RegradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Small chunks so a handful of answers already takes several chunks
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:regrade;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "quizapp.regrade.chunk-size=2",
+        "quizapp.regrade.pause-ms=0"
+})
+public class RegradeServiceTest {
+
+    @Autowired
+    private RegradeService regradeService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizTakingService quizTakingService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private RegradeJobRepository regradeJobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("regrader" + System.nanoTime());
+        user.setPasswordHash("pw");
+        user = userRepository.save(user);
+    }
+
+    private Quiz quiz(String... keys) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Capitals");
+        quiz.setDescription("Regrade");
+        quiz.setCreatedBy(user);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            Question question = new Question("Question " + i, Question.QuestionType.QUESTION_RESPONSE,
+                    new ArrayList<>(), new ArrayList<>(List.of(keys[i])));
+            question.setQuestionOrder(i + 1);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+        return quizService.createQuiz(quiz);
+    }
+
+    private QuizAttempt attempt(Quiz quiz, Map<Long, String> answers) {
+        QuizAttempt attempt = quizTakingService.startQuiz(quiz.getId(), user, false);
+        return quizTakingService.submitQuiz(attempt.getId(), answers);
+    }
+
+    // Attempts answering "Canberra" to a one-question quiz keyed "Sydney", so every answer is stored as wrong
+    private List<QuizAttempt> wronglyGradedAttempts(Quiz quiz, int count) {
+        Long questionId = quiz.getQuestions().get(0).getId();
+        List<QuizAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            QuizAttempt attempt = attempt(quiz, Map.of(questionId, "Canberra"));
+            assertEquals(0, (int) attempt.getScore());
+            attempts.add(attempt);
+        }
+        return attempts;
+    }
+
+    private Answer answer(QuizAttempt attempt, Long questionId) {
+        return answerRepository.findByQuizAttemptIdAndQuestionId(attempt.getId(), questionId);
+    }
+
+    private RegradeJob latestJob() {
+        return regradeJobRepository.findTop20ByOrderByIdDesc().get(0);
+    }
+
+    @Test
+    void testUpdatedAnswerKey_RegradesStoredAttempts() throws Exception {
+        Quiz quiz = quiz("Sydney", "Nile");
+        Long capitalId = quiz.getQuestions().get(0).getId();
+        Long riverId = quiz.getQuestions().get(1).getId();
+        QuizAttempt attempt = attempt(quiz, Map.of(capitalId, "Canberra", riverId, "Nile"));
+        assertEquals(1, (int) attempt.getScore());
+
+        questionService.updateQuestion(capitalId, new Question("Capital of Australia?",
+                Question.QuestionType.QUESTION_RESPONSE, null, List.of("Canberra")));
+        assertTrue(regradeService.awaitIdle(10, TimeUnit.SECONDS));
+
+        QuizAttempt regraded = quizAttemptRepository.findById(attempt.getId()).orElseThrow();
+        assertEquals(2, (int) regraded.getScore());
+        assertEquals(100.0, regraded.getPercentage(), 0.001);
+        assertTrue(answer(attempt, capitalId).getIsCorrect());
+        assertTrue(answer(attempt, riverId).getIsCorrect());
+    }
+
+    @Test
+    void testEnqueue_RejectsMoreQuestionsThanTheJobCanStore() {
+        List<Long> tooMany = LongStream.rangeClosed(1, RegradeService.MAX_QUESTIONS_PER_JOB + 1).boxed().toList();
+        long jobsBefore = regradeJobRepository.count();
+
+        assertThrows(IllegalArgumentException.class, () -> regradeService.enqueue(tooMany));
+
+        assertEquals(jobsBefore, regradeJobRepository.count());
+    }
+
+    @Test
+    void testJob_WorksThroughSeveralChunks() throws Exception {
+        Quiz quiz = quiz("Sydney");
+        Long questionId = quiz.getQuestions().get(0).getId();
+        List<QuizAttempt> attempts = wronglyGradedAttempts(quiz, 5);
+
+        questionService.updateQuestion(questionId, new Question("Capital of Australia?",
+                Question.QuestionType.QUESTION_RESPONSE, null, List.of("Canberra")));
+        assertTrue(regradeService.awaitIdle(10, TimeUnit.SECONDS));
+
+        RegradeJob job = latestJob();
+        assertEquals(RegradeJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getAnswersTotal());
+        assertEquals(5, job.getAnswersScanned());
+        assertEquals(5, job.getAnswersChanged());
+        assertEquals(5, job.getAttemptsRescored());
+        assertEquals(answer(attempts.get(4), questionId).getId(), job.getLastAnswerId());
+        for (QuizAttempt attempt : attempts) {
+            assertEquals(1, (int) quizAttemptRepository.findById(attempt.getId()).orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    void testResumeUnfinished_ContinuesAfterTheLastCommittedAnswer() throws Exception {
+        Quiz quiz = quiz("Sydney");
+        Long questionId = quiz.getQuestions().get(0).getId();
+        List<QuizAttempt> attempts = wronglyGradedAttempts(quiz, 5);
+        // Fix the key without going through QuestionService, which would start its own job
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Question question = questionRepository.findById(questionId).orElseThrow();
+            question.getCorrectAnswers().clear();
+            question.getCorrectAnswers().add("Canberra");
+        });
+        // A job that committed the chunk ending at the third answer before the server stopped
+        RegradeJob interrupted = new RegradeJob(new long[]{questionId});
+        interrupted.setStatus(RegradeJob.Status.RUNNING);
+        interrupted.setAnswersTotal(5);
+        interrupted.setAnswersScanned(3);
+        interrupted.setLastAnswerId(answer(attempts.get(2), questionId).getId());
+        interrupted = regradeJobRepository.save(interrupted);
+
+        regradeService.resumeUnfinished();
+        assertTrue(regradeService.awaitIdle(10, TimeUnit.SECONDS));
+
+        RegradeJob job = regradeJobRepository.findById(interrupted.getId()).orElseThrow();
+        assertEquals(RegradeJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getAnswersScanned());
+        assertEquals(2, job.getAnswersChanged());
+        for (int i = 0; i < attempts.size(); i++) {
+            boolean afterResumePoint = i >= 3;
+            assertEquals(afterResumePoint, answer(attempts.get(i), questionId).getIsCorrect());
+            assertEquals(afterResumePoint ? 1 : 0,
+                    (int) quizAttemptRepository.findById(attempts.get(i).getId()).orElseThrow().getScore());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.SearchHitDTO;
+import com.quizapp.dto.SearchResults;
+import com.quizapp.event.QuizCreatedEvent;
+import com.quizapp.model.Question;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.User;
+import com.quizapp.repository.QuestionRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.repository.UserRepository;
+import com.quizapp.service.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchIndexTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(quizRepository, questionRepository, userRepository);
+        when(quizRepository.findSearchRows()).thenReturn(List.of(
+                new Object[]{1L, "European Capitals", "Cities of Europe", 10L, "geo_fan"},
+                new Object[]{2L, "Capital Letters", "Grammar basics", 11L, "teacher"}));
+        when(questionRepository.findSearchRows()).thenReturn(List.of(
+                new Object[]{1L, 100L, "What is the capital of France?"},
+                new Object[]{2L, 200L, "Which words need a capital letter?"}));
+        when(userRepository.findAllIdsAndUsernames()).thenReturn(List.of(
+                new Object[]{10L, "geo_fan"},
+                new Object[]{11L, "teacher"},
+                new Object[]{12L, "geologist"}));
+        searchIndex.warm();
+    }
+
+    private List<Long> ids(SearchResults results) {
+        return results.getHits().stream().map(SearchHitDTO::getId).toList();
+    }
+
+    @Test
+    void testSearch_PrefixMatchesRankTitleAboveOtherFields() {
+        SearchResults results = searchIndex.search("capit", SearchIndex.Kind.QUIZ, 0, 10);
+
+        assertEquals(2, results.getTotal());
+        assertEquals("quiz", results.getHits().get(0).getType());
+
+        assertEquals(List.of(1L), ids(searchIndex.search("capital france", null, 0, 10)));
+        assertEquals(List.of(2L), ids(searchIndex.search("Grammar", null, 0, 10)));
+        assertTrue(searchIndex.search("zebra", null, 0, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void testSearch_PaginatesRankedHits() {
+        SearchResults all = searchIndex.search("geo", null, 0, 10);
+        SearchResults second = searchIndex.search("geo", null, 1, 1);
+
+        assertEquals(3, all.getTotal());
+        assertEquals(3, second.getTotal());
+        assertEquals(List.of(ids(all).get(1)), ids(second));
+    }
+
+    @Test
+    void testSearchUsernames_ExcludesCurrentUser() {
+        assertEquals(List.of("geo_fan", "geologist"), searchIndex.searchUsernames("geo", "nobody", 10));
+        assertEquals(List.of("geologist"), searchIndex.searchUsernames("geo", "geo_fan", 10));
+        assertEquals(List.of("geo_fan"), searchIndex.searchUsernames("geo_f", "nobody", 10));
+    }
+
+    @Test
+    void testSearchUsernames_MatchesSubstringsLikeTheDatabaseFallback() {
+        assertEquals(List.of("geo_fan", "teacher"), searchIndex.searchUsernames("E", "nobody", 2));
+        assertEquals(List.of("teacher", "geologist"), searchIndex.searchUsernames("t", "nobody", 10));
+        assertEquals(List.of("geo_fan"), searchIndex.searchUsernames("o_f", "nobody", 10));
+        assertEquals(List.of("geologist"), searchIndex.searchUsernames("LOG", "nobody", 10));
+
+        searchIndex.indexUser(11L, "tutor");
+        assertEquals(List.of("tutor"), searchIndex.searchUsernames("uto", "nobody", 10));
+        assertTrue(searchIndex.searchUsernames("teach", "nobody", 10).isEmpty());
+        searchIndex.removeUser(10L);
+        assertTrue(searchIndex.searchUsernames("fan", "nobody", 10).isEmpty());
+    }
+
+    @Test
+    void testWarm_KeepsChangesCommittedWhileRowsWereBeingRead() {
+        // The user rows are read before the new user commits, so only the replayed change has it
+        when(userRepository.findAllIdsAndUsernames()).thenAnswer(invocation -> {
+            searchIndex.indexUser(14L, "latecomer");
+            return List.<Object[]>of(new Object[]{10L, "geo_fan"});
+        });
+
+        searchIndex.warm();
+
+        assertEquals(List.of(14L), ids(searchIndex.search("latecomer", SearchIndex.Kind.USER, 0, 10)));
+        assertEquals(List.of("latecomer"), searchIndex.searchUsernames("late", "nobody", 10));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        User creator = new User();
+        creator.setId(12L);
+        creator.setUsername("geologist");
+        Quiz quiz = new Quiz();
+        quiz.setId(3L);
+        quiz.setTitle("Rocks and Minerals");
+        quiz.setDescription("Identify common rocks");
+        quiz.setCreatedBy(creator);
+        Question question = new Question("Is basalt volcanic?", Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("yes"));
+        question.setId(300L);
+        quiz.setQuestions(List.of(question));
+
+        searchIndex.onQuizCreated(new QuizCreatedEvent(quiz));
+        assertEquals(List.of(3L), ids(searchIndex.search("basalt", null, 0, 10)));
+
+        searchIndex.indexQuestion(3L, 300L, "Is granite igneous?");
+        assertTrue(searchIndex.search("basalt", null, 0, 10).getHits().isEmpty());
+        assertEquals(List.of(3L), ids(searchIndex.search("granite", null, 0, 10)));
+
+        searchIndex.indexUser(13L, "rockhound");
+        assertEquals(List.of(13L), ids(searchIndex.search("rock", SearchIndex.Kind.USER, 0, 10)));
+
+        searchIndex.removeUser(12L);
+        assertNull(searchIndex.search("rocks", SearchIndex.Kind.QUIZ, 0, 10).getHits().get(0).getUsername());
+
+        searchIndex.removeQuiz(3L);
+        assertTrue(searchIndex.search("granite", null, 0, 10).getHits().isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.model.Message;
+import com.quizapp.model.Quiz;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.User;
+import com.quizapp.service.SiteMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(SiteMetricsService.class)
+@TestPropertySource(properties = {"quizapp.metrics.cache-ttl-seconds=300", "quizapp.metrics.series-days=7"})
+public class SiteMetricsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SiteMetricsService siteMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        siteMetricsService.invalidate();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash("pw");
+        return entityManager.persist(user);
+    }
+
+    private void attempt(User user, Quiz quiz, boolean practice, LocalDateTime end) {
+        QuizAttempt attempt = new QuizAttempt(user, quiz);
+        attempt.setIsPracticeMode(practice);
+        attempt.setTotalQuestions(1);
+        attempt.completeAttempt(1);
+        attempt.setEndTime(end);
+        entityManager.persist(attempt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long countOn(Map<String, Object> metrics, String series, LocalDate day) {
+        return ((List<Map<String, Object>>) metrics.get(series)).stream()
+                .filter(point -> point.get("date").equals(day.toString()))
+                .mapToLong(point -> (Long) point.get("count"))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetDashboard_CountsAndDailySeries() {
+        User alice = user("alice");
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Quiz");
+        quiz.setQuestions(new ArrayList<>());
+        entityManager.persist(quiz);
+        LocalDateTime now = LocalDateTime.now();
+        attempt(alice, quiz, false, now);
+        attempt(alice, quiz, false, now.minusDays(2));
+        attempt(alice, quiz, true, now);
+        entityManager.persist(new Message("alice", "bob", "hi", now));
+        entityManager.flush();
+
+        Map<String, Object> metrics = siteMetricsService.getDashboard();
+
+        assertThat(metrics.get("users")).isEqualTo(1L);
+        assertThat(metrics.get("quizzes")).isEqualTo(1L);
+        assertThat(metrics.get("quizzesTaken")).isEqualTo(2L);
+        assertThat((List<?>) metrics.get("attemptsPerDay")).hasSize(7);
+        assertThat(countOn(metrics, "attemptsPerDay", LocalDate.now())).isEqualTo(1);
+        assertThat(countOn(metrics, "attemptsPerDay", LocalDate.now().minusDays(2))).isEqualTo(1);
+        assertThat(countOn(metrics, "attemptsPerDay", LocalDate.now().minusDays(1))).isZero();
+        assertThat(countOn(metrics, "signupsPerDay", LocalDate.now())).isEqualTo(1);
+        assertThat(countOn(metrics, "messagesPerDay", LocalDate.now())).isEqualTo(1);
+    }
+
+    @Test
+    void testGetDashboard_ServesCachedSnapshotUntilInvalidated() {
+        user("alice");
+        entityManager.flush();
+        Map<String, Object> first = siteMetricsService.getDashboard();
+
+        user("bob");
+        entityManager.flush();
+
+        assertThat(siteMetricsService.getDashboard()).isSameAs(first);
+        siteMetricsService.invalidate();
+        assertThat(siteMetricsService.getDashboard().get("users")).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,109 @@
+package com.quizapp.serviceTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quizapp.dto.GradedSubmission;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.service.QuizTakingService;
+import com.quizapp.service.SubmissionPipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionPipelineRetryTest {
+
+    @Mock
+    private QuizTakingService quizTakingService;
+
+    @TempDir
+    Path dataDir;
+
+    private SubmissionPipeline pipeline;
+
+    private SubmissionPipeline pipeline(int maxRetries, String journal) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        pipeline = new SubmissionPipeline(quizTakingService, objectMapper, true, 10, 1, 10, 250,
+                maxRetries, 10, dataDir.toString(), journal);
+        pipeline.start();
+        return pipeline;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pipeline != null) pipeline.stop();
+    }
+
+    private void graded(long attemptId) {
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(attemptId);
+        when(quizTakingService.gradeSubmission(eq(attemptId), any(), any()))
+                .thenReturn(new GradedSubmission(attempt, List.of()));
+    }
+
+    // Compaction runs just after the last in-flight submission is released
+    private void assertJournalCompacted() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(pipeline.getJournalPath()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, Files.size(pipeline.getJournalPath()));
+    }
+
+    @Test
+    void testFailedWrite_IsRetriedAndThenCompacted() throws Exception {
+        pipeline(3, "submissions.journal");
+        graded(1L);
+        when(quizTakingService.persistGradedSubmissions(anyList()))
+                .thenThrow(new RuntimeException("deadlock"))
+                .thenReturn(List.of(1L));
+
+        pipeline.submit(1L, Map.of(10L, "a"));
+
+        assertTrue(pipeline.awaitIdle(5, TimeUnit.SECONDS));
+        verify(quizTakingService, times(2)).persistGradedSubmissions(anyList());
+        assertJournalCompacted();
+    }
+
+    @Test
+    void testWriteThatKeepsFailing_IsDeadLetteredSoTheJournalCompacts() throws Exception {
+        pipeline(1, "submissions.journal");
+        graded(2L);
+        when(quizTakingService.persistGradedSubmissions(anyList())).thenThrow(new RuntimeException("bad sheet"));
+
+        pipeline.submit(2L, Map.of(10L, "a"));
+
+        assertTrue(pipeline.awaitIdle(5, TimeUnit.SECONDS));
+        verify(quizTakingService, times(2)).persistGradedSubmissions(anyList());
+        assertJournalCompacted();
+        Path deadLetters = dataDir.resolve("submissions.journal.dead");
+        assertTrue(Files.readString(deadLetters).contains("\"attemptId\":2"));
+    }
+
+    @Test
+    void testJournalPath_ResolvesAgainstDataDirUnlessAbsolute() {
+        assertEquals(dataDir.resolve("journals/s.journal"), pipeline(0, "journals/s.journal").getJournalPath());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path absolute = dataDir.resolve("elsewhere.journal").toAbsolutePath();
+        assertEquals(absolute, new SubmissionPipeline(quizTakingService, objectMapper, false, 10, 1, 10, 250,
+                0, 10, "relative/dir", absolute.toString()).getJournalPath());
+        assertThrows(IllegalStateException.class, () -> new SubmissionPipeline(quizTakingService, objectMapper,
+                false, 10, 1, 10, 250, 0, 10, "relative/dir", "submissions.journal"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.quizapp.serviceTests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizapp.model.*;
+import com.quizapp.repository.*;
+import com.quizapp.service.SubmissionJournal;
+import com.quizapp.service.QuizTakingService;
+import com.quizapp.service.SubmissionPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:submissions;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "quizapp.submissions.async.enabled=true"
+})
+public class SubmissionPipelineTest {
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) {
+        registry.add("quizapp.submissions.journal", () -> journalDir.resolve("submissions.journal").toString());
+    }
+
+    @Autowired
+    private SubmissionPipeline submissionPipeline;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private QuizStatisticsRepository quizStatisticsRepository;
+
+    @Autowired
+    private PersonalBestRepository personalBestRepository;
+
+    @Autowired
+    private QuizTakingService quizTakingService;
+
+    private User user;
+    private Quiz quiz;
+    private List<Question> questions;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("taker" + System.nanoTime());
+        user.setPasswordHash("pw");
+        user = userRepository.save(user);
+        quiz = new Quiz();
+        quiz.setTitle("Pipeline quiz");
+        quiz.setCreatedBy(user);
+        quiz.setQuestions(new ArrayList<>());
+        quiz = quizRepository.save(quiz);
+        questions = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Question question = new Question("Q" + i, Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("a" + i));
+            question.setQuiz(quiz);
+            question.setQuestionOrder(i);
+            questions.add(questionRepository.save(question));
+        }
+        quiz.setQuestions(questions);
+    }
+
+    private QuizAttempt openAttempt() {
+        return quizAttemptRepository.save(new QuizAttempt(user, quiz));
+    }
+
+    // Releases every submission at once so first writes to a summary row collide
+    private void submitTogether(List<QuizAttempt> attempts) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(attempts.size());
+        try {
+            List<Future<QuizAttempt>> results = new ArrayList<>();
+            for (QuizAttempt attempt : attempts) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return quizTakingService.submitQuiz(attempt.getId(), Map.of(questions.get(0).getId(), "a1"));
+                }));
+            }
+            start.countDown();
+            for (Future<QuizAttempt> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).getIsCompleted());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private User newUser() {
+        User other = new User();
+        other.setUsername("taker" + System.nanoTime());
+        other.setPasswordHash("pw");
+        return userRepository.save(other);
+    }
+
+    @Test
+    void testSubmit_AcknowledgesScoreThenWritesInBackground() throws InterruptedException {
+        QuizAttempt attempt = openAttempt();
+        Map<Long, String> answers = Map.of(questions.get(0).getId(), "a1", questions.get(1).getId(), "a2",
+                questions.get(2).getId(), "wrong");
+
+        QuizAttempt ack = submissionPipeline.submit(attempt.getId(), answers);
+        QuizAttempt repeat = submissionPipeline.submit(attempt.getId(), answers);
+
+        assertEquals(2, ack.getScore());
+        assertEquals(50.0, ack.getPercentage());
+        assertTrue(ack.getIsCompleted());
+        assertSame(ack, repeat);
+
+        assertTrue(submissionPipeline.awaitIdle(5, TimeUnit.SECONDS));
+        QuizAttempt stored = quizAttemptRepository.findById(attempt.getId()).orElseThrow();
+        assertTrue(stored.getIsCompleted());
+        assertEquals(2, stored.getScore());
+        assertEquals(4, answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId()).size());
+        assertThrows(RuntimeException.class, () -> submissionPipeline.submit(attempt.getId(), answers));
+    }
+
+    @Test
+    void testSubmit_RecordsThePersonalBest() throws InterruptedException {
+        QuizAttempt first = openAttempt();
+        submissionPipeline.submit(first.getId(), Map.of(questions.get(0).getId(), "a1"));
+        QuizAttempt second = openAttempt();
+        submissionPipeline.submit(second.getId(), Map.of(questions.get(0).getId(), "a1", questions.get(1).getId(), "a2"));
+        assertTrue(submissionPipeline.awaitIdle(5, TimeUnit.SECONDS));
+
+        PersonalBest best = personalBestRepository.findById(new PersonalBest.Key(user.getId(), quiz.getId())).orElseThrow();
+        assertEquals(2, best.getAttemptCount());
+        assertEquals(2, best.getBestScore());
+        assertEquals(50.0, best.getBestPercentage());
+        assertEquals(second.getId(), best.getBestAttemptId());
+        assertEquals(Optional.of(2), personalBestRepository.findBestScore(user.getUsername(), quiz.getId()));
+    }
+
+    @Test
+    void testConcurrentFirstSubmissions_AllLandInOneStatisticsRow() throws Exception {
+        int submissions = 6;
+        List<QuizAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < submissions; i++) attempts.add(quizAttemptRepository.save(new QuizAttempt(newUser(), quiz)));
+        submitTogether(attempts);
+
+        QuizStatistics stats = quizStatisticsRepository.findById(quiz.getId()).orElseThrow();
+        assertEquals(submissions, stats.getAttemptCount());
+        assertEquals(1, stats.getMaxScore());
+    }
+
+    @Test
+    void testConcurrentFirstSubmissions_BySameUser_ShareOnePersonalBestRow() throws Exception {
+        int submissions = 6;
+        List<QuizAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < submissions; i++) attempts.add(openAttempt());
+        submitTogether(attempts);
+
+        PersonalBest best = personalBestRepository.findById(new PersonalBest.Key(user.getId(), quiz.getId())).orElseThrow();
+        assertEquals(submissions, best.getAttemptCount());
+        assertEquals(1, best.getBestScore());
+    }
+
+    @Test
+    void testReplayJournal_WritesSubmissionsLeftFromACrash() throws Exception {
+        QuizAttempt attempt = openAttempt();
+        // Read back so the start time has the database's precision
+        LocalDateTime startTime = quizAttemptRepository.findById(attempt.getId()).orElseThrow().getStartTime();
+        LocalDateTime submittedAt = startTime.plusMinutes(12);
+        try (SubmissionJournal journal = new SubmissionJournal(journalDir.resolve("submissions.journal"), objectMapper)) {
+            journal.append(attempt.getId(), submittedAt, Map.of(questions.get(3).getId(), "a4"));
+        }
+
+        submissionPipeline.replayJournal();
+
+        QuizAttempt stored = quizAttemptRepository.findById(attempt.getId()).orElseThrow();
+        assertTrue(stored.getIsCompleted());
+        assertEquals(1, stored.getScore());
+        assertEquals(12L, stored.getTimeTakenMinutes());
+        assertEquals(4, answerRepository.findByQuizAttemptIdOrderByQuestionNumber(attempt.getId()).size());
+    }
+}
@@ -0,0 +1,136 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.TrendingQuizDTO;
+import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.repository.QuizRepository;
+import com.quizapp.service.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendingServiceTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TrendingService trendingService;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 3, 10, 12, 30);
+    private long lastAttemptId;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(quizAttemptRepository, quizRepository, transactionManager, 30, 24, 50);
+    }
+
+    private void stubTitles() {
+        when(quizRepository.findDisplayRowsByIdIn(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, "Old favourite", "d", "alice"},
+                new Object[]{2L, "New hit", "d", "bob"}));
+    }
+
+    private void record(long quizId, LocalDateTime completedAt) {
+        trendingService.record(++lastAttemptId, quizId, completedAt);
+    }
+
+    private List<Long> ids(List<TrendingQuizDTO> entries) {
+        return entries.stream().map(e -> e.quiz.id).toList();
+    }
+
+    @Test
+    void testConstructor_RejectsRetentionBelowOneDay() {
+        assertThrows(IllegalStateException.class,
+                () -> new TrendingService(quizAttemptRepository, quizRepository, transactionManager, 0, 24, 50));
+    }
+
+    @Test
+    void testRefresh_RanksEachWindow() {
+        stubTitles();
+        for (int i = 0; i < 10; i++) {
+            record(1L, now.minusDays(20));
+        }
+        for (int i = 0; i < 4; i++) {
+            record(2L, now.minusHours(1));
+        }
+
+        trendingService.refresh(now);
+
+        assertEquals(List.of(1L, 2L), ids(trendingService.getTop(TrendingService.Window.ALL_TIME, 5)));
+        assertEquals(List.of(2L), ids(trendingService.getTop(TrendingService.Window.LAST_24H, 5)));
+        assertEquals(List.of(2L, 1L), ids(trendingService.getTop(TrendingService.Window.HOT, 5)));
+        assertEquals(4, trendingService.getTop(TrendingService.Window.LAST_24H, 5).get(0).attemptCount);
+        assertEquals("New hit", trendingService.getTop(TrendingService.Window.HOT, 1).get(0).quiz.title);
+        assertEquals(now, trendingService.getSnapshotTime());
+    }
+
+    @Test
+    void testGetTop_ServesLastSnapshotUntilRefreshed() {
+        stubTitles();
+        record(1L, now);
+        trendingService.refresh(now);
+
+        record(2L, now);
+        record(2L, now);
+
+        assertEquals(List.of(1L), ids(trendingService.getTop(TrendingService.Window.ALL_TIME, 5)));
+        trendingService.refresh(now);
+        assertEquals(List.of(2L, 1L), ids(trendingService.getTop(TrendingService.Window.ALL_TIME, 5)));
+
+        trendingService.removeQuiz(2L);
+        assertEquals(List.of(1L), ids(trendingService.getTop(TrendingService.Window.ALL_TIME, 5)));
+    }
+
+    @Test
+    void testRebuild_LoadsCountsFromRepository() {
+        stubTitles();
+        when(quizAttemptRepository.findTopMostTakenQuizzes(any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 7L}, new Object[]{2L, 3L}));
+        when(quizAttemptRepository.findCompletionTimesSince(any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, LocalDateTime.now().minusMinutes(5)}));
+
+        trendingService.rebuild();
+
+        List<TrendingQuizDTO> allTime = trendingService.getTop(TrendingService.Window.ALL_TIME, 5);
+        assertEquals(List.of(1L, 2L), ids(allTime));
+        assertEquals(7, allTime.get(0).attemptCount);
+        assertEquals(List.of(2L), ids(trendingService.getTop(TrendingService.Window.LAST_24H, 5)));
+    }
+
+    @Test
+    void testRebuild_CountsCompletionsRecordedWhileReadingOnce() {
+        stubTitles();
+        LocalDateTime recently = LocalDateTime.now().minusMinutes(5);
+        when(quizAttemptRepository.findTopMostTakenQuizzes(any(Pageable.class))).thenAnswer(invocation -> {
+            // Attempt 100 committed before the rebuild's snapshot, attempt 101 after it
+            trendingService.record(100L, 1L, recently);
+            trendingService.record(101L, 1L, recently);
+            return List.<Object[]>of(new Object[]{1L, 3L});
+        });
+        when(quizAttemptRepository.findCompletionTimesSince(any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, recently}));
+        when(quizAttemptRepository.findIdsByIdIn(anyCollection())).thenReturn(List.of(100L));
+
+        trendingService.rebuild();
+
+        assertEquals(4, trendingService.getTop(TrendingService.Window.ALL_TIME, 5).get(0).attemptCount);
+        assertEquals(2, trendingService.getTop(TrendingService.Window.LAST_24H, 5).get(0).attemptCount);
+    }
+}
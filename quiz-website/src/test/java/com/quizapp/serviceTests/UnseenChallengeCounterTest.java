@@ -0,0 +1,115 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.repository.ChallengeRepository;
+import com.quizapp.service.UnseenChallengeCounter;
+import com.quizapp.service.UnseenChallengeCounter.RecentChallenge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UnseenChallengeCounterTest {
+
+    @Mock
+    private ChallengeRepository challengeRepository;
+
+    private UnseenChallengeCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnseenChallengeCounter(challengeRepository, 2, 100, 60_000);
+    }
+
+    private Object[] row(long id, String challenger) {
+        return new Object[]{id, challenger, 1L, "Quiz", LocalDateTime.now()};
+    }
+
+    private RecentChallenge recent(long id, String challenger) {
+        return new RecentChallenge(id, challenger, 1L, "Quiz", LocalDateTime.now());
+    }
+
+    @Test
+    void loadsOnceThenAppliesChanges() {
+        when(challengeRepository.countUnseenByUsername("ana")).thenReturn(1L);
+        when(challengeRepository.findRecentUnseenRows(eq("ana"), any())).thenReturn(List.<Object[]>of(row(1, "beka")));
+
+        assertEquals(1, counter.get("ana").count());
+        counter.challengeSent("ana", recent(2, "dato"));
+        counter.challengeSent("ana", recent(3, "eka"));
+
+        UnseenChallengeCounter.Summary summary = counter.get("ana");
+        assertEquals(3, summary.count());
+        assertEquals(List.of(3L, 2L), summary.recent().stream().map(RecentChallenge::id).toList());
+
+        counter.challengeSeen("ana", 3L);
+        assertEquals(2, counter.get("ana").count());
+        verify(challengeRepository, times(1)).countUnseenByUsername("ana");
+    }
+
+    @Test
+    void refillsRecentWhenRingRunsDry() {
+        when(challengeRepository.countUnseenByUsername("ana")).thenReturn(3L, 2L);
+        when(challengeRepository.findRecentUnseenRows(eq("ana"), any()))
+                .thenReturn(List.<Object[]>of(row(3, "eka")), List.<Object[]>of(row(2, "dato"), row(1, "beka")));
+
+        counter.get("ana");
+        counter.challengeSeen("ana", 3L);
+
+        UnseenChallengeCounter.Summary summary = counter.get("ana");
+        assertEquals(2, summary.count());
+        assertEquals(List.of(2L, 1L), summary.recent().stream().map(RecentChallenge::id).toList());
+    }
+
+    @Test
+    void allSeenClearsEverything() {
+        when(challengeRepository.countUnseenByUsername("ana")).thenReturn(2L);
+        when(challengeRepository.findRecentUnseenRows(eq("ana"), any()))
+                .thenReturn(List.<Object[]>of(row(2, "dato"), row(1, "beka")));
+
+        counter.get("ana");
+        counter.allSeen("ana");
+
+        UnseenChallengeCounter.Summary summary = counter.get("ana");
+        assertEquals(0, summary.count());
+        assertTrue(summary.recent().isEmpty());
+    }
+
+    @Test
+    void reconcileDropsDriftedEntries() {
+        when(challengeRepository.countUnseenByUsername("ana")).thenReturn(0L, 4L);
+        when(challengeRepository.findRecentUnseenRows(eq("ana"), any())).thenReturn(List.<Object[]>of(row(4, "eka")));
+        when(challengeRepository.countUnseenByUsernames(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{"ana", 4L}));
+
+        assertEquals(0, counter.get("ana").count());
+        counter.reconcile();
+
+        assertEquals(4, counter.get("ana").count());
+    }
+
+    @Test
+    void forgetReloadsOnlyTheGivenUsers() {
+        when(challengeRepository.countUnseenByUsername("ana")).thenReturn(1L, 0L);
+        when(challengeRepository.countUnseenByUsername("beka")).thenReturn(0L);
+        when(challengeRepository.findRecentUnseenRows(eq("ana"), any())).thenReturn(List.<Object[]>of(row(1, "dato")));
+
+        assertEquals(1, counter.get("ana").count());
+        assertEquals(0, counter.get("beka").count());
+        counter.forget(List.of("ana"));
+
+        assertEquals(0, counter.get("ana").count());
+        assertEquals(0, counter.get("beka").count());
+        verify(challengeRepository, times(2)).countUnseenByUsername("ana");
+        verify(challengeRepository, times(1)).countUnseenByUsername("beka");
+    }
+}
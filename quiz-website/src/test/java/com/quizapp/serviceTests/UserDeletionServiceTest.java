@@ -0,0 +1,125 @@
+package com.quizapp.serviceTests;
+
+import com.quizapp.dto.UserDeletionReport;
+import com.quizapp.model.*;
+import com.quizapp.repository.*;
+import com.quizapp.service.UserDeletionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(UserDeletionService.class)
+public class UserDeletionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash("pw");
+        return entityManager.persist(user);
+    }
+
+    private Quiz quiz(User creator) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Quiz by " + creator.getUsername());
+        quiz.setCreatedBy(creator);
+        quiz.setQuestions(new ArrayList<>());
+        return entityManager.persist(quiz);
+    }
+
+    private void attemptWithAnswer(User user, Quiz quiz, Question question) {
+        QuizAttempt attempt = new QuizAttempt(user, quiz);
+        attempt.setTotalQuestions(1);
+        attempt.completeAttempt(1);
+        entityManager.persist(attempt);
+        entityManager.persist(new Answer(user, attempt, question, "a", true, 1));
+    }
+
+    @Test
+    void testDeleteUser_RemovesEverythingReferencingTheUser() {
+        User alice = user("alice");
+        User bob = user("bob");
+        Quiz alicesQuiz = quiz(alice);
+        Quiz bobsQuiz = quiz(bob);
+        Question question = new Question("Q?", Question.QuestionType.QUESTION_RESPONSE, List.of(), List.of("a"));
+        question.setQuiz(bobsQuiz);
+        entityManager.persist(question);
+
+        attemptWithAnswer(alice, bobsQuiz, question);
+        attemptWithAnswer(alice, bobsQuiz, question);
+        attemptWithAnswer(bob, bobsQuiz, question);
+
+        FriendRequest request = new FriendRequest();
+        request.setRequester(alice);
+        request.setAddressee(bob);
+        request.setStatus(FriendRequest.Status.ACCEPTED);
+        entityManager.persist(request);
+        alice.getFriends().add(bob);
+        bob.getFriends().add(alice);
+
+        User carol = user("carol");
+        entityManager.persist(new Challenge(bob, alice, bobsQuiz));
+        entityManager.persist(new Challenge(alice, bob, bobsQuiz));
+        entityManager.persist(new Challenge(alice, carol, alicesQuiz));
+        entityManager.persist(new Challenge(bob, carol, bobsQuiz));
+        Message toBob = entityManager.persist(new Message("alice", "bob", "hi", LocalDateTime.now()));
+        entityManager.persist(new Message("bob", "carol", "hey", LocalDateTime.now()));
+        entityManager.persist(new ConversationSummary(toBob));
+        entityManager.persist(new UserAchievement(alice.getId(), "amateur_author"));
+        entityManager.flush();
+        entityManager.clear();
+
+        UserDeletionReport report = userDeletionService.deleteUser(alice.getId()).orElseThrow();
+        entityManager.clear();
+
+        assertThat(report.getAnswers()).isEqualTo(2);
+        assertThat(report.getQuizAttempts()).isEqualTo(2);
+        assertThat(report.getChallenges()).isEqualTo(3);
+        assertThat(report.getFriendRequests()).isEqualTo(1);
+        assertThat(report.getFriendships()).isEqualTo(2);
+        assertThat(report.getMessages()).isEqualTo(1);
+        assertThat(report.getConversations()).isEqualTo(1);
+        assertThat(report.getAchievements()).isEqualTo(1);
+        assertThat(report.getQuizzesDetached()).isEqualTo(1);
+        assertThat(report.getUsers()).isEqualTo(1);
+        assertThat(report.getAffectedQuizIds()).containsExactly(bobsQuiz.getId());
+        assertThat(report.getChallengeRecipients()).containsExactlyInAnyOrder("bob", "carol");
+
+        assertThat(userRepository.findById(alice.getId())).isEmpty();
+        assertThat(userRepository.findById(bob.getId())).isPresent();
+        assertThat(quizRepository.findById(alicesQuiz.getId()).orElseThrow().getCreatedBy()).isNull();
+        assertThat(messageRepository.findAll()).extracting(Message::getContent).containsExactly("hey");
+        assertThat(answerRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void testDeleteUser_UnknownUser() {
+        assertThat(userDeletionService.deleteUser(999L)).isEmpty();
+    }
+}
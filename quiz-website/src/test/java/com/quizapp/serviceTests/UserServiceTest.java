@@ -3,6 +3,8 @@ package com.quizapp.serviceTests;
 import com.quizapp.model.User;
 import com.quizapp.repository.UserRepository;
 import com.quizapp.repository.QuizAttemptRepository;
+import com.quizapp.service.CustomUserDetailsService;
+import com.quizapp.service.SearchIndex;
 import com.quizapp.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,8 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
+
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +37,12 @@ public class UserServiceTest {
     @Mock
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -58,11 +69,8 @@ public class UserServiceTest {
     @Test
     @DisplayName("Should authenticate user with correct password")
     void testAuthenticateUser() {
-        User user = new User();
-        user.setUsername("testuser");
-        user.setPasswordHash("encoded");
-
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(
+                new org.springframework.security.core.userdetails.User("testuser", "encoded", List.of()));
         when(passwordEncoder.matches("password", "encoded")).thenReturn(true);
 
         assertThat(userService.authenticate("testuser", "password")).isTrue();
@@ -71,13 +79,19 @@ public class UserServiceTest {
     @Test
     @DisplayName("Should not authenticate user with wrong password")
     void testAuthenticateUserWrongPassword() {
-        User user = new User();
-        user.setUsername("testuser");
-        user.setPasswordHash("encoded");
-
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(
+                new org.springframework.security.core.userdetails.User("testuser", "encoded", List.of()));
         when(passwordEncoder.matches("wrong", "encoded")).thenReturn(false);
 
         assertThat(userService.authenticate("testuser", "wrong")).isFalse();
     }
+
+    @Test
+    @DisplayName("Should not authenticate unknown user")
+    void testAuthenticateUnknownUser() {
+        when(userDetailsService.loadUserByUsername("ghost")).thenThrow(new UsernameNotFoundException("ghost"));
+
+        assertThat(userService.authenticate("ghost", "password")).isFalse();
+        verifyNoInteractions(passwordEncoder);
+    }
 }
\ No newline at end of file